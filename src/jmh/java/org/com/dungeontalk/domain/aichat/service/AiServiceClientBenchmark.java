@@ -0,0 +1,91 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * AI 서비스 호출 클라이언트 부하 비교 (calls/sec, 동시 호출 64개)
+ *
+ * - simple: 기존 SimpleClientHttpRequestFactory (HttpURLConnection)
+ * - jdk: 연결 풀을 재사용하는 JDK HttpClient 기반 팩토리 (HttpClientConfig와 동일 구성)
+ *
+ * 원격 AI 서비스 대신 로컬 stub(AiServiceStub)을 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class AiServiceClientBenchmark {
+
+    @Param({"simple", "jdk"})
+    private String client;
+
+    @Param({"20"})
+    private long stubLatencyMs;
+
+    private AiServiceStub stub;
+    private RestTemplate restTemplate;
+    private HttpEntity<Map<String, Object>> requestEntity;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stub = new AiServiceStub(0, stubLatencyMs);
+        url = stub.baseUrl() + "/ai-response";
+
+        if ("jdk".equals(client)) {
+            // stub(com.sun.net.httpserver)은 HTTP/1.1만 지원
+            HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+            factory.setReadTimeout(Duration.ofSeconds(30));
+            restTemplate = new RestTemplate(factory);
+        } else {
+            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+            factory.setConnectTimeout(30000);
+            factory.setReadTimeout(30000);
+            restTemplate = new RestTemplate(factory);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        requestEntity = new HttpEntity<>(Map.of(
+            "game_id", "game-1",
+            "ai_game_room_id", "room-1",
+            "current_user", "모험가",
+            "current_message", "문을 연다",
+            "turn_number", 1), headers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public Object generate() {
+        return restTemplate.exchange(url, HttpMethod.POST, requestEntity, Map.class).getBody();
+    }
+}
@@ -0,0 +1,84 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * 부하 테스트용 Python AI 서비스 대역 (HTTP/1.1)
+ *
+ * - POST /ai-response : latencyMs 만큼 지연 후 고정 응답
+ * - GET  /health      : {"status":"healthy"}
+ *
+ * 단독 실행 시 로컬 서버의 ai.service.url을 이 서버로 지정하고 /generate 부하를 걸 수 있다.
+ *   java -cp build/classes/java/jmh org.com.dungeontalk.domain.aichat.service.AiServiceStub 8001 2000
+ */
+public class AiServiceStub implements AutoCloseable {
+
+    private static final byte[] HEALTH_BODY = "{\"status\":\"healthy\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    public AiServiceStub(int port, long latencyMs) throws IOException {
+        byte[] responseBody = ("{\"content\":\"어두운 복도 끝에서 희미한 횃불 빛이 흔들립니다.\","
+            + "\"response_time\":" + latencyMs + ",\"sources\":[\"stub\"]}").getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ai-response", exchange -> {
+            drain(exchange);
+            sleep(latencyMs);
+            respond(exchange, responseBody);
+        });
+        server.createContext("/health", exchange -> {
+            drain(exchange);
+            respond(exchange, HEALTH_BODY);
+        });
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8001;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+        AiServiceStub stub = new AiServiceStub(port, latencyMs);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("AI 서비스 stub 시작: " + stub.baseUrl() + ", latencyMs=" + latencyMs);
+    }
+}
@@ -0,0 +1,128 @@
+package org.com.dungeontalk.domain.chat.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.com.dungeontalk.domain.chat.common.MessageType;
+import org.com.dungeontalk.domain.chat.entity.ChatMessage;
+import org.com.dungeontalk.global.util.MessageCursor;
+import org.com.dungeontalk.global.util.UuidV7Creator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * 메시지 히스토리 페이징 비교 (1M 메시지 채팅방, 페이지당 20건, ms/op)
+ *
+ * - offsetPage: 기존 Page 조회 (skip + count 쿼리)
+ * - keysetPage: 커서 조회 (createdAt/_id 범위 조건, count 없음)
+ *
+ * 로컬 MongoDB가 필요하다. (-Dbench.mongo.uri, 기본 mongodb://localhost:27017/dungeontalk_bench)
+ * 최초 실행 시 chat_messages에 1M건을 적재하므로 수 분이 걸린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MessageHistoryPagingBenchmark {
+
+    private static final String ROOM_ID = "bench-room-1m";
+    private static final int ROOM_MESSAGES = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "500000", "990000"})
+    private int depth;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private MessageCursor cursorAtDepth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("bench.mongo.uri", "mongodb://localhost:27017/dungeontalk_bench");
+        mongoClient = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(mongoClient, "dungeontalk_bench");
+
+        mongoTemplate.indexOps(ChatMessage.class).ensureIndex(new Index()
+            .on("roomId", Sort.Direction.ASC)
+            .on("createdAt", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("idx_room_created_id_desc"));
+        seedIfNeeded();
+
+        // 같은 깊이의 페이지를 요청하기 위한 커서 (측정 대상 아님)
+        cursorAtDepth = null;
+        if (depth > 0) {
+            ChatMessage boundary = mongoTemplate.findOne(offsetQuery(depth - 1, 1), ChatMessage.class);
+            cursorAtDepth = new MessageCursor(boundary.getCreatedAt(), boundary.getMessageId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public Object offsetPage() {
+        List<ChatMessage> page = mongoTemplate.find(offsetQuery(depth, PAGE_SIZE), ChatMessage.class);
+        long total = mongoTemplate.count(Query.query(Criteria.where("roomId").is(ROOM_ID)), ChatMessage.class);
+        return page.size() + total;
+    }
+
+    @Benchmark
+    public Object keysetPage() {
+        return mongoTemplate.find(
+            MessageCursor.keysetQuery("roomId", ROOM_ID, cursorAtDepth, PAGE_SIZE + 1), ChatMessage.class);
+    }
+
+    private Query offsetQuery(int skip, int limit) {
+        return Query.query(Criteria.where("roomId").is(ROOM_ID))
+            .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+            .skip(skip)
+            .limit(limit);
+    }
+
+    private void seedIfNeeded() {
+        long existing = mongoTemplate.count(Query.query(Criteria.where("roomId").is(ROOM_ID)), ChatMessage.class);
+        if (existing >= ROOM_MESSAGES) {
+            return;
+        }
+
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        List<ChatMessage> batch = new ArrayList<>(10_000);
+        for (long i = existing; i < ROOM_MESSAGES; i++) {
+            batch.add(ChatMessage.builder()
+                .messageId(UuidV7Creator.create())
+                .roomId(ROOM_ID)
+                .senderId("member-" + (i % 3))
+                .content("던전 메시지 #" + i)
+                .type(MessageType.TALK)
+                .createdAt(base.plusNanos(i * 1_000_000L))
+                .updatedAt(base)
+                .build());
+            if (batch.size() == 10_000) {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class).insert(batch).execute();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class).insert(batch).execute();
+        }
+    }
+}
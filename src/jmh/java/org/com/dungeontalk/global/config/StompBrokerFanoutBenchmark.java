@@ -0,0 +1,192 @@
+package org.com.dungeontalk.global.config;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * 브로커 모드별 팬아웃 처리량 (구독자 10k, ops/sec)
+ *
+ * - 1 op = 방 하나로 메시지 1건 발행 후 그 방 구독자 전원에게 clientOutboundChannel 전달이 끝날 때까지 대기
+ * - 초당 전달 프레임 수 = 점수 × (10000 / rooms)
+ * - 구독자는 100개 세션에 나눠 등록하며, WebSocket 전송 비용은 제외하고 브로커 + outbound 채널 비용만 측정한다.
+ *
+ * 모드:
+ * - SIMPLE: 인메모리 SimpleBrokerMessageHandler
+ * - EMBEDDED: 프로세스 내 Artemis(STOMP, 루프백 TCP)로 relay
+ * - RELAY: 외부 브로커로 relay (-p mode=RELAY -Dbench.stomp.relay.host=... -Dbench.stomp.relay.port=...)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StompBrokerFanoutBenchmark {
+
+    private static final int SUBSCRIBERS = 10_000;
+    private static final int SESSIONS = 100;
+    private static final String DESTINATION_PREFIX = "/sub/chat/room/bench-";
+    private static final byte[] PAYLOAD =
+        "{\"type\":\"TALK\",\"content\":\"문을 조심스럽게 열고 던전 안을 살펴본다.\"}".getBytes();
+
+    @Param({"SIMPLE", "EMBEDDED"})
+    private WebSocketBrokerProperties.Mode mode;
+
+    // 10k 구독을 나눌 방 개수 (방당 구독자 = 10000 / rooms)
+    @Param({"1", "100"})
+    private int rooms;
+
+    private EmbeddedActiveMQ embeddedBroker;
+    private ThreadPoolTaskExecutor outboundExecutor;
+    private AbstractBrokerMessageHandler brokerHandler;
+
+    private volatile CountDownLatch connected;
+    private volatile CountDownLatch subscribed;
+    private volatile CountDownLatch delivered;
+    private int nextRoom;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        WebSocketBrokerProperties properties = new WebSocketBrokerProperties();
+
+        outboundExecutor = new ThreadPoolTaskExecutor();
+        outboundExecutor.setCorePoolSize(properties.getOutbound().getCorePoolSize());
+        outboundExecutor.setThreadNamePrefix("bench-outbound-");
+        outboundExecutor.initialize();
+
+        ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel(outboundExecutor);
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutboundChannel.subscribe(outboundCounter());
+
+        brokerHandler = switch (mode) {
+            case SIMPLE -> new SimpleBrokerMessageHandler(
+                clientInboundChannel, clientOutboundChannel, brokerChannel, List.of("/sub"));
+            case EMBEDDED -> {
+                properties.getEmbedded().setPort(Integer.getInteger("bench.stomp.embedded.port", 61623));
+                embeddedBroker = new EmbeddedStompBrokerConfig().embeddedStompBroker(properties);
+                embeddedBroker.start();
+                yield relayHandler(clientInboundChannel, clientOutboundChannel, brokerChannel,
+                    "127.0.0.1", properties.getEmbedded().getPort());
+            }
+            case RELAY -> relayHandler(clientInboundChannel, clientOutboundChannel, brokerChannel,
+                System.getProperty("bench.stomp.relay.host", "localhost"),
+                Integer.getInteger("bench.stomp.relay.port", 61613));
+        };
+        brokerHandler.start();
+        awaitBrokerAvailable();
+
+        connected = new CountDownLatch(SESSIONS);
+        for (int session = 0; session < SESSIONS; session++) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+            accessor.setSessionId("session-" + session);
+            accessor.setAcceptVersion("1.2");
+            accessor.setHeartbeat(0, 0);
+            accessor.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[] {0, 0});
+            brokerHandler.handleMessage(toMessage(accessor, new byte[0]));
+        }
+        await(connected, "CONNECT");
+
+        subscribed = new CountDownLatch(mode == WebSocketBrokerProperties.Mode.SIMPLE ? 0 : SUBSCRIBERS);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            accessor.setSessionId("session-" + (i % SESSIONS));
+            accessor.setSubscriptionId("sub-" + i);
+            accessor.setDestination(DESTINATION_PREFIX + (i % rooms));
+            accessor.setReceipt("receipt-" + i);
+            brokerHandler.handleMessage(toMessage(accessor, new byte[0]));
+        }
+        await(subscribed, "SUBSCRIBE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        brokerHandler.stop();
+        outboundExecutor.shutdown();
+        if (embeddedBroker != null) {
+            embeddedBroker.stop();
+        }
+    }
+
+    @Benchmark
+    public void publishAndFanOut() throws InterruptedException {
+        int room = nextRoom;
+        nextRoom = (nextRoom + 1) % rooms;
+
+        delivered = new CountDownLatch(SUBSCRIBERS / rooms);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(DESTINATION_PREFIX + room);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        brokerHandler.handleMessage(toMessage(accessor, PAYLOAD));
+
+        await(delivered, "MESSAGE");
+    }
+
+    private MessageHandler outboundCounter() {
+        return message -> {
+            SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+            StompCommand command = StompHeaderAccessor.wrap(message).getCommand();
+
+            if (type == SimpMessageType.MESSAGE) {
+                delivered.countDown();
+            } else if (type == SimpMessageType.CONNECT_ACK || command == StompCommand.CONNECTED) {
+                connected.countDown();
+            } else if (command == StompCommand.RECEIPT) {
+                subscribed.countDown();
+            }
+        };
+    }
+
+    private StompBrokerRelayMessageHandler relayHandler(ExecutorSubscribableChannel clientInboundChannel,
+            ExecutorSubscribableChannel clientOutboundChannel, ExecutorSubscribableChannel brokerChannel,
+            String host, int port) {
+        StompBrokerRelayMessageHandler relay = new StompBrokerRelayMessageHandler(
+            clientInboundChannel, clientOutboundChannel, brokerChannel, List.of("/sub"));
+        relay.setRelayHost(host);
+        relay.setRelayPort(port);
+        return relay;
+    }
+
+    private void awaitBrokerAvailable() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!brokerHandler.isBrokerAvailable()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("브로커 연결 실패: mode=" + mode);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static void await(CountDownLatch latch, String phase) throws InterruptedException {
+        if (!latch.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(phase + " 처리 시간 초과: remaining=" + latch.getCount());
+        }
+    }
+
+    private static Message<byte[]> toMessage(SimpMessageHeaderAccessor accessor, byte[] payload) {
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
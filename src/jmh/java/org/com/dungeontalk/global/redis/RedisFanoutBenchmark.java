@@ -0,0 +1,93 @@
+package org.com.dungeontalk.global.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Redis pub/sub 팬아웃 처리량 비교 (messages/sec)
+ *
+ * - legacyJsonFanout: 기존 RedisSubscriber 로직 (JSON 2회 파싱 + pretty print + 양쪽 목적지 전송)
+ * - binaryEnvelopeFanout: 봉투 헤더 기반 라우팅 + payload bytes 그대로 전달
+ *
+ * 브로커 채널은 전송만 받아들이는 no-op 채널로 대체하여 노드 내부 비용만 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RedisFanoutBenchmark {
+
+    private static final String ROOM_ID = "0190f5c2-7c1e-7a8b-9c3d-123456789abc";
+
+    private SimpMessagingTemplate messagingTemplate;
+    private RedisSubscriber binarySubscriber;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectWriter prettyPrinter = objectMapper.writerWithDefaultPrettyPrinter();
+
+    private Message legacyMessage;
+    private Message envelopeMessage;
+
+    @Setup
+    public void setUp() throws Exception {
+        MessageChannel noopBrokerChannel = (message, timeout) -> true;
+        messagingTemplate = new SimpMessagingTemplate(noopBrokerChannel);
+        binarySubscriber = new RedisSubscriber(messagingTemplate, new NodeIdentity());
+
+        Map<String, Object> chatMessage = new LinkedHashMap<>();
+        chatMessage.put("messageId", "0190f5c2-7c1e-7a8b-9c3d-abcdefabcdef");
+        chatMessage.put("roomId", ROOM_ID);
+        chatMessage.put("senderId", "member-1");
+        chatMessage.put("senderNickName", "모험가");
+        chatMessage.put("content", "문을 조심스럽게 열고 던전 안을 살펴본다.");
+        chatMessage.put("type", "TALK");
+        chatMessage.put("createdAt", "2025-01-01T12:00:00");
+
+        byte[] channel = (RedisPublisher.CHANNEL_PREFIX + ROOM_ID).getBytes(StandardCharsets.UTF_8);
+        String json = objectMapper.writeValueAsString(chatMessage);
+
+        // 기존 발행 경로: String을 Jackson2JsonRedisSerializer로 직렬화
+        byte[] legacyBody = new Jackson2JsonRedisSerializer<>(Object.class).serialize(json);
+        legacyMessage = new DefaultMessage(channel, legacyBody);
+
+        // 다른 노드가 발행한 메시지 (자기 발행분은 구독 노드에서 건너뛴다)
+        byte[] envelopeBody = RoomMessageEnvelope.encode(RoomMessageKind.CHAT, new NodeIdentity().getNodeId(),
+            json.getBytes(StandardCharsets.UTF_8));
+        envelopeMessage = new DefaultMessage(channel, envelopeBody);
+    }
+
+    @Benchmark
+    public void legacyJsonFanout() throws Exception {
+        String payload = new String(legacyMessage.getBody());
+        String topic = new String(legacyMessage.getChannel());
+
+        Object json = objectMapper.readValue(payload, Object.class);
+        prettyPrinter.writeValueAsString(json);
+
+        String roomId = topic.substring("chatroom.".length());
+        messagingTemplate.convertAndSend("/sub/chat/room/" + roomId, payload);
+
+        Object messageData = objectMapper.readValue(payload, Object.class);
+        messagingTemplate.convertAndSend("/sub/aichat/room/" + roomId, messageData);
+    }
+
+    @Benchmark
+    public void binaryEnvelopeFanout() {
+        binarySubscriber.onMessage(envelopeMessage, null);
+    }
+}
@@ -18,12 +18,22 @@ public final class AiChatConstants {
     public static final int DEFAULT_AI_SERVICE_TIMEOUT = 30000;
     
     // 캐시/세션 키 접두사
-    public static final String AI_GAME_SESSION_PREFIX = "ai_game_session:";
+    // 세션은 hash로 저장 (이전 JSON 문자열 키와 타입이 달라 접두사 분리)
+    public static final String AI_GAME_SESSION_PREFIX = "ai_game_session:h:";
     public static final String AI_GAME_TURN_LOCK_PREFIX = "ai_game_turn_lock:";
+    public static final String AI_GAME_MESSAGE_SEQ_PREFIX = "ai_game_msg_seq:";
+    public static final String AI_GAME_REAPER_LOCK_KEY = "ai_game_reaper_lock";
+    public static final String AI_GAME_ROOM_ACTIVITY_KEY = "ai_game_room_activity";
+    public static final String AI_GAME_CONTEXT_PREFIX = "ai_game_context:";
+    public static final String AI_GAME_CONTEXT_VERSION_PREFIX = "ai_game_context_version:";
+    public static final String AI_GAME_GENERATION_PREFIX = "ai_game_generation:";
+    public static final String AI_GENERATION_JOB_STREAM_KEY = "ai_generation_jobs";
+    public static final String AI_GENERATION_JOB_DEAD_LETTER_KEY = "ai_generation_jobs:dead";
+    public static final String AI_GENERATION_JOB_GROUP = "aichat-generation-workers";
+    public static final String AI_GENERATION_JOB_PREFIX = "ai_generation_job:";
     
     // 기본 타임아웃 설정
     public static final int DEFAULT_SESSION_TIMEOUT_SECONDS = 3600; // 1시간
-    public static final int DEFAULT_TURN_LOCK_TIMEOUT_SECONDS = 300; // 5분
     
     // 발신자 ID 및 닉네임 상수
     public static final String AI_SENDER_ID = "AI_GM";
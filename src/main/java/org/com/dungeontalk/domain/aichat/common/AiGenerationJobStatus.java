@@ -0,0 +1,40 @@
+package org.com.dungeontalk.domain.aichat.common;
+
+/**
+ * AI 응답 생성 작업(Valkey Stream job)의 상태를 나타내는 Enum
+ *
+ * 작업 상태 조회 및 게임방 구독자에게 보내는 작업 알림에 사용
+ */
+public enum AiGenerationJobStatus {
+
+    /**
+     * 작업이 stream에 등록되어 worker를 기다리는 상태
+     * - 재시도를 위해 다시 등록된 경우도 포함
+     */
+    QUEUED,
+
+    /**
+     * worker가 AI 응답을 생성 중인 상태
+     */
+    RUNNING,
+
+    /**
+     * AI 응답이 저장/브로드캐스트되고 다음 턴으로 진행된 상태
+     */
+    COMPLETED,
+
+    /**
+     * 재시도해도 결과가 같은 이유로 실패한 상태
+     * - 이미 다른 요청이 처리 중, 턴 락 만료 등
+     */
+    FAILED,
+
+    /**
+     * 최대 시도 횟수를 넘겨 dead letter stream으로 옮겨진 상태
+     */
+    DEAD_LETTERED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == DEAD_LETTERED;
+    }
+}
@@ -0,0 +1,24 @@
+package org.com.dungeontalk.domain.aichat.common;
+
+/**
+ * AI 응답 생성 호출의 스케줄링 우선순위 구분 Enum
+ *
+ * AiGenerationScheduler가 AI 서비스가 포화되었을 때 어떤 호출을 먼저 보낼지 정하는 데 사용
+ */
+public enum AiGenerationLane {
+
+    /**
+     * 게임 시작 턴(1턴)의 AI 응답
+     * - 플레이어가 모두 입장한 직후의 첫 장면이므로 진행 중인 턴보다 먼저 처리한다.
+     */
+    OPENING,
+
+    /**
+     * 진행 중인 게임의 일반 턴 AI 응답
+     */
+    TURN;
+
+    public static AiGenerationLane of(int turnNumber) {
+        return turnNumber <= 1 ? OPENING : TURN;
+    }
+}
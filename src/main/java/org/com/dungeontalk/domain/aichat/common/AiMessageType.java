@@ -41,7 +41,21 @@ public enum AiMessageType {
      * - AI 응답 완료 후 전송
      * - 다음 턴 준비 신호
      */
-    TURN_END;
+    TURN_END,
+
+    /**
+     * AI(GM) 응답 스트리밍 조각
+     * - 생성 중인 AI 응답의 일부(delta)로, 저장되지 않고 브로드캐스트만 된다.
+     * - 완성된 응답은 같은 messageId의 AI 메시지로 다시 전송된다.
+     */
+    AI_STREAM,
+
+    /**
+     * AI 응답 생성 작업 상태 알림
+     * - /generate로 등록한 작업이 끝났을 때(완료/실패) 게임방 구독자에게 전송된다.
+     * - 저장되지 않고 브로드캐스트만 된다.
+     */
+    AI_JOB;
 
     // @Enumerated 반영 안 되는 이슈 처리 (기존 컨벤션 따름)
     @Override
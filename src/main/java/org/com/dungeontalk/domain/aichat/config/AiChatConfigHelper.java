@@ -28,13 +28,6 @@ public class AiChatConfigHelper {
         return instance != null ? instance.properties.getSession().getTimeoutSeconds() : 3600;
     }
 
-    /**
-     * 턴 락 타임아웃 (초)
-     */
-    public static int getTurnLockTimeoutSeconds() {
-        return instance != null ? instance.properties.getSession().getTurnLockTimeoutSeconds() : 300;
-    }
-
     /**
      * AI 컨텍스트 메시지 개수
      */
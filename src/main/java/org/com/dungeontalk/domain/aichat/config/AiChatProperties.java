@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * AI Chat 모듈 설정값들을 외부화한 Properties 클래스
  * application-dev.properties의 aichat.* 설정들을 자동으로 바인딩합니다.
@@ -35,6 +38,46 @@ public class AiChatProperties {
      */
     private MessageOrder messageOrder = new MessageOrder();
 
+    /**
+     * 게임방 로컬 캐시 관련 설정
+     */
+    private RoomCache roomCache = new RoomCache();
+
+    /**
+     * 비활성 게임 정리 관련 설정
+     */
+    private Reaper reaper = new Reaper();
+
+    /**
+     * 게임방 마지막 활동 시간 반영 관련 설정
+     */
+    private Activity activity = new Activity();
+
+    /**
+     * AI 응답 생성 중복 요청 병합 설정
+     */
+    private Generation generation = new Generation();
+
+    /**
+     * AI 응답 생성 작업 큐(Valkey Stream) 관련 설정
+     */
+    private Job job = new Job();
+
+    /**
+     * AI 서비스 호출 스케줄링(게임방 간 공정 분배, 우선순위) 관련 설정
+     */
+    private Scheduler scheduler = new Scheduler();
+
+    /**
+     * AI 서비스 동시 호출 수 자동 조절(AIMD) 관련 설정
+     */
+    private Limiter limiter = new Limiter();
+
+    /**
+     * AI 서비스 장애 시 호출 차단(circuit breaker) 관련 설정
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
     @Data
     public static class Session {
         /**
@@ -43,17 +86,33 @@ public class AiChatProperties {
         private int timeoutSeconds = 3600;
         
         /**
-         * 턴 락 타임아웃 (초)
+         * AI 응답 턴 락 lease 시간 (ms) - 보유 중에는 1/3 주기로 연장되며, 노드 장애 시 이 시간 뒤 풀린다.
          */
-        private int turnLockTimeoutSeconds = 300;
+        private long turnLockLeaseMs = 30000;
+
+        /**
+         * 세션 조회 로컬 캐시 유지 시간 (ms, 0이면 사용 안 함)
+         * 다른 노드의 변경은 이 시간만큼 늦게 보일 수 있다.
+         */
+        private long localCacheTtlMs = 0;
+
+        /**
+         * 세션 조회 로컬 캐시에 보관할 최대 세션 수
+         */
+        private int localCacheMaxSize = 10000;
     }
 
     @Data
     public static class Context {
         /**
-         * AI 컨텍스트 메시지 개수
+         * AI 컨텍스트 메시지 개수 (최근 턴 수)
          */
         private int messageCount = 5;
+
+        /**
+         * 게임방별 AI 컨텍스트 버퍼에 보관할 최대 메시지 수
+         */
+        private int bufferMaxMessages = 200;
     }
 
     @Data
@@ -81,4 +140,198 @@ public class AiChatProperties {
          */
         private int error = 9998;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class RoomCache {
+        /**
+         * 캐시에 보관할 최대 게임방 수
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 캐시 항목 만료 시간 (초)
+         */
+        private int ttlSeconds = 30;
+    }
+
+    @Data
+    public static class Reaper {
+        /**
+         * 비활성 게임 자동 정리 사용 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 정리 실행 주기 (초) - 노드 간 정리 락 유지 시간으로도 사용
+         */
+        private int intervalSeconds = 300;
+
+        /**
+         * 마지막 활동 후 이 시간(시간)이 지난 ACTIVE/PAUSED 게임을 종료 처리
+         */
+        private int inactiveHours = 24;
+
+        /**
+         * 한 번에 종료 처리할 게임방 수 (Mongo 커서 batch + updateMany + Valkey DEL 단위)
+         */
+        private int batchSize = 500;
+
+        /**
+         * 1회 실행에서 처리할 최대 batch 수 (남은 게임방은 다음 주기에 이어서 처리)
+         */
+        private int maxBatchesPerRun = 20;
+    }
+
+    @Data
+    public static class Activity {
+        /**
+         * 메모리에 모아 둔 활동 시간을 Valkey/MongoDB에 반영하는 주기 (ms)
+         */
+        private long flushIntervalMs = 5000;
+    }
+
+    @Data
+    public static class Generation {
+        /**
+         * 성공한 생성 결과를 남겨 두는 시간 (초) - 이 시간 안에 같은 턴 요청은 저장된 결과를 받는다
+         */
+        private int resultTtlSeconds = 60;
+
+        /**
+         * 다른 노드의 생성 완료를 기다리는 최대 시간 (ms), 생성 중 표시(PENDING)의 만료 시간으로도 사용
+         */
+        private long followerTimeoutMs = 45000;
+    }
+
+    @Data
+    public static class Job {
+        /**
+         * 노드당 작업 worker 수 (worker 1개가 작업 1개씩 처리)
+         */
+        private int workerCount = 4;
+
+        /**
+         * 새 작업이 없을 때 XREADGROUP으로 기다리는 시간 (ms)
+         */
+        private long blockMs = 2000;
+
+        /**
+         * 작업 1개의 최대 처리 시간 (ms), 초과 시 진행 중인 생성이 끝난 뒤 그 결과로 처리
+         */
+        private long timeoutMs = 45000;
+
+        /**
+         * 작업당 최대 시도 횟수 (초과 시 dead letter stream으로 이동)
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * ack 없이 이 시간 이상 지난 작업은 worker가 죽은 것으로 보고 다른 노드가 가져간다 (ms, timeoutMs보다 커야 함)
+         */
+        private long claimIdleMs = 60000;
+
+        /**
+         * dead letter stream 최대 길이 (근사치로 잘림, 작업 stream은 ack된 항목만 삭제)
+         */
+        private long deadLetterMaxLength = 10000;
+
+        /**
+         * 작업 상태 조회용 hash 보관 시간 (초)
+         */
+        private int statusTtlSeconds = 3600;
+    }
+
+    @Data
+    public static class Scheduler {
+        /**
+         * 게임방 하나가 대기열에 올릴 수 있는 최대 호출 수 (초과 시 AI_SERVICE_BUSY)
+         */
+        private int maxQueuedPerRoom = 4;
+
+        /**
+         * 우선순위(lane)별 최대 대기 호출 수 (초과 시 AI_SERVICE_BUSY)
+         */
+        private int maxQueuedPerLane = 1000;
+
+        /**
+         * 일반 턴이 기다리는 동안 시작 턴을 연속으로 보낼 수 있는 최대 횟수 (일반 턴 기아 방지)
+         */
+        private int priorityBurst = 4;
+
+        /**
+         * 게임(gameId)별 가중치 - 포화 시 게임 간 호출 비율 (지정하지 않은 게임은 1)
+         */
+        private Map<String, Integer> gameWeights = new HashMap<>();
+    }
+
+    @Data
+    public static class Limiter {
+        /**
+         * 자동 조절 사용 여부 (false면 ai.service.max-concurrent-calls 고정)
+         */
+        private boolean enabled = true;
+
+        /**
+         * 시작 동시 호출 한도
+         */
+        private int initialLimit = 16;
+
+        /**
+         * 최소 동시 호출 한도
+         */
+        private int minLimit = 2;
+
+        /**
+         * 이 시간(ms)보다 오래 걸린 호출은 과부하 신호로 보고 한도를 줄인다
+         */
+        private long latencyThresholdMs = 10000;
+
+        /**
+         * 과부하/실패 시 한도에 곱하는 비율
+         */
+        private double backoffRatio = 0.9;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        /**
+         * circuit breaker 사용 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 실패율을 계산하는 최근 호출 수
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * 실패율을 판단하기 위한 최소 호출 수
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * 이 실패율(%) 이상이면 차단(OPEN)
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * 차단 유지 시간 (ms), 이후 시험 호출(HALF_OPEN)을 허용
+         */
+        private long openDurationMs = 30000;
+
+        /**
+         * HALF_OPEN에서 허용하는 시험 호출 수 (모두 성공하면 복구)
+         */
+        private int halfOpenPermittedCalls = 3;
+
+        /**
+         * 차단 중 생성 요청에 대체 안내(시스템 메시지)를 게임방에 보낼지 여부
+         */
+        private boolean fallbackEnabled = true;
+
+        /**
+         * 차단 중 게임방에 보낼 대체 안내 문구
+         */
+        private String fallbackMessage = "던전 마스터가 잠시 숨을 고르고 있습니다. 잠시 후 다시 행동을 알려주세요.";
+    }
+}
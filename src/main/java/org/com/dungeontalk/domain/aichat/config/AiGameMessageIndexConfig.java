@@ -37,11 +37,15 @@ public class AiGameMessageIndexConfig {
             List<IndexInfo> existingIndexes = indexOps.getIndexInfo();
             log.info("기존 인덱스 개수: {}", existingIndexes.size());
             
-            // 1. 게임방별 최근 메시지 조회 (AI 컨텍스트용 - 핵심)
-            createIndexIfNotExists(indexOps, "idx_room_created_desc",
+            // 1. 게임방별 최근 메시지 조회 (AI 컨텍스트 + 커서 히스토리 - 핵심)
+            //    _id까지 포함해 keyset 페이징의 정렬/범위 조건을 모두 인덱스로 처리
+            createIndexIfNotExists(indexOps, "idx_room_created_id_desc",
                 new Index().on("aiGameRoomId", Sort.Direction.ASC)
                           .on("createdAt", Sort.Direction.DESC)
+                          .on("_id", Sort.Direction.DESC)
                           .background());
+            // 위 인덱스의 접두사이므로 중복 인덱스 제거
+            dropIndexIfExists(indexOps, "idx_room_created_desc");
             
             // 2. 턴별 메시지 조회 (턴제 게임 핵심)
             createIndexIfNotExists(indexOps, "idx_room_turn_order",
@@ -57,6 +61,20 @@ public class AiGameMessageIndexConfig {
         }
     }
     
+    private void dropIndexIfExists(IndexOperations indexOps, String indexName) {
+        try {
+            boolean indexExists = indexOps.getIndexInfo().stream()
+                    .anyMatch(info -> indexName.equals(info.getName()));
+
+            if (indexExists) {
+                indexOps.dropIndex(indexName);
+                log.info("인덱스 삭제 완료: {}", indexName);
+            }
+        } catch (Exception e) {
+            log.warn("인덱스 {} 삭제 실패: {}", indexName, e.getMessage());
+        }
+    }
+
     private void createIndexIfNotExists(IndexOperations indexOps, String indexName, Index index) {
         try {
             // 인덱스 존재 여부 확인
@@ -0,0 +1,47 @@
+package org.com.dungeontalk.domain.aichat.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 게임방 MongoDB 인덱스 자동 생성 설정
+ *
+ * 비활성 게임 정리(AiGameReaper)가 ACTIVE/PAUSED 게임방만 마지막 활동 시간 순으로 읽도록 인덱스를 생성합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiGameRoomIndexConfig {
+
+    public static final String STATUS_LAST_ACTIVITY_INDEX = "idx_status_last_activity";
+
+    private static final String COLLECTION_NAME = "ai_game_rooms";
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void initIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION_NAME);
+
+        try {
+            boolean indexExists = indexOps.getIndexInfo().stream()
+                    .anyMatch(info -> STATUS_LAST_ACTIVITY_INDEX.equals(info.getName()));
+
+            if (!indexExists) {
+                indexOps.ensureIndex(new Index().on("status", Sort.Direction.ASC)
+                        .on("lastActivity", Sort.Direction.ASC)
+                        .named(STATUS_LAST_ACTIVITY_INDEX)
+                        .background());
+                log.info("인덱스 생성 완료: {}", STATUS_LAST_ACTIVITY_INDEX);
+            }
+        } catch (Exception e) {
+            log.warn("인덱스 {} 생성 실패: {}", STATUS_LAST_ACTIVITY_INDEX, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.com.dungeontalk.domain.aichat.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Python AI 서비스 호출 설정
+ * application-dev.properties의 ai.service.* 설정들을 바인딩합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.service")
+public class AiServiceProperties {
+
+    /**
+     * AI 서비스 base URL
+     */
+    private String url = "http://localhost:8001";
+
+    /**
+     * 응답 대기(read) 타임아웃 (ms)
+     */
+    private int timeout = 30000;
+
+    /**
+     * 연결 수립 타임아웃 (ms)
+     */
+    private int connectTimeout = 2000;
+
+    /**
+     * 호출 1건의 전체 기한 (ms) - bulkhead 대기 + 연결 + 응답 대기를 모두 포함
+     */
+    private int deadlineMs = 35000;
+
+    /**
+     * 노드당 동시에 진행할 수 있는 최대 AI 호출 수 (bulkhead)
+     */
+    private int maxConcurrentCalls = 64;
+
+    /**
+     * bulkhead 자리가 없을 때 기다리는 최대 시간 (ms), 초과 시 즉시 실패
+     */
+    private int bulkheadWaitMs = 100;
+
+    /**
+     * HTTP 버전 (HTTP_2 / HTTP_1_1) - HTTP_2는 서버가 지원하지 않으면 1.1로 협상된다.
+     */
+    private String httpVersion = "HTTP_2";
+
+    /**
+     * AI 호출을 가상 스레드에서 실행할지 여부 (false면 maxConcurrentCalls 크기의 플랫폼 스레드 풀)
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * 스트리밍 모드 사용 여부 (/ai-response/stream SSE 응답을 delta 단위로 중계)
+     */
+    private boolean streaming = false;
+
+    /**
+     * 스트리밍 delta를 묶어서 전송하는 간격 (ms)
+     */
+    private int streamFlushIntervalMs = 50;
+
+    /**
+     * 배치 모드 사용 여부 (여러 게임방의 생성 요청을 묶어 /ai-response/batch로 전송, 스트리밍 모드에서는 사용하지 않음)
+     */
+    private boolean batching = false;
+
+    /**
+     * 배치 1건에 묶는 최대 요청 수
+     */
+    private int batchMaxSize = 8;
+
+    /**
+     * 첫 요청이 들어온 뒤 배치를 모으는 최대 시간 (ms)
+     */
+    private int batchWindowMs = 20;
+
+    /**
+     * 배치 호출 응답 대기(read) 타임아웃 (ms) - 단건 호출(timeout)과 따로 정한다. (묶인 요청의 deadlineMs를 넘지 않게)
+     */
+    private int batchTimeout = 30000;
+}
@@ -186,7 +186,7 @@ public class AiChatStompController {
             aiGameMessageService.processMessage(request);
 
             // AI 응답 완료 후 락 해제
-            aiGameStateService.unlockAfterAiResponse(request.getAiGameRoomId());
+            aiGameStateService.forceUnlockOnTurnEnd(request.getAiGameRoomId());
 
             log.info("AI 게임 턴 종료: roomId={}, turn={}", 
                      request.getAiGameRoomId(), request.getTurnNumber());
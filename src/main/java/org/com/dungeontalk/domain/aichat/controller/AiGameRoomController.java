@@ -14,6 +14,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.*;
+import org.com.dungeontalk.global.common.dto.CursorPageResponse;
 import org.com.dungeontalk.global.rsData.RsData;
 
 import jakarta.validation.Valid;
@@ -97,6 +98,17 @@ public class AiGameRoomController {
         return RsData.of("200", "입장 가능한 AI 게임방 목록 조회 성공", rooms);
     }
 
+    /**
+     * 최근 활동한 AI 게임방 목록 조회
+     */
+    @GetMapping("/rooms/recent")
+    public RsData<List<AiGameRoomResponse>> getRecentRooms(@RequestParam(defaultValue = "20") int limit) {
+        log.debug("최근 활동 AI 게임방 목록 조회 요청: limit={}", limit);
+
+        List<AiGameRoomResponse> rooms = aiGameRoomService.getRecentlyActiveRooms(Math.min(Math.max(limit, 1), 100));
+        return RsData.of("200", "최근 활동 AI 게임방 목록 조회 성공", rooms);
+    }
+
     /**
      * 사용자가 참여중인 AI 게임방 목록 조회 (페이징 지원)
      */
@@ -123,6 +135,21 @@ public class AiGameRoomController {
         return RsData.of("200", "AI 게임방 메시지 히스토리 조회 성공", messages);
     }
 
+    /**
+     * AI 게임방 메시지 히스토리 커서 조회 (최신순, 응답의 nextCursor로 이전 메시지 이어서 조회)
+     */
+    @GetMapping("/rooms/{roomId}/messages/cursor")
+    public RsData<CursorPageResponse<AiGameMessageResponse>> getMessageHistoryByCursor(
+            @PathVariable String roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("AI 게임방 메시지 히스토리 커서 조회 요청: roomId={}", roomId);
+
+        CursorPageResponse<AiGameMessageResponse> messages =
+                aiGameMessageService.getMessageHistoryByCursor(roomId, cursor, size);
+        return RsData.of("200", "AI 게임방 메시지 히스토리 조회 성공", messages);
+    }
+
     /**
      * 특정 턴의 메시지 조회
      */
@@ -1,5 +1,6 @@
 package org.com.dungeontalk.domain.aichat.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.com.dungeontalk.domain.aichat.dto.AiGameMessageDto;
@@ -8,17 +9,21 @@ import org.com.dungeontalk.domain.aichat.dto.request.AiGenerateRequest;
 import org.com.dungeontalk.domain.aichat.dto.request.AiMessageSaveRequest;
 import org.com.dungeontalk.domain.aichat.dto.request.AiResponseRequest;
 import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGenerationJobResponse;
 import org.com.dungeontalk.domain.aichat.dto.response.ProcessingStatusResponse;
 import org.com.dungeontalk.domain.aichat.service.AiGameMessageService;
 import org.com.dungeontalk.domain.aichat.service.AiGameStateService;
-import org.com.dungeontalk.domain.aichat.service.AiResponseService;
+import org.com.dungeontalk.domain.aichat.service.AiGenerationJobQueue;
+import org.com.dungeontalk.domain.aichat.service.AiGenerationService;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.com.dungeontalk.global.rsData.Empty;
 import org.com.dungeontalk.global.rsData.RsData;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
 
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/aichat/ai-service")
@@ -27,68 +32,43 @@ public class AiResponseController {
 
     private final AiGameMessageService aiGameMessageService;
     private final AiGameStateService aiGameStateService;
-    private final AiResponseService aiResponseService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final AiGenerationService aiGenerationService;
+    private final AiGenerationJobQueue aiGenerationJobQueue;
+    private final RoomMessageRouter roomMessageRouter;
 
     /**
      * 내부에서 AI 응답을 생성하고 처리하는 엔드포인트
      * 프론트엔드에서 직접 호출하여 AI 응답을 요청할 때 사용
+     *
+     * 생성 작업을 큐(Valkey Stream)에 등록하고 작업 ID와 함께 바로 202로 응답한다.
+     * 생성된 AI 메시지와 작업 종료 알림(AI_JOB)은 게임방 WebSocket으로 전달되며,
+     * 작업 상태는 /rooms/{roomId}/generation-jobs/{jobId}로 조회할 수 있다.
      */
     @PostMapping("/rooms/{roomId}/generate")
-    public RsData<AiGameMessageResponse> generateAndProcessAiResponse(
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RsData<AiGenerationJobResponse> generateAndProcessAiResponse(
             @PathVariable String roomId,
             @RequestBody AiGenerateRequest request) {
         
         log.info("AI 응답 생성 및 처리 요청: roomId={}, user={}, turn={}", 
                  roomId, request.getCurrentUser(), request.getTurnNumber());
 
-        // AI 응답 처리 중으로 락 설정
-        boolean locked = aiGameStateService.lockForAiResponse(roomId);
-        if (!locked) {
-            log.warn("AI 응답 처리 중 락 설정 실패 (이미 처리중): roomId={}", roomId);
-            return RsData.of("400-1", "AI 응답이 이미 처리 중입니다", null);
-        }
-
-        try {
-            // 컨텍스트 메시지 조회
-            List<AiGameMessageDto> contextMessages = aiGameMessageService
-                    .getContextMessages(roomId, DEFAULT_CONTEXT_MESSAGE_COUNT, request.getTurnNumber());
-
-            // Python AI 서비스에서 응답 생성
-            AiResponseService.AiResponseResult aiResult = aiResponseService.generateAiResponse(
-                    request.getGameId(),
-                    roomId,
-                    request.getCurrentUser(),
-                    request.getCurrentMessage(),
-                    contextMessages,
-                    request.getTurnNumber()
-            );
-
-            // AI 메시지 저장
-            AiMessageSaveRequest saveRequest = AiMessageSaveRequest.builder()
-                    .aiGameRoomId(roomId)
-                    .gameId(request.getGameId())
-                    .content(aiResult.getContent())
-                    .turnNumber(request.getTurnNumber())
-                    .responseTime(aiResult.getResponseTime())
-                    .aiSources(aiResult.getSources() != null ? String.join(",", aiResult.getSources()) : null)
-                    .build();
-            AiGameMessageDto savedMessage = aiGameMessageService.saveAiMessage(saveRequest);
-
-            // WebSocket 브로드캐스트 및 처리 완료
-            sendWebSocketMessage(roomId, savedMessage);
-            int nextTurn = completeAiResponseAndProgressToNextTurn(roomId);
-
-            log.info("AI 응답 생성 및 처리 완료: roomId={}, nextTurn={}, responseTime={}ms", 
-                     roomId, nextTurn, aiResult.getResponseTime());
-
-            AiGameMessageResponse response = AiGameMessageResponse.fromDto(savedMessage);
+        AiGenerationJobResponse job = aiGenerationJobQueue.enqueue(roomId, request);
+        return RsData.of("202-1", "AI 응답 생성 작업 등록 완료", job);
+    }
 
-            return RsData.of("200-1", "AI 응답 생성 및 처리 완료", response);
+    /**
+     * AI 응답 생성 작업 상태 조회 엔드포인트
+     */
+    @GetMapping("/rooms/{roomId}/generation-jobs/{jobId}")
+    public RsData<AiGenerationJobResponse> getGenerationJob(
+            @PathVariable String roomId,
+            @PathVariable String jobId) {
 
-        } catch (Exception e) {
-            return handleAiResponseError(roomId, e, "AI 응답 생성 중 오류가 발생했습니다");
-        }
+        return aiGenerationJobQueue.find(jobId)
+                .filter(job -> roomId.equals(job.getAiGameRoomId()))
+                .map(job -> RsData.of("200-1", "AI 응답 생성 작업 조회 완료", job))
+                .orElseGet(() -> RsData.of("404-1", ErrorCode.AI_GENERATION_JOB_NOT_FOUND.getMessage()));
     }
 
     /**
@@ -98,7 +78,7 @@ public class AiResponseController {
     @PostMapping("/rooms/{roomId}/response")
     public RsData<AiGameMessageResponse> receiveAiResponse(
             @PathVariable String roomId,
-            @RequestBody AiResponseRequest request) {
+            @Valid @RequestBody AiResponseRequest request) {
 
         log.info("AI 응답 수신: roomId={}, turn={}, responseTime={}ms", 
                  roomId, request.getTurnNumber(), request.getResponseTime());
@@ -112,12 +92,13 @@ public class AiResponseController {
                     .turnNumber(request.getTurnNumber())
                     .responseTime(request.getResponseTime())
                     .aiSources(request.getAiSources())
+                    .fencingToken(request.getFencingToken())
                     .build();
             AiGameMessageDto savedMessage = aiGameMessageService.saveAiMessage(saveRequest);
 
             // WebSocket 브로드캐스트 및 처리 완료
             sendWebSocketMessage(roomId, savedMessage);
-            int nextTurn = completeAiResponseAndProgressToNextTurn(roomId);
+            int nextTurn = aiGenerationService.completeAiResponseAndProgressToNextTurn(roomId, request.getFencingToken());
 
             log.info("AI 응답 처리 완료: roomId={}, nextTurn={}", roomId, nextTurn);
 
@@ -125,7 +106,7 @@ public class AiResponseController {
             return RsData.of("200-1", "AI 응답 생성 및 처리 완료", response);
 
         } catch (Exception e) {
-            return handleAiResponseError(roomId, e, "AI 응답 처리 중 오류가 발생했습니다");
+            return aiGenerationService.handleAiResponseError(roomId, request.getFencingToken(), e, "AI 응답 처리 중 오류가 발생했습니다");
         }
     }
 
@@ -133,9 +114,9 @@ public class AiResponseController {
      * AI 응답 생성 실패 시 호출하는 엔드포인트
      */
     @PostMapping("/rooms/{roomId}/response/error")
-    public RsData<Void> reportAiError(
+    public RsData<Empty> reportAiError(
             @PathVariable String roomId,
-            @RequestBody AiErrorRequest request) {
+            @Valid @RequestBody AiErrorRequest request) {
 
         log.error("AI 응답 생성 실패: roomId={}, error={}", roomId, request.getErrorMessage());
 
@@ -148,15 +129,18 @@ public class AiResponseController {
             // WebSocket으로 에러 메시지 브로드캐스트
             sendWebSocketMessage(roomId, errorMessage);
 
-            // 락 해제 및 게임 일시정지
-            aiGameStateService.unlockAfterAiResponse(roomId);
+            // 락 해제 및 게임 일시정지 (lease를 잃은 요청의 오류 보고는 현재 턴에 영향을 주지 않음)
+            if (!aiGameStateService.unlockAfterAiResponse(roomId, request.getFencingToken())) {
+                log.warn("AI 턴 락을 잃은 오류 보고 무시: roomId={}, token={}", roomId, request.getFencingToken());
+                return RsData.of("409-1", ErrorCode.AI_TURN_LOCK_LOST.getMessage());
+            }
             aiGameStateService.pauseGame(roomId, "AI 응답 생성 오류: " + request.getErrorMessage());
 
-            return RsData.of("200-1", "AI 오류 처리 완료", null);
+            return RsData.of("200-1", "AI 오류 처리 완료");
 
         } catch (Exception e) {
             log.error("AI 에러 처리 중 오류 발생: roomId={}, error={}", roomId, e.getMessage(), e);
-            return RsData.of("500-1", "AI 에러 처리 중 오류가 발생했습니다", null);
+            return RsData.of("500-1", "AI 에러 처리 중 오류가 발생했습니다");
         }
     }
 
@@ -175,30 +159,12 @@ public class AiResponseController {
 
     
     /**
-     * WebSocket 메시지 전송 공통 메서드
+     * WebSocket 메시지 전송 공통 메서드 (다른 노드 구독자에게는 Redis로 중계)
      */
     private void sendWebSocketMessage(String roomId, Object message) {
-        String destination = WEBSOCKET_DESTINATION_PREFIX + roomId;
-        messagingTemplate.convertAndSend(destination, message);
+        roomMessageRouter.send(RoomMessageKind.AI_CHAT, roomId, message);
     }
     
-    /**
-     * AI 응답 완료 후 락 해제 및 다음 턴으로 진행하는 공통 메서드
-     */
-    private int completeAiResponseAndProgressToNextTurn(String roomId) {
-        aiGameStateService.unlockAfterAiResponse(roomId);
-        return aiGameStateService.nextTurn(roomId);
-    }
-    
-    /**
-     * AI 응답 에러 처리 공통 메서드
-     */
-    private RsData<AiGameMessageResponse> handleAiResponseError(String roomId, Exception e, String errorMessage) {
-        log.error("AI 응답 오류 발생: roomId={}, error={}", roomId, e.getMessage(), e);
-        aiGameStateService.unlockAfterAiResponse(roomId);
-        return RsData.of("500-1", errorMessage, null);
-    }
-
     private org.com.dungeontalk.domain.aichat.dto.request.AiGameMessageSendRequest createErrorSystemMessage(
             String roomId, AiErrorRequest request) {
         
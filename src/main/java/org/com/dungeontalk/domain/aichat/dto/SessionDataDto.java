@@ -6,13 +6,55 @@ import lombok.NoArgsConstructor;
 import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
 import org.com.dungeontalk.domain.aichat.common.AiGameStatus;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Valkey 게임 세션 (hash 필드 단위로 저장)
+ */
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class SessionDataDto {
+
+    // hash 필드명
+    public static final String FIELD_ROOM_ID = "roomId";
+    public static final String FIELD_GAME_ID = "gameId";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_PHASE = "phase";
+    public static final String FIELD_TURN = "turn";
+
     private String roomId;
     private String gameId;
     private AiGameStatus status;
     private AiGamePhase phase;
     private int turn;
-}
\ No newline at end of file
+
+    public Map<String, String> toHash() {
+        Map<String, String> hash = new HashMap<>();
+        hash.put(FIELD_ROOM_ID, roomId);
+        if (gameId != null) {
+            hash.put(FIELD_GAME_ID, gameId);
+        }
+        hash.put(FIELD_STATUS, status.name());
+        hash.put(FIELD_PHASE, phase.name());
+        hash.put(FIELD_TURN, String.valueOf(turn));
+        return hash;
+    }
+
+    /**
+     * HGETALL 결과로 생성 (빈 hash면 null - 세션 없음)
+     */
+    public static SessionDataDto fromHash(Map<String, String> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        return new SessionDataDto(
+                hash.get(FIELD_ROOM_ID),
+                hash.get(FIELD_GAME_ID),
+                AiGameStatus.valueOf(hash.get(FIELD_STATUS)),
+                AiGamePhase.valueOf(hash.get(FIELD_PHASE)),
+                Integer.parseInt(hash.get(FIELD_TURN))
+        );
+    }
+}
@@ -11,12 +11,21 @@ import lombok.Getter;
 @Builder
 public class AiMessageSaveRequest {
     
+    /**
+     * 저장할 메시지 ID (스트리밍 응답처럼 미리 발급된 경우, 없으면 새로 발급)
+     */
+    private final String messageId;
     private final String aiGameRoomId;
     private final String gameId;
     private final String content;
     private final int turnNumber;
     private final Long responseTime;
     private final String aiSources;
+
+    /**
+     * AI 턴 락 fencing token (필수, 저장 전에 AiTurnFence로 현재 턴의 토큰인지 확인)
+     */
+    private final Long fencingToken;
     
     /**
      * 빌더 패턴으로 생성된 객체의 유효성을 검증합니다.
@@ -34,5 +43,8 @@ public class AiMessageSaveRequest {
         if (turnNumber < 1) {
             throw new IllegalArgumentException("턴 번호는 1 이상이어야 합니다");
         }
+        if (fencingToken == null) {
+            throw new IllegalArgumentException("fencing token은 필수입니다");
+        }
     }
 }
\ No newline at end of file
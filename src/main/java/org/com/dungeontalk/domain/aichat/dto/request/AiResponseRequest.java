@@ -1,5 +1,6 @@
 package org.com.dungeontalk.domain.aichat.dto.request;
 
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,4 +16,7 @@ public class AiResponseRequest {
     private int turnNumber;
     private Long responseTime;
     private String aiSources;
+    // AI 서비스 요청(fencing_token)으로 전달받은 AI 턴 락 fencing token (필수, 없으면 400)
+    @NotNull(message = "fencing token은 필수입니다")
+    private Long fencingToken;
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package org.com.dungeontalk.domain.aichat.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.com.dungeontalk.domain.aichat.common.AiGenerationJobStatus;
+import org.com.dungeontalk.domain.aichat.common.AiMessageType;
+
+import java.util.Map;
+
+/**
+ * AI 응답 생성 작업 상태 응답 DTO
+ *
+ * /generate 접수 응답, 작업 상태 조회 응답, 작업 종료 시 게임방 브로드캐스트에 함께 사용한다.
+ * 완료된 작업의 messageId는 브로드캐스트된 AI 메시지의 ID와 같다.
+ */
+@Getter
+@Builder
+public class AiGenerationJobResponse {
+    private final String jobId;
+    private final String aiGameRoomId;
+    private final int turnNumber;
+    private final AiGenerationJobStatus status;
+    private final int attempts;
+    private final String resultCode;
+    private final String msg;
+    private final String messageId;
+
+    public AiMessageType getMessageType() {
+        return AiMessageType.AI_JOB;
+    }
+
+    /**
+     * Valkey 작업 상태 hash -> 응답
+     */
+    public static AiGenerationJobResponse fromHash(String jobId, Map<String, String> fields) {
+        return AiGenerationJobResponse.builder()
+                .jobId(jobId)
+                .aiGameRoomId(fields.get("aiGameRoomId"))
+                .turnNumber(Integer.parseInt(fields.getOrDefault("turnNumber", "0")))
+                .status(AiGenerationJobStatus.valueOf(fields.getOrDefault("status", AiGenerationJobStatus.QUEUED.name())))
+                .attempts(Integer.parseInt(fields.getOrDefault("attempts", "0")))
+                .resultCode(fields.get("resultCode"))
+                .msg(fields.get("msg"))
+                .messageId(fields.get("messageId"))
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package org.com.dungeontalk.domain.aichat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.com.dungeontalk.domain.aichat.common.AiMessageType;
+
+/**
+ * AI 응답 스트리밍 조각 응답 DTO
+ *
+ * messageId는 완성 후 저장될 AI 메시지의 ID와 같으므로, 클라이언트는 같은 ID의
+ * AI 메시지를 받으면 조각들로 만든 임시 메시지를 교체하면 된다.
+ */
+@Getter
+@AllArgsConstructor
+public class AiStreamChunkResponse {
+    private final String messageId;
+    private final String aiGameRoomId;
+    private final int turnNumber;
+    private final int sequence;
+    private final String delta;
+
+    public AiMessageType getMessageType() {
+        return AiMessageType.AI_STREAM;
+    }
+}
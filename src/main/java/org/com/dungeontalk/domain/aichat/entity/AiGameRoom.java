@@ -11,6 +11,7 @@ import jakarta.persistence.EntityListeners;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -110,4 +111,25 @@ public class AiGameRoom {
     public int getCurrentParticipantCount() {
         return this.participants != null ? this.participants.size() : 0;
     }
+
+    /**
+     * 캐시 보관/반환용 복사본 생성 (참여자 목록도 새 리스트로 복사)
+     */
+    public AiGameRoom copy() {
+        return AiGameRoom.builder()
+                .id(this.id)
+                .gameId(this.gameId)
+                .roomName(this.roomName)
+                .description(this.description)
+                .status(this.status)
+                .currentPhase(this.currentPhase)
+                .currentTurn(this.currentTurn)
+                .maxParticipants(this.maxParticipants)
+                .participants(this.participants != null ? new ArrayList<>(this.participants) : null)
+                .gameSettings(this.gameSettings)
+                .lastActivity(this.lastActivity)
+                .createdAt(this.createdAt)
+                .updatedAt(this.updatedAt)
+                .build();
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * AI 게임 메시지 MongoDB 접근을 위한 Repository
@@ -38,10 +39,9 @@ public interface AiGameMessageRepository extends MongoRepository<AiGameMessage,
     List<AiGameMessage> findRecentTurnsMessages(String aiGameRoomId, int recentTurnCount, int fromTurn);
 
     /**
-     * 특정 턴에서 다음 메시지 순서 번호 조회
-     * 💡 메시지 순서 자동 부여에 사용
+     * 특정 턴에서 예약 순서(에러/턴 종료) 미만의 가장 큰 메시지 순서 조회
+     * 💡 메시지 순서 시퀀서 초기값 복구에 사용 (idx_room_turn_order 인덱스로 1건만 조회)
      */
-    @Query(value = "{ 'aiGameRoomId': ?0, 'turnNumber': ?1 }", 
-           fields = "{ 'messageOrder': 1 }")
-    List<AiGameMessage> findMaxMessageOrderByTurn(String aiGameRoomId, int turnNumber);
+    Optional<AiGameMessage> findFirstByAiGameRoomIdAndTurnNumberAndMessageOrderLessThanOrderByMessageOrderDesc(
+            String aiGameRoomId, int turnNumber, int messageOrder);
 }
\ No newline at end of file
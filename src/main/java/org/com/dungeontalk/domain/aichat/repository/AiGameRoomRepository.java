@@ -8,7 +8,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +15,10 @@ import java.util.Optional;
  * AI 게임방 MongoDB 접근을 위한 Repository
  * 
  * 기존 ChatRoomRepository와 동일한 Spring Data MongoDB 패턴 활용
+ * 상태/참여자 변경은 AiGameRoomRepositoryCustom의 필드 단위 원자적 갱신 사용
  */
 @Repository
-public interface AiGameRoomRepository extends MongoRepository<AiGameRoom, String> {
+public interface AiGameRoomRepository extends MongoRepository<AiGameRoom, String>, AiGameRoomRepositoryCustom {
 
     /**
      * 게임 ID로 AI 게임방 조회
@@ -56,12 +56,4 @@ public interface AiGameRoomRepository extends MongoRepository<AiGameRoom, String
      * @return 참여 중인 게임방 목록 (페이징)
      */
     Page<AiGameRoom> findByParticipantsContaining(String participantId, Pageable pageable);
-
-    /**
-     * 마지막 활동 시간이 특정 시간 이전인 비활성 게임방 조회
-     * (자동 정리용)
-     * @param cutoffTime 기준 시간
-     * @return 비활성 게임방 목록
-     */
-    List<AiGameRoom> findByLastActivityBefore(LocalDateTime cutoffTime);
 }
\ No newline at end of file
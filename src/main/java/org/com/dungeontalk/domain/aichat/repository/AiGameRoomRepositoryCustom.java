@@ -0,0 +1,55 @@
+package org.com.dungeontalk.domain.aichat.repository;
+
+import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
+import org.com.dungeontalk.domain.aichat.common.AiGameStatus;
+import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * AI 게임방 필드 단위 원자적 갱신
+ *
+ * 문서 전체를 다시 저장하지 않고 조건부 필터 + $set/$addToSet/$pull/$inc 한 번으로 갱신한다.
+ * 조건이 맞지 않으면(상태 변경, 정원 초과 등) 갱신하지 않고 empty를 반환한다.
+ * 반환값은 갱신 후 문서이다.
+ */
+public interface AiGameRoomRepositoryCustom {
+
+    /**
+     * 참여자 추가 (CREATED 상태, 미참여, 정원 미달일 때만)
+     */
+    Optional<AiGameRoom> addParticipant(String aiGameRoomId, String participantId, LocalDateTime now);
+
+    /**
+     * 참여자 제거 (참여 중일 때만)
+     */
+    Optional<AiGameRoom> removeParticipant(String aiGameRoomId, String participantId, LocalDateTime now);
+
+    /**
+     * 정원이 찬 CREATED 게임방을 ACTIVE/TURN_INPUT으로 전환
+     */
+    Optional<AiGameRoom> activateIfFull(String aiGameRoomId);
+
+    /**
+     * 참여자가 없는 게임방을 COMPLETED/GAME_END로 전환
+     */
+    Optional<AiGameRoom> completeIfEmpty(String aiGameRoomId);
+
+    /**
+     * 상태 전환 (현재 상태가 expected일 때만, expected가 null이면 조건 없음 / newPhase가 null이면 phase 유지)
+     */
+    Optional<AiGameRoom> updateStatus(String aiGameRoomId, AiGameStatus expected,
+                                      AiGameStatus newStatus, AiGamePhase newPhase, LocalDateTime now);
+
+    /**
+     * phase 변경 (requiredStatus가 null이 아니면 해당 상태일 때만)
+     */
+    Optional<AiGameRoom> updatePhase(String aiGameRoomId, AiGameStatus requiredStatus,
+                                     AiGamePhase newPhase, LocalDateTime now);
+
+    /**
+     * 턴 증가 + TURN_INPUT 전환 (requiredStatus가 null이 아니면 해당 상태일 때만)
+     */
+    Optional<AiGameRoom> incrementTurn(String aiGameRoomId, AiGameStatus requiredStatus, LocalDateTime now);
+}
@@ -0,0 +1,111 @@
+package org.com.dungeontalk.domain.aichat.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
+import org.com.dungeontalk.domain.aichat.common.AiGameStatus;
+import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * AiGameRoomRepositoryCustom 구현 (MongoTemplate findAndModify, 왕복 1회)
+ */
+@RequiredArgsConstructor
+public class AiGameRoomRepositoryCustomImpl implements AiGameRoomRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<AiGameRoom> addParticipant(String aiGameRoomId, String participantId, LocalDateTime now) {
+        Criteria criteria = byId(aiGameRoomId)
+                .and("status").is(AiGameStatus.CREATED)
+                .and("participants").ne(participantId)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(ArrayOperators.Size.lengthOfArray("participants"))
+                        .lessThan("maxParticipants")));
+
+        return modify(criteria, new Update()
+                .addToSet("participants", participantId)
+                .set("lastActivity", now));
+    }
+
+    @Override
+    public Optional<AiGameRoom> removeParticipant(String aiGameRoomId, String participantId, LocalDateTime now) {
+        return modify(byId(aiGameRoomId).and("participants").is(participantId), new Update()
+                .pull("participants", participantId)
+                .set("lastActivity", now));
+    }
+
+    @Override
+    public Optional<AiGameRoom> activateIfFull(String aiGameRoomId) {
+        Criteria criteria = byId(aiGameRoomId)
+                .and("status").is(AiGameStatus.CREATED)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(ArrayOperators.Size.lengthOfArray("participants"))
+                        .greaterThanEqualTo("maxParticipants")));
+
+        return modify(criteria, new Update()
+                .set("status", AiGameStatus.ACTIVE)
+                .set("currentPhase", AiGamePhase.TURN_INPUT));
+    }
+
+    @Override
+    public Optional<AiGameRoom> completeIfEmpty(String aiGameRoomId) {
+        Criteria criteria = byId(aiGameRoomId)
+                .and("participants").size(0)
+                .and("status").ne(AiGameStatus.COMPLETED);
+
+        return modify(criteria, new Update()
+                .set("status", AiGameStatus.COMPLETED)
+                .set("currentPhase", AiGamePhase.GAME_END));
+    }
+
+    @Override
+    public Optional<AiGameRoom> updateStatus(String aiGameRoomId, AiGameStatus expected,
+                                             AiGameStatus newStatus, AiGamePhase newPhase, LocalDateTime now) {
+        Update update = new Update()
+                .set("status", newStatus)
+                .set("lastActivity", now);
+        if (newPhase != null) {
+            update.set("currentPhase", newPhase);
+        }
+        return modify(withStatus(aiGameRoomId, expected), update);
+    }
+
+    @Override
+    public Optional<AiGameRoom> updatePhase(String aiGameRoomId, AiGameStatus requiredStatus,
+                                            AiGamePhase newPhase, LocalDateTime now) {
+        return modify(withStatus(aiGameRoomId, requiredStatus), new Update()
+                .set("currentPhase", newPhase)
+                .set("lastActivity", now));
+    }
+
+    @Override
+    public Optional<AiGameRoom> incrementTurn(String aiGameRoomId, AiGameStatus requiredStatus, LocalDateTime now) {
+        return modify(withStatus(aiGameRoomId, requiredStatus), new Update()
+                .inc("currentTurn", 1)
+                .set("currentPhase", AiGamePhase.TURN_INPUT)
+                .set("lastActivity", now));
+    }
+
+    private Optional<AiGameRoom> modify(Criteria criteria, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(criteria), update, RETURN_NEW, AiGameRoom.class));
+    }
+
+    private static Criteria withStatus(String aiGameRoomId, AiGameStatus status) {
+        Criteria criteria = byId(aiGameRoomId);
+        return status != null ? criteria.and("status").is(status) : criteria;
+    }
+
+    private static Criteria byId(String aiGameRoomId) {
+        return Criteria.where("_id").is(aiGameRoomId);
+    }
+}
@@ -0,0 +1,221 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.dto.AiGameMessageDto;
+import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.ContextMessage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
+
+/**
+ * 게임방별 AI 컨텍스트 버퍼 (Valkey capped list)
+ *
+ * - 메시지가 저장될 때마다 AI 서비스에 보낼 형태(ContextMessage JSON)로 리스트에 추가하고
+ *   aichat.context.buffer-max-messages 개로 자른다.
+ * - AI 호출 시 MongoDB를 조회하지 않고 버퍼에서 최근 aichat.context.message-count 턴의 메시지만 읽는다.
+ * - 버퍼가 없으면(만료/최초) MongoDB에서 다시 만든다. 버퍼가 없을 때의 추가는 건너뛴다. (재생성 시 포함됨)
+ * - 추가할 때마다 버전을 올리고, 재생성은 MongoDB 조회 전에 읽은 버전이 그대로일 때만 버퍼를 교체한다.
+ *   조회와 교체 사이에 저장된 메시지가 빠진 버퍼가 만들어지지 않도록, 버전이 바뀌었으면 다시 조회한다.
+ * - 재생성 직전에 저장되어 이미 포함된 메시지가 뒤이어 추가되면 중복으로 보고 건너뛴다.
+ * - 버퍼가 최대 개수까지 차서 조회할 턴 범위의 앞부분이 잘렸을 수 있으면 MongoDB에서 읽는다.
+ * - 지표: aichat.context.buffer(result=hit/miss/capped)
+ */
+@Slf4j
+@Component
+public class AiContextBuffer {
+
+    // 재생성 중 버전이 계속 바뀔 때 MongoDB를 다시 읽는 최대 횟수 (넘으면 버퍼 없이 조회 결과만 반환)
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    // 중복 추가 확인 시 살펴볼 최근 항목 수
+    private static final int DUPLICATE_SCAN_DEPTH = 32;
+
+    // 버전 증가 후 버퍼가 있을 때만 추가 + 크기 제한 + 만료 연장
+    // (KEYS[1]=버퍼, KEYS[2]=버전, ARGV[1]=최대 개수, ARGV[2]=ttl, ARGV[3]=메시지, ARGV[4]=중복 확인 범위)
+    static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "if redis.call('LPOS', KEYS[1], ARGV[3], 'RANK', -1, 'MAXLEN', ARGV[4]) then return 0 end " +
+            "redis.call('RPUSH', KEYS[1], ARGV[3]) " +
+            "redis.call('LTRIM', KEYS[1], -tonumber(ARGV[1]), -1) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    // 버전이 그대로일 때만 버퍼 전체 교체 (KEYS[1]=버퍼, KEYS[2]=버전, ARGV[1]=읽은 버전, ARGV[2]=ttl, ARGV[3..]=메시지)
+    static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('RPUSH', KEYS[1], unpack(ARGV, 3)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> sessionRedis;
+    private final AiGameMessageRepository aiGameMessageRepository;
+    private final AiChatProperties aiChatProperties;
+    private final ObjectMapper objectMapper;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter cappedCounter;
+
+    public AiContextBuffer(
+            @Qualifier("sessionRedisTemplate") RedisTemplate<String, String> sessionRedis,
+            AiGameMessageRepository aiGameMessageRepository,
+            AiChatProperties aiChatProperties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.sessionRedis = sessionRedis;
+        this.aiGameMessageRepository = aiGameMessageRepository;
+        this.aiChatProperties = aiChatProperties;
+        this.objectMapper = objectMapper;
+        this.hitCounter = Counter.builder("aichat.context.buffer").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("aichat.context.buffer").tag("result", "miss").register(meterRegistry);
+        this.cappedCounter = Counter.builder("aichat.context.buffer").tag("result", "capped").register(meterRegistry);
+    }
+
+    /**
+     * 저장된 메시지를 버퍼에 추가 (실패 시 버퍼를 지워 다음 조회에서 다시 만든다)
+     */
+    public void append(AiGameMessageDto message) {
+        String key = bufferKey(message.getAiGameRoomId());
+        try {
+            sessionRedis.execute(APPEND_SCRIPT, List.of(key, versionKey(message.getAiGameRoomId())),
+                    String.valueOf(aiChatProperties.getContext().getBufferMaxMessages()),
+                    String.valueOf(DEFAULT_SESSION_TIMEOUT_SECONDS),
+                    objectMapper.writeValueAsString(ContextMessage.from(message)),
+                    String.valueOf(DUPLICATE_SCAN_DEPTH));
+        } catch (Exception e) {
+            log.warn("AI 컨텍스트 버퍼 추가 실패: roomId={}, error={}", message.getAiGameRoomId(), e.getMessage());
+            try {
+                sessionRedis.delete(key);
+            } catch (Exception ignored) {
+                // 삭제도 실패하면 만료 시간까지 이전 버퍼가 사용될 수 있다.
+            }
+        }
+    }
+
+    /**
+     * 최근 턴들의 컨텍스트 메시지 조회 (버퍼 우선, 없으면 MongoDB에서 재생성)
+     */
+    public List<ContextMessage> getRecentTurns(String aiGameRoomId, int currentTurn) {
+        int recentTurnCount = aiChatProperties.getContext().getMessageCount();
+        int fromTurn = Math.max(1, currentTurn - recentTurnCount + 1);
+
+        List<String> buffered = sessionRedis.opsForList().range(bufferKey(aiGameRoomId), 0, -1);
+        if (buffered != null && !buffered.isEmpty()) {
+            List<ContextMessage> messages = new ArrayList<>(buffered.size());
+            int oldestTurn = Integer.MAX_VALUE;
+            for (String json : buffered) {
+                ContextMessage message = readMessage(json);
+                if (message == null) {
+                    continue;
+                }
+                oldestTurn = Math.min(oldestTurn, message.getTurnNumber());
+                if (message.getTurnNumber() >= fromTurn) {
+                    messages.add(message);
+                }
+            }
+
+            // 가득 찬 버퍼에 조회 범위보다 이전 턴이 없으면 앞부분이 잘려 나갔을 수 있다.
+            if (buffered.size() >= aiChatProperties.getContext().getBufferMaxMessages() && oldestTurn >= fromTurn) {
+                cappedCounter.increment();
+                return load(aiGameRoomId, recentTurnCount, fromTurn);
+            }
+
+            hitCounter.increment();
+            return messages;
+        }
+
+        missCounter.increment();
+        return rebuild(aiGameRoomId, recentTurnCount, fromTurn);
+    }
+
+    private List<ContextMessage> rebuild(String aiGameRoomId, int recentTurnCount, int fromTurn) {
+        List<ContextMessage> messages = List.of();
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            String version;
+            try {
+                version = currentVersion(aiGameRoomId);
+            } catch (Exception e) {
+                log.warn("AI 컨텍스트 버퍼 버전 조회 실패: roomId={}, error={}", aiGameRoomId, e.getMessage());
+                return load(aiGameRoomId, recentTurnCount, fromTurn);
+            }
+
+            messages = load(aiGameRoomId, recentTurnCount, fromTurn);
+            if (messages.isEmpty() || replace(aiGameRoomId, version, messages)) {
+                return messages;
+            }
+            log.debug("AI 컨텍스트 버퍼 재생성 중 메시지 추가됨, 다시 조회: roomId={}, attempt={}", aiGameRoomId, attempt);
+        }
+        return messages;
+    }
+
+    private List<ContextMessage> load(String aiGameRoomId, int recentTurnCount, int fromTurn) {
+        return aiGameMessageRepository
+                .findRecentTurnsMessages(aiGameRoomId, recentTurnCount, fromTurn)
+                .stream()
+                .map(AiGameMessageDto::fromEntity)
+                .map(ContextMessage::from)
+                .toList();
+    }
+
+    /**
+     * 읽은 버전이 그대로일 때만 버퍼 교체 (버전이 바뀌었으면 false, 교체 실패는 true로 보고 조회 결과를 그대로 쓴다)
+     */
+    private boolean replace(String aiGameRoomId, String version, List<ContextMessage> messages) {
+        int maxMessages = aiChatProperties.getContext().getBufferMaxMessages();
+        List<ContextMessage> kept = messages.subList(Math.max(0, messages.size() - maxMessages), messages.size());
+        try {
+            Object[] args = new Object[kept.size() + 2];
+            args[0] = version;
+            args[1] = String.valueOf(DEFAULT_SESSION_TIMEOUT_SECONDS);
+            for (int i = 0; i < kept.size(); i++) {
+                args[i + 2] = objectMapper.writeValueAsString(kept.get(i));
+            }
+            Long replaced = sessionRedis.execute(REPLACE_SCRIPT,
+                    List.of(bufferKey(aiGameRoomId), versionKey(aiGameRoomId)), args);
+            return replaced == null || replaced == 1L;
+        } catch (Exception e) {
+            log.warn("AI 컨텍스트 버퍼 재생성 실패: roomId={}, error={}", aiGameRoomId, e.getMessage());
+            return true;
+        }
+    }
+
+    private String currentVersion(String aiGameRoomId) {
+        String version = sessionRedis.opsForValue().get(versionKey(aiGameRoomId));
+        return version != null ? version : "0";
+    }
+
+    private ContextMessage readMessage(String json) {
+        try {
+            return objectMapper.readValue(json, ContextMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("AI 컨텍스트 버퍼 항목 파싱 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String bufferKey(String aiGameRoomId) {
+        return AI_GAME_CONTEXT_PREFIX + aiGameRoomId;
+    }
+
+    private static String versionKey(String aiGameRoomId) {
+        return AI_GAME_CONTEXT_VERSION_PREFIX + aiGameRoomId;
+    }
+}
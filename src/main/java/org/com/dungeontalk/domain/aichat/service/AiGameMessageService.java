@@ -1,7 +1,6 @@
 package org.com.dungeontalk.domain.aichat.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
@@ -12,7 +11,7 @@ import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
 import org.com.dungeontalk.domain.aichat.entity.AiGameMessage;
 import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
 import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
-import org.com.dungeontalk.domain.aichat.repository.AiGameRoomRepository;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.ContextMessage;
 import org.com.dungeontalk.domain.aichat.util.AiGameValidator;
 import org.com.dungeontalk.domain.aichat.service.AiGameRoomService;
 import org.com.dungeontalk.global.exception.ErrorCode;
@@ -20,10 +19,13 @@ import org.com.dungeontalk.global.exception.customException.AiChatException;
 import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
 import org.com.dungeontalk.domain.aichat.config.AiChatConfigHelper;
 import org.com.dungeontalk.domain.aichat.dto.request.AiMessageSaveRequest;
-import org.com.dungeontalk.global.redis.RedisPublisher;
+import org.com.dungeontalk.global.common.dto.CursorPageResponse;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.com.dungeontalk.global.util.MessageCursor;
 import org.com.dungeontalk.global.util.UuidV7Creator;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,13 +39,16 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class AiGameMessageService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final AiGameMessageRepository aiGameMessageRepository;
-    private final AiGameRoomRepository aiGameRoomRepository;
+    private final MongoTemplate mongoTemplate;
     private final AiGameValidator aiGameValidator;
     private final AiGameRoomService aiGameRoomService;
-    private final RedisPublisher redisPublisher;
-    private final ObjectMapper objectMapper;
+    private final AiMessageOrderSequencer aiMessageOrderSequencer;
+    private final AiTurnFence aiTurnFence;
+    private final AiContextBuffer aiContextBuffer;
+    private final RoomMessageRouter roomMessageRouter;
 
     /**
      * STOMP 메시지 분기 처리 (Controller에서 단일 호출)
@@ -60,13 +65,8 @@ public class AiGameMessageService {
             default -> throw new AiChatException(ErrorCode.AI_GAME_MESSAGE_INVALID_STATE);
         }
 
-        // WebSocket 브로드캐스트
-        String destination = WEBSOCKET_DESTINATION_PREFIX + request.getAiGameRoomId();
-        messagingTemplate.convertAndSend(destination, messageDto);
-
-        // Redis 메시지 브로드캐스트
-        String json = objectMapper.writeValueAsString(messageDto);
-        redisPublisher.publish(request.getAiGameRoomId(), json);
+        // WebSocket 브로드캐스트 (로컬 구독자 직접 전달, 다른 노드 구독자가 있을 때만 Redis 발행)
+        roomMessageRouter.send(RoomMessageKind.AI_CHAT, request.getAiGameRoomId(), messageDto);
 
         return messageDto;
     }
@@ -103,14 +103,13 @@ public class AiGameMessageService {
 
         AiGameMessage saved = aiGameMessageRepository.save(message);
         
-        // 게임방 마지막 활동 시간 업데이트
-        room.setLastActivity(LocalDateTime.now());
-        aiGameRoomRepository.save(room);
+        // 게임방 마지막 활동 시간 업데이트 (lastActivity 필드만)
+        aiGameRoomService.touchLastActivity(request.getAiGameRoomId());
 
         log.info("사용자 메시지 저장 완료: roomId={}, sender={}, turn={}", 
                  request.getAiGameRoomId(), request.getSenderId(), request.getTurnNumber());
 
-        return AiGameMessageDto.fromEntity(saved);
+        return appendToContext(AiGameMessageDto.fromEntity(saved));
     }
 
     /**
@@ -121,10 +120,19 @@ public class AiGameMessageService {
         request.validate();
         aiGameValidator.validateGameRoom(request.getAiGameRoomId());
 
+        // 다른 요청이 턴을 잡은 뒤 도착한 응답이나 이미 반영된 토큰은 저장하지 않음 (확인과 표시가 한 번의 조건부 쓰기)
+        if (!aiTurnFence.tryCommit(request.getAiGameRoomId(), request.getFencingToken())) {
+            log.warn("AI 턴 락을 잃은 응답 거부: roomId={}, token={}",
+                     request.getAiGameRoomId(), request.getFencingToken());
+            throw new AiChatException(ErrorCode.AI_TURN_LOCK_LOST);
+        }
+
         int nextMessageOrder = getNextMessageOrder(request.getAiGameRoomId(), request.getTurnNumber());
 
+        String messageId = request.getMessageId() != null ? request.getMessageId() : UuidV7Creator.create();
+
         AiGameMessage message = AiGameMessage.builder()
-                .id(UuidV7Creator.create())
+                .id(messageId)
                 .aiGameRoomId(request.getAiGameRoomId())
                 .gameId(request.getGameId())
                 .senderId(AI_SENDER_ID)
@@ -146,27 +154,7 @@ public class AiGameMessageService {
         log.info("AI 메시지 저장 완료: roomId={}, turn={}, responseTime={}ms", 
                  request.getAiGameRoomId(), request.getTurnNumber(), request.getResponseTime());
 
-        return AiGameMessageDto.fromEntity(saved);
-    }
-
-    /**
-     * AI 메시지 저장 (기존 방식 - 호환성을 위해 유지)
-     * @deprecated 대신 saveAiMessage(AiMessageSaveRequest)를 사용하세요
-     */
-    @Deprecated
-    @Transactional
-    public AiGameMessageDto saveAiMessage(String aiGameRoomId, String gameId, String content, 
-                                         int turnNumber, Long responseTime, String aiSources) {
-        AiMessageSaveRequest request = AiMessageSaveRequest.builder()
-                .aiGameRoomId(aiGameRoomId)
-                .gameId(gameId)
-                .content(content)
-                .turnNumber(turnNumber)
-                .responseTime(responseTime)
-                .aiSources(aiSources)
-                .build();
-        
-        return saveAiMessage(request);
+        return appendToContext(AiGameMessageDto.fromEntity(saved));
     }
 
     /**
@@ -193,7 +181,7 @@ public class AiGameMessageService {
         log.info("시스템 메시지 저장 완료: roomId={}, content={}", 
                  request.getAiGameRoomId(), request.getContent());
 
-        return AiGameMessageDto.fromEntity(saved);
+        return appendToContext(AiGameMessageDto.fromEntity(saved));
     }
 
     /**
@@ -222,7 +210,7 @@ public class AiGameMessageService {
         log.info("턴 시작 메시지 저장 완료: roomId={}, turn={}", 
                  request.getAiGameRoomId(), request.getTurnNumber());
 
-        return AiGameMessageDto.fromEntity(saved);
+        return appendToContext(AiGameMessageDto.fromEntity(saved));
     }
 
     /**
@@ -251,7 +239,7 @@ public class AiGameMessageService {
         log.info("턴 종료 메시지 저장 완료: roomId={}, turn={}", 
                  request.getAiGameRoomId(), request.getTurnNumber());
 
-        return AiGameMessageDto.fromEntity(saved);
+        return appendToContext(AiGameMessageDto.fromEntity(saved));
     }
 
     /**
@@ -268,6 +256,25 @@ public class AiGameMessageService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * AI 게임방 메시지 히스토리 커서 조회 (최신순, count/skip 없음)
+     * cursor가 없으면 가장 최신 메시지부터 조회한다.
+     */
+    public CursorPageResponse<AiGameMessageResponse> getMessageHistoryByCursor(String aiGameRoomId, String cursor, int size) {
+        aiGameValidator.validateGameRoom(aiGameRoomId);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        List<AiGameMessageResponse> messages = mongoTemplate.find(
+                        MessageCursor.keysetQuery("aiGameRoomId", aiGameRoomId, MessageCursor.decode(cursor), pageSize + 1),
+                        AiGameMessage.class)
+                .stream()
+                .map(AiGameMessageResponse::fromEntity)
+                .toList();
+
+        return CursorPageResponse.of(messages, pageSize,
+                message -> new MessageCursor(message.getCreatedAt(), message.getMessageId()));
+    }
+
     /**
      * 특정 턴의 메시지들 조회
      */
@@ -283,42 +290,28 @@ public class AiGameMessageService {
     }
 
     /**
-     * AI 컨텍스트용 최근 턴들의 메시지 조회
+     * AI 컨텍스트용 최근 턴들의 메시지 조회 (aichat.context.message-count 턴, 컨텍스트 버퍼 우선)
      */
-    public List<AiGameMessageDto> getContextMessages(String aiGameRoomId, int recentTurnCount, int currentTurn) {
+    public List<ContextMessage> getContextMessages(String aiGameRoomId, int currentTurn) {
         aiGameValidator.validateGameRoom(aiGameRoomId);
+        return aiContextBuffer.getRecentTurns(aiGameRoomId, currentTurn);
+    }
 
-        int fromTurn = Math.max(1, currentTurn - recentTurnCount + 1);
-        List<AiGameMessage> messages = aiGameMessageRepository
-                .findRecentTurnsMessages(aiGameRoomId, recentTurnCount, fromTurn);
 
-        return messages.stream()
-                .map(AiGameMessageDto::fromEntity)
-                .collect(Collectors.toList());
+    private AiGameMessageDto appendToContext(AiGameMessageDto saved) {
+        aiContextBuffer.append(saved);
+        return saved;
     }
 
-
     private int getNextMessageOrder(String aiGameRoomId, int turnNumber) {
-        List<AiGameMessage> turnMessages = aiGameMessageRepository
-                .findMaxMessageOrderByTurn(aiGameRoomId, turnNumber);
-        
-        if (turnMessages.isEmpty()) {
-            return 1;
-        }
-        
-        return turnMessages.stream()
-                .mapToInt(AiGameMessage::getMessageOrder)
-                .max()
-                .orElse(0) + 1;
+        return aiMessageOrderSequencer.next(aiGameRoomId, turnNumber);
     }
 
     /**
      * 게임방 마지막 활동 시간 업데이트 (공통 로직 추출)
      */
     private void updateRoomLastActivity(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-        room.setLastActivity(LocalDateTime.now());
-        aiGameRoomRepository.save(room);
+        aiGameRoomService.touchLastActivity(aiGameRoomId);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,245 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
+import org.com.dungeontalk.domain.aichat.common.AiGameStatus;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.config.AiGameRoomIndexConfig;
+import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
+import org.com.dungeontalk.domain.auth.service.ValkeyService;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_REAPER_LOCK_KEY;
+
+/**
+ * 비활성 AI 게임 정리
+ *
+ * - 주기적으로 마지막 활동이 오래된 게임방을 활동 sorted set(AiRoomActivityTracker)에서 읽고,
+ *   활동 기록이 없는 ACTIVE/PAUSED 게임방은 (status, lastActivity) 인덱스 커서로 읽는다.
+ * - batch 단위로 updateMany 종료 처리 후 Valkey 세션/락을 DEL 1회로 정리한다.
+ * - 한 번에 maxBatchesPerRun개 batch까지만 처리하고, 남은 게임방은 다음 주기에 이어서 처리한다.
+ * - Valkey 락으로 여러 노드 중 한 노드만 실행한다.
+ * - 지표: aichat.reaper.runs(result), aichat.reaper.reaped, aichat.reaper.batches,
+ *   aichat.reaper.duration, aichat.reaper.last_run_reaped
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiGameReaper {
+
+    private static final List<AiGameStatus> OPEN_STATUSES = List.of(AiGameStatus.ACTIVE, AiGameStatus.PAUSED);
+
+    private final MongoTemplate mongoTemplate;
+    private final ValkeyService valkeyService;
+    private final AiGameStateService aiGameStateService;
+    private final AiRoomActivityTracker aiRoomActivityTracker;
+    private final AiChatProperties aiChatProperties;
+    private final NodeIdentity nodeIdentity;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lastRunReaped = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private Counter completedRuns;
+    private Counter skippedRuns;
+    private Counter failedRuns;
+    private Counter reapedCounter;
+    private Counter batchCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    public void start() {
+        completedRuns = runCounter("completed");
+        skippedRuns = runCounter("skipped");
+        failedRuns = runCounter("failed");
+        reapedCounter = Counter.builder("aichat.reaper.reaped")
+                .description("비활성으로 종료 처리된 AI 게임방 수")
+                .register(meterRegistry);
+        batchCounter = Counter.builder("aichat.reaper.batches")
+                .description("비활성 게임 정리 batch 수")
+                .register(meterRegistry);
+        runTimer = Timer.builder("aichat.reaper.duration")
+                .description("비활성 게임 정리 1회 실행 시간")
+                .register(meterRegistry);
+        Gauge.builder("aichat.reaper.last_run_reaped", lastRunReaped, AtomicLong::get)
+                .description("마지막 정리 실행에서 종료 처리된 게임방 수")
+                .register(meterRegistry);
+
+        AiChatProperties.Reaper config = aiChatProperties.getReaper();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aichat-game-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely,
+                config.getIntervalSeconds(), config.getIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * 다른 노드가 실행 중이 아니면 1회 정리 실행
+     *
+     * @return 종료 처리된 게임방 수 (다른 노드가 실행 중이면 0)
+     */
+    public long reap() {
+        AiChatProperties.Reaper config = aiChatProperties.getReaper();
+        String owner = nodeIdentity.getNodeId();
+
+        if (!valkeyService.setIfNotExists(AI_GAME_REAPER_LOCK_KEY, owner, config.getIntervalSeconds())) {
+            skippedRuns.increment();
+            log.debug("다른 노드에서 비활성 게임 정리 중: 건너뜀");
+            return 0;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            long reaped = reapInactiveRooms(config);
+            lastRunReaped.set(reaped);
+            completedRuns.increment();
+            if (reaped > 0) {
+                log.info("비활성 AI 게임 정리 완료: {} 개 게임방", reaped);
+            }
+            return reaped;
+        } finally {
+            runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            valkeyService.deleteIfEquals(AI_GAME_REAPER_LOCK_KEY, owner);
+        }
+    }
+
+    private long reapInactiveRooms(AiChatProperties.Reaper config) {
+        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(config.getInactiveHours());
+        int batchSize = config.getBatchSize();
+        int remainingBatches = config.getMaxBatchesPerRun();
+        long reaped = 0;
+
+        // 1. 활동 sorted set에서 오래된 게임방부터 (종료/정리된 게임방은 sorted set에서도 빠진다)
+        List<String> previous = List.of();
+        while (remainingBatches > 0) {
+            List<String> candidates = aiRoomActivityTracker.findInactiveBefore(cutoffTime, batchSize);
+            // 아직 반영되지 않은 활동으로 열려 있는 게임방만 남았으면 다음 주기에 다시 확인
+            if (candidates.isEmpty() || candidates.equals(previous)) {
+                break;
+            }
+            previous = candidates;
+            reaped += reapBatch(candidates, cutoffTime);
+            remainingBatches--;
+            if (candidates.size() < batchSize) {
+                break;
+            }
+        }
+        if (remainingBatches == 0) {
+            return reaped;
+        }
+
+        // 2. 활동 기록이 없는 게임방 (추적 도입 이전 게임방 등)은 MongoDB 인덱스 커서로 처리
+        Query query = new Query(Criteria.where("status").in(OPEN_STATUSES).and("lastActivity").lt(cutoffTime))
+                .withHint(AiGameRoomIndexConfig.STATUS_LAST_ACTIVITY_INDEX)
+                .cursorBatchSize(batchSize)
+                .limit(batchSize * remainingBatches);
+        query.fields().include("_id");
+
+        List<String> batch = new ArrayList<>(batchSize);
+
+        try (Stream<AiGameRoom> rooms = mongoTemplate.stream(query, AiGameRoom.class)) {
+            Iterator<AiGameRoom> iterator = rooms.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next().getId());
+                if (batch.size() == batchSize) {
+                    reaped += reapBatch(batch, cutoffTime);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            reaped += reapBatch(batch, cutoffTime);
+        }
+        return reaped;
+    }
+
+    /**
+     * batch 종료 처리 (updateMany 1회 + Valkey DEL 1회)
+     * 조회 이후 활동이 생긴 게임방은 조건에서 빠지므로 종료되지 않고, 세션도 지우지 않는다.
+     */
+    private long reapBatch(List<String> roomIds, LocalDateTime cutoffTime) {
+        Query query = new Query(Criteria.where("_id").in(roomIds)
+                .and("status").in(OPEN_STATUSES)
+                .and("lastActivity").lt(cutoffTime));
+        Update update = new Update()
+                .set("status", AiGameStatus.COMPLETED)
+                .set("currentPhase", AiGamePhase.GAME_END)
+                .set("updatedAt", LocalDateTime.now());
+
+        UpdateResult result = mongoTemplate.updateMulti(query, update, AiGameRoom.class);
+
+        // 이미 종료된 게임방도 세션/활동 기록 정리 대상에 포함 (아직 열려 있는 게임방만 제외)
+        List<String> endedRoomIds = roomIds;
+        if (result.getModifiedCount() < roomIds.size()) {
+            endedRoomIds = excludeStillOpen(roomIds);
+        }
+        aiGameStateService.clearEndedSessions(endedRoomIds);
+
+        batchCounter.increment();
+        reapedCounter.increment(result.getModifiedCount());
+        return result.getModifiedCount();
+    }
+
+    private List<String> excludeStillOpen(List<String> roomIds) {
+        Query query = new Query(Criteria.where("_id").in(roomIds).and("status").in(OPEN_STATUSES));
+        query.fields().include("_id");
+
+        Set<String> stillOpen = new HashSet<>();
+        mongoTemplate.find(query, AiGameRoom.class).forEach(room -> stillOpen.add(room.getId()));
+        return roomIds.stream().filter(roomId -> !stillOpen.contains(roomId)).toList();
+    }
+
+    private void runSafely() {
+        try {
+            reap();
+        } catch (Exception e) {
+            failedRuns.increment();
+            log.warn("비활성 AI 게임 정리 실패: error={}", e.getMessage());
+        }
+    }
+
+    private Counter runCounter(String result) {
+        return Counter.builder("aichat.reaper.runs")
+                .description("비활성 게임 정리 실행 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
+import org.com.dungeontalk.domain.aichat.repository.AiGameRoomRepository;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * AI 게임방 상태 로컬 캐시 (노드 내 메모리)
+ *
+ * - 크기 제한 + TTL 만료 (aichat.room-cache.*)
+ * - 저장 시 write-through, 다른 노드에는 Valkey pub/sub으로 무효화 전파
+ * - 캐시 객체는 복사본으로만 주고받으므로 호출 측 변경이 캐시에 새지 않는다.
+ * - hit/miss 등은 Micrometer(cache.gets 등, cache=aiGameRoom)로 노출
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiGameRoomCache implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "aichat.room.invalidate";
+    private static final String SEPARATOR = "|";
+    private static final String ROOM_ID_DELIMITER = ",";
+
+    private final AiGameRoomRepository aiGameRoomRepository;
+    private final AiChatProperties aiChatProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final NodeIdentity nodeIdentity;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, AiGameRoom> cache;
+
+    @PostConstruct
+    public void init() {
+        AiChatProperties.RoomCache config = aiChatProperties.getRoomCache();
+        cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "aiGameRoom");
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 게임방 조회 (miss 시 MongoDB에서 읽어 캐시에 적재)
+     */
+    public Optional<AiGameRoom> find(String aiGameRoomId) {
+        AiGameRoom cached = cache.get(aiGameRoomId,
+                id -> aiGameRoomRepository.findById(id).orElse(null));
+        return Optional.ofNullable(cached).map(AiGameRoom::copy);
+    }
+
+    /**
+     * 게임방 저장 (write-through) 후 다른 노드 캐시 무효화
+     */
+    public AiGameRoom save(AiGameRoom room) {
+        AiGameRoom saved = aiGameRoomRepository.save(room);
+        cache.put(saved.getId(), saved.copy());
+        publishInvalidation(saved.getId());
+        return saved;
+    }
+
+    /**
+     * 원자적 갱신(findAndModify)으로 받은 최신 문서를 캐시에 반영 후 다른 노드 캐시 무효화
+     */
+    public AiGameRoom put(AiGameRoom updated) {
+        cache.put(updated.getId(), updated.copy());
+        publishInvalidation(updated.getId());
+        return updated;
+    }
+
+    /**
+     * 마지막 활동 시간만 로컬 캐시에 반영 (조회용 값이라 다른 노드에는 전파하지 않고 TTL 만료에 맡긴다)
+     */
+    public void touchLocal(String aiGameRoomId, LocalDateTime lastActivity) {
+        cache.asMap().computeIfPresent(aiGameRoomId, (id, room) -> {
+            AiGameRoom touched = room.copy();
+            touched.setLastActivity(lastActivity);
+            return touched;
+        });
+    }
+
+    /**
+     * 캐시를 거치지 않고 변경된 게임방 무효화 (로컬 + 다른 노드)
+     */
+    public void invalidate(String aiGameRoomId) {
+        cache.invalidate(aiGameRoomId);
+        publishInvalidation(aiGameRoomId);
+    }
+
+    /**
+     * 여러 게임방 한 번에 무효화 (로컬 + 다른 노드, 발행 1회)
+     */
+    public void invalidateAll(Collection<String> aiGameRoomIds) {
+        if (aiGameRoomIds.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(aiGameRoomIds);
+        publishInvalidation(String.join(ROOM_ID_DELIMITER, aiGameRoomIds));
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 수신 ("{nodeId}|{roomId}[,{roomId}...]")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separatorIndex = body.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            return;
+        }
+
+        if (nodeIdentity.isSelf(body.substring(0, separatorIndex))) {
+            return;
+        }
+
+        String aiGameRoomIds = body.substring(separatorIndex + 1);
+        for (String aiGameRoomId : aiGameRoomIds.split(ROOM_ID_DELIMITER)) {
+            cache.invalidate(aiGameRoomId);
+        }
+        log.debug("AI 게임방 캐시 무효화 수신: roomIds={}", aiGameRoomIds);
+    }
+
+    // aiGameRoomIds: 게임방 ID 하나 또는 ROOM_ID_DELIMITER로 이은 여러 ID
+    private void publishInvalidation(String aiGameRoomIds) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    nodeIdentity.getNodeId() + SEPARATOR + aiGameRoomIds);
+        } catch (Exception e) {
+            // 전파 실패 시 다른 노드는 TTL 만료까지 이전 상태를 볼 수 있음
+            log.warn("AI 게임방 캐시 무효화 전파 실패: roomIds={}, error={}", aiGameRoomIds, e.getMessage());
+        }
+    }
+}
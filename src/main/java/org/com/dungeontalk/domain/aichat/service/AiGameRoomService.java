@@ -22,7 +22,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,6 +36,8 @@ import java.util.stream.Collectors;
 public class AiGameRoomService {
 
     private final AiGameRoomRepository aiGameRoomRepository;
+    private final AiGameRoomCache aiGameRoomCache;
+    private final AiRoomActivityTracker aiRoomActivityTracker;
     private final MemberRepository memberRepository;
 
     /**
@@ -59,7 +64,7 @@ public class AiGameRoomService {
         // 생성자를 첫 번째 참여자로 추가
         aiGameRoom.getParticipants().add(request.getCreatorId());
 
-        AiGameRoom saved = aiGameRoomRepository.save(aiGameRoom);
+        AiGameRoom saved = saveGameRoom(aiGameRoom);
         log.info("AI 게임방 생성 완료: roomId={}, gameId={}, creator={}", 
                  saved.getId(), saved.getGameId(), request.getCreatorId());
 
@@ -72,29 +77,19 @@ public class AiGameRoomService {
     @Transactional
     public AiGameRoomResponse joinAiGameRoom(AiGameRoomJoinRequest request) {
         validateParticipant(request.getParticipantId());
+        String aiGameRoomId = request.getAiGameRoomId();
 
-        AiGameRoom room = aiGameRoomRepository.findById(request.getAiGameRoomId())
-                .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
-
-        if (!room.canJoin()) {
-            throw new AiChatException(ErrorCode.AI_GAME_ROOM_CANNOT_JOIN);
-        }
-
-        if (room.getParticipants().contains(request.getParticipantId())) {
-            throw new AiChatException(ErrorCode.AI_GAME_ROOM_ALREADY_JOINED);
-        }
-
-        // 참여자 추가
-        room.getParticipants().add(request.getParticipantId());
-        room.setLastActivity(LocalDateTime.now());
+        // 참여자 추가 (CREATED + 미참여 + 정원 미달 조건을 갱신과 함께 확인, 동시 입장 시 정원 초과 없음)
+        AiGameRoom saved = aiGameRoomRepository
+                .addParticipant(aiGameRoomId, request.getParticipantId(), LocalDateTime.now())
+                .orElseThrow(() -> joinFailure(aiGameRoomId, request.getParticipantId()));
 
-        // 정원이 찼으면 게임 시작
-        if (room.getCurrentParticipantCount() >= room.getMaxParticipants()) {
-            room.setStatus(AiGameStatus.ACTIVE);
-            room.setCurrentPhase(AiGamePhase.TURN_INPUT);
+        // 정원이 찼으면 게임 시작 (정원을 채운 요청 하나만 전환된다)
+        if (saved.getCurrentParticipantCount() >= saved.getMaxParticipants()) {
+            saved = aiGameRoomRepository.activateIfFull(aiGameRoomId).orElse(saved);
         }
+        applyUpdate(saved);
 
-        AiGameRoom saved = aiGameRoomRepository.save(room);
         log.info("AI 게임방 참여 완료: roomId={}, participant={}, currentCount={}", 
                  saved.getId(), request.getParticipantId(), saved.getCurrentParticipantCount());
 
@@ -106,23 +101,19 @@ public class AiGameRoomService {
      */
     @Transactional
     public void leaveAiGameRoom(String aiGameRoomId, String participantId) {
-        AiGameRoom room = aiGameRoomRepository.findById(aiGameRoomId)
-                .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
-
-        if (!room.getParticipants().contains(participantId)) {
-            throw new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_PARTICIPATING);
-        }
-
-        room.getParticipants().remove(participantId);
-        room.setLastActivity(LocalDateTime.now());
+        AiGameRoom room = aiGameRoomRepository
+                .removeParticipant(aiGameRoomId, participantId, LocalDateTime.now())
+                .orElseThrow(() -> {
+                    validateGameRoomExists(aiGameRoomId);
+                    return new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_PARTICIPATING);
+                });
 
         // 참여자가 모두 나가면 게임 종료
-        if (room.getParticipants().isEmpty()) {
-            room.setStatus(AiGameStatus.COMPLETED);
-            room.setCurrentPhase(AiGamePhase.GAME_END);
+        if (room.getParticipants() == null || room.getParticipants().isEmpty()) {
+            room = aiGameRoomRepository.completeIfEmpty(aiGameRoomId).orElse(room);
         }
+        applyUpdate(room);
 
-        aiGameRoomRepository.save(room);
         log.info("AI 게임방 퇴장 완료: roomId={}, participant={}, remainingCount={}", 
                  room.getId(), participantId, room.getCurrentParticipantCount());
     }
@@ -131,8 +122,7 @@ public class AiGameRoomService {
      * 특정 AI 게임방 조회
      */
     public AiGameRoomResponse getAiGameRoom(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomRepository.findById(aiGameRoomId)
-                .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
+        AiGameRoom room = getGameRoomEntity(aiGameRoomId);
         
         return AiGameRoomResponse.fromEntity(room);
     }
@@ -188,13 +178,8 @@ public class AiGameRoomService {
      */
     @Transactional
     public AiGameRoomResponse updateGamePhase(String aiGameRoomId, AiGamePhase newPhase) {
-        AiGameRoom room = aiGameRoomRepository.findById(aiGameRoomId)
+        AiGameRoom saved = updatePhase(aiGameRoomId, null, newPhase)
                 .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
-
-        room.setCurrentPhase(newPhase);
-        room.setLastActivity(LocalDateTime.now());
-
-        AiGameRoom saved = aiGameRoomRepository.save(room);
         log.info("AI 게임방 페이즈 업데이트: roomId={}, newPhase={}", aiGameRoomId, newPhase);
 
         return AiGameRoomResponse.fromEntity(saved);
@@ -205,19 +190,98 @@ public class AiGameRoomService {
      */
     @Transactional
     public AiGameRoomResponse nextTurn(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomRepository.findById(aiGameRoomId)
+        AiGameRoom saved = incrementTurn(aiGameRoomId, null)
                 .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
-
-        room.setCurrentTurn(room.getCurrentTurn() + 1);
-        room.setCurrentPhase(AiGamePhase.TURN_INPUT);
-        room.setLastActivity(LocalDateTime.now());
-
-        AiGameRoom saved = aiGameRoomRepository.save(room);
         log.info("AI 게임방 턴 증가: roomId={}, newTurn={}", aiGameRoomId, saved.getCurrentTurn());
 
         return AiGameRoomResponse.fromEntity(saved);
     }
 
+    /**
+     * 상태 전환 (현재 상태가 expected일 때만, 필드 단위 원자적 갱신 후 캐시 반영)
+     *
+     * @return 갱신된 게임방, 게임방이 없거나 상태가 다르면 empty
+     */
+    @Transactional
+    public Optional<AiGameRoom> updateStatus(String aiGameRoomId, AiGameStatus expected,
+                                             AiGameStatus newStatus, AiGamePhase newPhase) {
+        return aiGameRoomRepository
+                .updateStatus(aiGameRoomId, expected, newStatus, newPhase, LocalDateTime.now())
+                .map(this::applyUpdate);
+    }
+
+    /**
+     * phase 변경 (requiredStatus가 null이 아니면 해당 상태일 때만)
+     */
+    @Transactional
+    public Optional<AiGameRoom> updatePhase(String aiGameRoomId, AiGameStatus requiredStatus, AiGamePhase newPhase) {
+        return aiGameRoomRepository
+                .updatePhase(aiGameRoomId, requiredStatus, newPhase, LocalDateTime.now())
+                .map(this::applyUpdate);
+    }
+
+    /**
+     * 턴 증가 + TURN_INPUT 전환 ($inc, requiredStatus가 null이 아니면 해당 상태일 때만)
+     */
+    @Transactional
+    public Optional<AiGameRoom> incrementTurn(String aiGameRoomId, AiGameStatus requiredStatus) {
+        return aiGameRoomRepository
+                .incrementTurn(aiGameRoomId, requiredStatus, LocalDateTime.now())
+                .map(this::applyUpdate);
+    }
+
+    /**
+     * 마지막 활동 시간 갱신 (메모리에 기록 후 주기적으로 한 번에 반영, 메시지 처리 경로에서 MongoDB 쓰기 없음)
+     */
+    public void touchLastActivity(String aiGameRoomId) {
+        LocalDateTime now = LocalDateTime.now();
+        aiRoomActivityTracker.touch(aiGameRoomId, now);
+        aiGameRoomCache.touchLocal(aiGameRoomId, now);
+    }
+
+    /**
+     * 최근 활동한 AI 게임방 목록 조회 (활동 sorted set 기준, 최신 순)
+     */
+    public List<AiGameRoomResponse> getRecentlyActiveRooms(int limit) {
+        List<String> roomIds = aiRoomActivityTracker.findRecentlyActive(limit);
+        Map<String, AiGameRoom> rooms = new HashMap<>();
+        aiGameRoomRepository.findAllById(roomIds).forEach(room -> rooms.put(room.getId(), room));
+
+        return roomIds.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .map(AiGameRoomResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 조건부 갱신이 실패한 게임방의 오류 판별 (없음 / 상태 불일치)
+     */
+    public AiChatException stateConflict(String aiGameRoomId) {
+        return aiGameRoomRepository.existsById(aiGameRoomId)
+                ? new AiChatException(ErrorCode.AI_GAME_ROOM_INVALID_STATE)
+                : new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND);
+    }
+
+    /**
+     * 갱신된 게임방을 캐시와 활동 추적에 반영
+     */
+    private AiGameRoom applyUpdate(AiGameRoom updated) {
+        if (updated.getLastActivity() != null) {
+            aiRoomActivityTracker.touch(updated.getId(), updated.getLastActivity());
+        }
+        return aiGameRoomCache.put(updated);
+    }
+
+    private AiChatException joinFailure(String aiGameRoomId, String participantId) {
+        AiGameRoom room = aiGameRoomRepository.findById(aiGameRoomId)
+                .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
+        if (room.getParticipants() != null && room.getParticipants().contains(participantId)) {
+            return new AiChatException(ErrorCode.AI_GAME_ROOM_ALREADY_JOINED);
+        }
+        return new AiChatException(ErrorCode.AI_GAME_ROOM_CANNOT_JOIN);
+    }
+
     private void validateCreator(String creatorId) {
         memberRepository.findById(creatorId)
                 .orElseThrow(() -> new AiChatException(ErrorCode.MEMBER_NOT_FOUND));
@@ -237,10 +301,26 @@ public class AiGameRoomService {
      * @throws AiChatException 게임방을 찾을 수 없는 경우
      */
     public AiGameRoom getGameRoomEntity(String aiGameRoomId) {
-        return aiGameRoomRepository.findById(aiGameRoomId)
+        return aiGameRoomCache.find(aiGameRoomId)
                 .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
     }
 
+    /**
+     * 게임방 엔티티 저장 (공통 메서드)
+     * 로컬 캐시 write-through 및 다른 노드 캐시 무효화를 함께 처리한다.
+     *
+     * @param room 저장할 게임방 엔티티
+     * @return 저장된 AiGameRoom 엔티티
+     */
+    @Transactional
+    public AiGameRoom saveGameRoom(AiGameRoom room) {
+        AiGameRoom saved = aiGameRoomCache.save(room);
+        if (saved.getLastActivity() != null) {
+            aiRoomActivityTracker.touch(saved.getId(), saved.getLastActivity());
+        }
+        return saved;
+    }
+
     /**
      * 게임방 존재 여부만 확인 (가벼운 검증용)
      * 
@@ -248,7 +328,7 @@ public class AiGameRoomService {
      * @throws AiChatException 게임방을 찾을 수 없는 경우
      */
     public void validateGameRoomExists(String aiGameRoomId) {
-        if (!aiGameRoomRepository.existsById(aiGameRoomId)) {
+        if (aiGameRoomCache.find(aiGameRoomId).isEmpty()) {
             throw new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND);
         }
     }
@@ -1,25 +1,30 @@
 package org.com.dungeontalk.domain.aichat.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
 import org.com.dungeontalk.domain.aichat.common.AiGameStatus;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
 import org.com.dungeontalk.domain.aichat.dto.SessionDataDto;
 import org.com.dungeontalk.domain.aichat.dto.response.AiGameRoomResponse;
 import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
-import org.com.dungeontalk.domain.aichat.repository.AiGameRoomRepository;
 import org.com.dungeontalk.domain.auth.service.ValkeyService;
 import org.com.dungeontalk.global.exception.ErrorCode;
 import org.com.dungeontalk.global.exception.customException.AiChatException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 @Slf4j
 @Service
@@ -27,34 +32,44 @@ import java.util.Set;
 @Transactional(readOnly = true)
 public class AiGameStateService {
 
-    private final AiGameRoomRepository aiGameRoomRepository;
     private final ValkeyService valkeyService;
     private final AiGameRoomService aiGameRoomService;
-    private final ObjectMapper objectMapper;
+    private final AiGameRoomCache aiGameRoomCache;
+    private final AiTurnLock aiTurnLock;
+    private final AiTurnFence aiTurnFence;
+    private final AiRoomActivityTracker aiRoomActivityTracker;
+    private final AiChatProperties aiChatProperties;
+
+    // 세션 조회 로컬 캐시 (aichat.session.local-cache-ttl-ms > 0일 때만 사용)
+    private Cache<String, SessionDataDto> sessionCache;
 
     // 상수들을 AiChatConstants로 이동
 
+    @PostConstruct
+    public void init() {
+        long ttlMs = aiChatProperties.getSession().getLocalCacheTtlMs();
+        if (ttlMs > 0) {
+            sessionCache = Caffeine.newBuilder()
+                    .maximumSize(aiChatProperties.getSession().getLocalCacheMaxSize())
+                    .expireAfterWrite(Duration.ofMillis(ttlMs))
+                    .build();
+        }
+    }
+
     /**
      * 게임 세션 시작
      */
     @Transactional
     public AiGameRoomResponse startGameSession(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-
-        if (room.getStatus() != AiGameStatus.CREATED) {
-            throw new AiChatException(ErrorCode.AI_GAME_ROOM_INVALID_STATE);
-        }
-
-        // MongoDB에서 게임 상태 변경
-        room.setStatus(AiGameStatus.ACTIVE);
-        room.setCurrentPhase(AiGamePhase.TURN_INPUT);
-        room.setLastActivity(LocalDateTime.now());
-
-        AiGameRoom saved = aiGameRoomRepository.save(room);
+        // MongoDB에서 게임 상태 변경 (CREATED일 때만)
+        AiGameRoom saved = aiGameRoomService
+                .updateStatus(aiGameRoomId, AiGameStatus.CREATED, AiGameStatus.ACTIVE, AiGamePhase.TURN_INPUT)
+                .orElseThrow(() -> aiGameRoomService.stateConflict(aiGameRoomId));
 
-        // Valkey에 게임 세션 정보 저장
-        String sessionKey = AI_GAME_SESSION_PREFIX + aiGameRoomId;
-        valkeyService.setWithExpiration(sessionKey, createSessionData(saved), DEFAULT_SESSION_TIMEOUT_SECONDS);
+        // Valkey에 게임 세션 정보 저장 (hash)
+        valkeyService.putHashWithExpiration(sessionKey(aiGameRoomId), toSessionData(saved).toHash(),
+                DEFAULT_SESSION_TIMEOUT_SECONDS);
+        invalidateSessionCache(aiGameRoomId);
 
         log.info("AI 게임 세션 시작: roomId={}, participants={}", 
                  aiGameRoomId, saved.getParticipants());
@@ -67,19 +82,11 @@ public class AiGameStateService {
      */
     @Transactional
     public void changePhase(String aiGameRoomId, AiGamePhase newPhase) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
+        aiGameRoomService.updatePhase(aiGameRoomId, AiGameStatus.ACTIVE, newPhase)
+                .orElseThrow(() -> aiGameRoomService.stateConflict(aiGameRoomId));
 
-        if (room.getStatus() != AiGameStatus.ACTIVE) {
-            throw new AiChatException(ErrorCode.AI_GAME_ROOM_INVALID_STATE);
-        }
-
-        room.setCurrentPhase(newPhase);
-        room.setLastActivity(LocalDateTime.now());
-
-        aiGameRoomRepository.save(room);
-
-        // Valkey 세션 정보 업데이트
-        updateSessionPhase(aiGameRoomId, newPhase);
+        // Valkey 세션 정보 업데이트 (phase 필드만)
+        updateSessionFields(aiGameRoomId, Map.of(SessionDataDto.FIELD_PHASE, newPhase.name()));
 
         log.info("AI 게임 페이즈 변경: roomId={}, newPhase={}", aiGameRoomId, newPhase);
     }
@@ -89,21 +96,14 @@ public class AiGameStateService {
      */
     @Transactional
     public int nextTurn(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-
-        if (room.getStatus() != AiGameStatus.ACTIVE) {
-            throw new IllegalStateException("턴을 진행할 수 없는 게임 상태입니다: " + room.getStatus());
-        }
-
-        int newTurn = room.getCurrentTurn() + 1;
-        room.setCurrentTurn(newTurn);
-        room.setCurrentPhase(AiGamePhase.TURN_INPUT);
-        room.setLastActivity(LocalDateTime.now());
-
-        aiGameRoomRepository.save(room);
+        // 턴 카운터는 MongoDB에서 원자적으로 증가 ($inc, ACTIVE일 때만) 후 Valkey 세션에 반영
+        AiGameRoom room = aiGameRoomService.incrementTurn(aiGameRoomId, AiGameStatus.ACTIVE)
+                .orElseThrow(() -> new IllegalStateException("턴을 진행할 수 없는 게임 상태입니다: roomId=" + aiGameRoomId));
 
-        // Valkey 세션 정보 업데이트
-        updateSessionTurn(aiGameRoomId, newTurn);
+        int newTurn = room.getCurrentTurn();
+        updateSessionFields(aiGameRoomId, Map.of(
+                SessionDataDto.FIELD_TURN, String.valueOf(newTurn),
+                SessionDataDto.FIELD_PHASE, AiGamePhase.TURN_INPUT.name()));
 
         log.info("AI 게임 턴 진행: roomId={}, newTurn={}", aiGameRoomId, newTurn);
         return newTurn;
@@ -111,30 +111,50 @@ public class AiGameStateService {
 
     /**
      * AI 응답 중 상태로 변경 (메시지 블록)
+     * 발급된 fencing token을 AiTurnFence에도 기록해, 이전 토큰으로 도착한 응답은 저장 시점에 거부된다.
      */
-    public boolean lockForAiResponse(String aiGameRoomId) {
-        String lockKey = AI_GAME_TURN_LOCK_PREFIX + aiGameRoomId;
-        boolean locked = valkeyService.setIfNotExists(lockKey, "AI_PROCESSING", DEFAULT_TURN_LOCK_TIMEOUT_SECONDS);
+    public OptionalLong lockForAiResponse(String aiGameRoomId) {
+        OptionalLong token = aiTurnLock.tryAcquire(aiGameRoomId);
 
-        if (locked) {
-            changePhase(aiGameRoomId, AiGamePhase.AI_RESPONSE);
-            log.info("AI 응답 중 락 설정: roomId={}", aiGameRoomId);
-        } else {
+        if (token.isEmpty()) {
             log.warn("AI 응답 중 락 설정 실패 (이미 처리중): roomId={}", aiGameRoomId);
+            return token;
         }
 
-        return locked;
+        try {
+            aiTurnFence.advance(aiGameRoomId, token.getAsLong());
+            changePhase(aiGameRoomId, AiGamePhase.AI_RESPONSE);
+        } catch (RuntimeException e) {
+            aiTurnLock.release(aiGameRoomId, token.getAsLong());
+            throw e;
+        }
+        log.info("AI 응답 중 락 설정: roomId={}, token={}", aiGameRoomId, token.getAsLong());
+        return token;
     }
 
     /**
-     * AI 응답 완료 후 락 해제
+     * AI 응답 완료 후 락 해제 (fencing token이 현재 보유자일 때만)
+     *
+     * @return 해제되었으면 true, lease를 잃은 뒤라면 false (다른 요청의 락과 phase는 건드리지 않음)
      */
-    public void unlockAfterAiResponse(String aiGameRoomId) {
-        String lockKey = AI_GAME_TURN_LOCK_PREFIX + aiGameRoomId;
-        valkeyService.delete(lockKey);
+    public boolean unlockAfterAiResponse(String aiGameRoomId, long token) {
+        if (!aiTurnLock.release(aiGameRoomId, token)) {
+            return false;
+        }
 
         changePhase(aiGameRoomId, AiGamePhase.TURN_INPUT);
-        log.info("AI 응답 완료 락 해제: roomId={}", aiGameRoomId);
+        log.info("AI 응답 완료 락 해제: roomId={}, token={}", aiGameRoomId, token);
+        return true;
+    }
+
+    /**
+     * 턴 종료 요청으로 락 강제 해제 (토큰 없이 - 사용자 조작 경로 전용, AI 응답 처리 경로는 토큰으로 해제)
+     */
+    public void forceUnlockOnTurnEnd(String aiGameRoomId) {
+        aiTurnLock.forceRelease(aiGameRoomId);
+
+        changePhase(aiGameRoomId, AiGamePhase.TURN_INPUT);
+        log.info("턴 종료 요청으로 AI 응답 락 해제: roomId={}", aiGameRoomId);
     }
 
     /**
@@ -142,19 +162,13 @@ public class AiGameStateService {
      */
     @Transactional
     public void endGame(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-
-        room.setStatus(AiGameStatus.COMPLETED);
-        room.setCurrentPhase(AiGamePhase.GAME_END);
-        room.setLastActivity(LocalDateTime.now());
+        aiGameRoomService.updateStatus(aiGameRoomId, null, AiGameStatus.COMPLETED, AiGamePhase.GAME_END)
+                .orElseThrow(() -> new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND));
 
-        aiGameRoomRepository.save(room);
-
-        // Valkey 세션 정보 삭제
-        String sessionKey = AI_GAME_SESSION_PREFIX + aiGameRoomId;
-        String lockKey = AI_GAME_TURN_LOCK_PREFIX + aiGameRoomId;
-        valkeyService.delete(sessionKey);
-        valkeyService.delete(lockKey);
+        // Valkey 세션 정보 삭제 (세션 + 락, DEL 1회)
+        valkeyService.deleteAll(sessionKeys(aiGameRoomId));
+        aiRoomActivityTracker.forget(List.of(aiGameRoomId));
+        invalidateSessionCache(aiGameRoomId);
 
         log.info("AI 게임 종료: roomId={}", aiGameRoomId);
     }
@@ -164,20 +178,12 @@ public class AiGameStateService {
      */
     @Transactional
     public void pauseGame(String aiGameRoomId, String reason) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-
-        if (room.getStatus() != AiGameStatus.ACTIVE) {
-            throw new IllegalStateException("일시정지할 수 없는 게임 상태입니다: " + room.getStatus());
-        }
-
-        room.setStatus(AiGameStatus.PAUSED);
-        room.setLastActivity(LocalDateTime.now());
-
-        aiGameRoomRepository.save(room);
+        aiGameRoomService.updateStatus(aiGameRoomId, AiGameStatus.ACTIVE, AiGameStatus.PAUSED, null)
+                .orElseThrow(() -> new IllegalStateException("일시정지할 수 없는 게임 상태입니다: roomId=" + aiGameRoomId));
 
         // 락 해제 (일시정지 중에는 AI 처리 중단)
-        String lockKey = AI_GAME_TURN_LOCK_PREFIX + aiGameRoomId;
-        valkeyService.delete(lockKey);
+        aiTurnLock.forceRelease(aiGameRoomId);
+        updateSessionFields(aiGameRoomId, Map.of(SessionDataDto.FIELD_STATUS, AiGameStatus.PAUSED.name()));
 
         log.info("AI 게임 일시정지: roomId={}, reason={}", aiGameRoomId, reason);
     }
@@ -187,17 +193,11 @@ public class AiGameStateService {
      */
     @Transactional
     public void resumeGame(String aiGameRoomId) {
-        AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-
-        if (room.getStatus() != AiGameStatus.PAUSED) {
-            throw new AiChatException(ErrorCode.AI_GAME_ROOM_INVALID_STATE);
-        }
-
-        room.setStatus(AiGameStatus.ACTIVE);
-        room.setCurrentPhase(AiGamePhase.TURN_INPUT);
-        room.setLastActivity(LocalDateTime.now());
-
-        aiGameRoomRepository.save(room);
+        aiGameRoomService.updateStatus(aiGameRoomId, AiGameStatus.PAUSED, AiGameStatus.ACTIVE, AiGamePhase.TURN_INPUT)
+                .orElseThrow(() -> aiGameRoomService.stateConflict(aiGameRoomId));
+        updateSessionFields(aiGameRoomId, Map.of(
+                SessionDataDto.FIELD_STATUS, AiGameStatus.ACTIVE.name(),
+                SessionDataDto.FIELD_PHASE, AiGamePhase.TURN_INPUT.name()));
 
         log.info("AI 게임 재개: roomId={}", aiGameRoomId);
     }
@@ -206,8 +206,25 @@ public class AiGameStateService {
      * 세션 유효성 검증
      */
     public boolean isSessionValid(String aiGameRoomId) {
-        String sessionKey = AI_GAME_SESSION_PREFIX + aiGameRoomId;
-        return valkeyService.exists(sessionKey);
+        return getSessionState(aiGameRoomId).isPresent();
+    }
+
+    /**
+     * 게임 세션 조회 (HGETALL, 로컬 캐시 사용 시 캐시 우선)
+     */
+    public Optional<SessionDataDto> getSessionState(String aiGameRoomId) {
+        if (sessionCache != null) {
+            SessionDataDto cached = sessionCache.getIfPresent(aiGameRoomId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        SessionDataDto session = SessionDataDto.fromHash(valkeyService.getHash(sessionKey(aiGameRoomId)));
+        if (session != null && sessionCache != null) {
+            sessionCache.put(aiGameRoomId, session);
+        }
+        return Optional.ofNullable(session);
     }
 
     /**
@@ -222,78 +239,57 @@ public class AiGameStateService {
      * 세션 만료 시간 연장
      */
     public void extendSession(String aiGameRoomId) {
-        String sessionKey = AI_GAME_SESSION_PREFIX + aiGameRoomId;
-        if (valkeyService.exists(sessionKey)) {
-            valkeyService.expire(sessionKey, DEFAULT_SESSION_TIMEOUT_SECONDS);
+        if (valkeyService.expire(sessionKey(aiGameRoomId), DEFAULT_SESSION_TIMEOUT_SECONDS)) {
             log.debug("AI 게임 세션 연장: roomId={}", aiGameRoomId);
         }
     }
 
     /**
-     * 비활성 게임 정리
+     * 종료 처리된 게임방들의 Valkey 세션/락과 로컬 캐시 정리 (비활성 게임 정리용, DEL 1회 + 무효화 발행 1회)
      */
-    @Transactional
-    public void cleanupInactiveGames(int hoursAgo) {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(hoursAgo);
-        List<AiGameRoom> inactiveRooms = aiGameRoomRepository.findByLastActivityBefore(cutoffTime);
-
-        for (AiGameRoom room : inactiveRooms) {
-            if (room.getStatus() == AiGameStatus.ACTIVE || room.getStatus() == AiGameStatus.PAUSED) {
-                room.setStatus(AiGameStatus.COMPLETED);
-                room.setCurrentPhase(AiGamePhase.GAME_END);
-                        
-                // Valkey 정리
-                String sessionKey = AI_GAME_SESSION_PREFIX + room.getId();
-                String lockKey = AI_GAME_TURN_LOCK_PREFIX + room.getId();
-                valkeyService.delete(sessionKey);
-                valkeyService.delete(lockKey);
-            }
-        }
+    public void clearEndedSessions(Collection<String> aiGameRoomIds) {
+        List<String> keys = new ArrayList<>(aiGameRoomIds.size() * 2);
+        aiGameRoomIds.forEach(roomId -> keys.addAll(sessionKeys(roomId)));
+        valkeyService.deleteAll(keys);
+        aiRoomActivityTracker.forget(aiGameRoomIds);
+
+        aiGameRoomCache.invalidateAll(aiGameRoomIds);
+        aiGameRoomIds.forEach(this::invalidateSessionCache);
+    }
 
-        aiGameRoomRepository.saveAll(inactiveRooms);
-        log.info("비활성 AI 게임 정리 완료: {} 개 게임방", inactiveRooms.size());
+    private SessionDataDto toSessionData(AiGameRoom room) {
+        return new SessionDataDto(
+                room.getId(),
+                room.getGameId(),
+                room.getStatus(),
+                room.getCurrentPhase(),
+                room.getCurrentTurn()
+        );
     }
 
-    private String createSessionData(AiGameRoom room) {
-        try {
-            SessionDataDto sessionData = new SessionDataDto(
-                    room.getId(),
-                    room.getGameId(),
-                    room.getStatus(),
-                    room.getCurrentPhase(),
-                    room.getCurrentTurn()
-            );
-            return objectMapper.writeValueAsString(sessionData);
-        } catch (JsonProcessingException e) {
-            log.error("세션 데이터 JSON 변환 실패: {}", e.getMessage());
-            throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, e);
+    /**
+     * 세션이 살아 있을 때만 변경된 필드만 갱신 (HSET + EXPIRE, 왕복 1회)
+     */
+    private void updateSessionFields(String aiGameRoomId, Map<String, String> fields) {
+        if (!valkeyService.updateHashIfExists(sessionKey(aiGameRoomId), fields, DEFAULT_SESSION_TIMEOUT_SECONDS)) {
+            log.debug("만료된 세션은 갱신하지 않음: roomId={}", aiGameRoomId);
         }
+        invalidateSessionCache(aiGameRoomId);
     }
 
-    private void updateSessionPhase(String aiGameRoomId, AiGamePhase newPhase) {
-        String sessionKey = AI_GAME_SESSION_PREFIX + aiGameRoomId;
-        if (valkeyService.exists(sessionKey)) {
-            String sessionData = valkeyService.get(sessionKey);
-            // JSON 업데이트 로직 (간단하게 재생성)
-            try {
-                AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-                valkeyService.setWithExpiration(sessionKey, createSessionData(room), DEFAULT_SESSION_TIMEOUT_SECONDS);
-            } catch (AiChatException e) {
-                log.warn("세션 업데이트 중 게임방을 찾을 수 없음: {}", aiGameRoomId);
-            }
+    private void invalidateSessionCache(String aiGameRoomId) {
+        if (sessionCache != null) {
+            sessionCache.invalidate(aiGameRoomId);
         }
     }
 
-    private void updateSessionTurn(String aiGameRoomId, int newTurn) {
-        String sessionKey = AI_GAME_SESSION_PREFIX + aiGameRoomId;
-        if (valkeyService.exists(sessionKey)) {
-            try {
-                AiGameRoom room = aiGameRoomService.getGameRoomEntity(aiGameRoomId);
-                valkeyService.setWithExpiration(sessionKey, createSessionData(room), DEFAULT_SESSION_TIMEOUT_SECONDS);
-            } catch (AiChatException e) {
-                log.warn("세션 업데이트 중 게임방을 찾을 수 없음: {}", aiGameRoomId);
-            }
-        }
+    private static String sessionKey(String aiGameRoomId) {
+        return AI_GAME_SESSION_PREFIX + aiGameRoomId;
+    }
+
+    private static List<String> sessionKeys(String aiGameRoomId) {
+        return List.of(sessionKey(aiGameRoomId), AI_GAME_TURN_LOCK_PREFIX + aiGameRoomId,
+                AI_GAME_CONTEXT_PREFIX + aiGameRoomId, AI_GAME_CONTEXT_VERSION_PREFIX + aiGameRoomId);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
+import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.com.dungeontalk.global.rsData.RsData;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_GENERATION_PREFIX;
+
+/**
+ * (게임방, 턴) 단위 AI 응답 생성 single-flight
+ *
+ * - 같은 노드의 동시 요청은 진행 중인 생성 future를 함께 기다린다.
+ * - 노드 간에는 Valkey 키(SET NX)로 한 노드만 생성하고, 나머지는 완료 알림(pub/sub)을 기다린다.
+ * - 성공 결과는 aichat.generation.result-ttl-seconds 동안 남겨 두어 늦게 도착한 요청도 같은 결과를 받는다.
+ *   (실패 결과는 남기지 않으므로 이후 요청은 다시 생성을 시도한다)
+ * - 지표: aichat.generation.requests(role=leader/local_follower/remote_follower/cached)
+ */
+@Slf4j
+@Component
+public class AiGenerationCoalescer implements MessageListener {
+
+    private static final String DONE_CHANNEL = "aichat.generation.done";
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+    private static final String SEPARATOR = "|";
+
+    private final RedisTemplate<String, String> sessionRedis;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AiGameMessageRepository aiGameMessageRepository;
+    private final AiChatProperties aiChatProperties;
+    private final NodeIdentity nodeIdentity;
+
+    // 이 노드에서 진행 중이거나 기다리는 생성 ("{roomId}:{turn}" -> 결과)
+    private final Map<String, CompletableFuture<RsData<AiGameMessageResponse>>> inflight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCounter;
+    private final Counter localFollowerCounter;
+    private final Counter remoteFollowerCounter;
+    private final Counter cachedCounter;
+
+    public AiGenerationCoalescer(
+            @Qualifier("sessionRedisTemplate") RedisTemplate<String, String> sessionRedis,
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            AiGameMessageRepository aiGameMessageRepository,
+            AiChatProperties aiChatProperties,
+            NodeIdentity nodeIdentity,
+            MeterRegistry meterRegistry) {
+        this.sessionRedis = sessionRedis;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.aiGameMessageRepository = aiGameMessageRepository;
+        this.aiChatProperties = aiChatProperties;
+        this.nodeIdentity = nodeIdentity;
+        this.leaderCounter = requestCounter(meterRegistry, "leader");
+        this.localFollowerCounter = requestCounter(meterRegistry, "local_follower");
+        this.remoteFollowerCounter = requestCounter(meterRegistry, "remote_follower");
+        this.cachedCounter = requestCounter(meterRegistry, "cached");
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(DONE_CHANNEL));
+    }
+
+    /**
+     * (게임방, 턴)의 AI 응답 생성 - 진행 중인 생성이 있으면 그 결과를, 없으면 leader로 생성한 결과를 반환
+     *
+     * @param generation 이 노드가 생성을 맡았을 때 실행할 작업
+     */
+    public CompletableFuture<RsData<AiGameMessageResponse>> execute(
+            String aiGameRoomId, int turnNumber, Supplier<CompletableFuture<RsData<AiGameMessageResponse>>> generation) {
+
+        String flightKey = aiGameRoomId + ":" + turnNumber;
+        CompletableFuture<RsData<AiGameMessageResponse>> result = new CompletableFuture<>();
+        CompletableFuture<RsData<AiGameMessageResponse>> existing = inflight.putIfAbsent(flightKey, result);
+        if (existing != null) {
+            localFollowerCounter.increment();
+            return existing;
+        }
+        result.whenComplete((response, e) -> inflight.remove(flightKey, result));
+
+        AiChatProperties.Generation config = aiChatProperties.getGeneration();
+        String resultKey = resultKey(aiGameRoomId, turnNumber);
+        String state;
+        try {
+            if (Boolean.TRUE.equals(sessionRedis.opsForValue()
+                    .setIfAbsent(resultKey, PENDING, Duration.ofMillis(config.getFollowerTimeoutMs())))) {
+                leaderCounter.increment();
+                lead(aiGameRoomId, turnNumber, resultKey, generation, result);
+                return result;
+            }
+            // 다른 노드가 생성 중이거나 이미 완료 - 알림 대기(inflight) 등록 후 상태를 확인하므로 알림을 놓치지 않는다
+            state = sessionRedis.opsForValue().get(resultKey);
+        } catch (DataAccessException e) {
+            // Valkey 장애 시 노드 내 병합만 유지하고 바로 생성
+            log.warn("AI 응답 생성 병합 실패, 직접 생성: roomId={}, turn={}, error={}",
+                     aiGameRoomId, turnNumber, e.getMessage());
+            leaderCounter.increment();
+            start(generation).whenComplete((response, error) -> completeWith(result, response, error));
+            return result;
+        }
+
+        if (state != null && state.startsWith(DONE + SEPARATOR)) {
+            cachedCounter.increment();
+            try {
+                result.complete(toResponse(state.substring(DONE.length() + 1)));
+            } catch (Exception e) {
+                // 완료되지 않은 future가 inflight에 남으면 이후 요청이 모두 여기에 묶인다.
+                log.warn("저장된 AI 응답 생성 결과 처리 실패: roomId={}, turn={}, error={}",
+                         aiGameRoomId, turnNumber, e.getMessage());
+                result.complete(RsData.of("500-1", ErrorCode.AI_RESPONSE_PROCESSING_ERROR.getMessage()));
+            }
+        } else if (PENDING.equals(state)) {
+            remoteFollowerCounter.increment();
+            result.completeOnTimeout(RsData.of("500-1", ErrorCode.AI_RESPONSE_TIMEOUT_ERROR.getMessage()),
+                    config.getFollowerTimeoutMs(), TimeUnit.MILLISECONDS);
+        } else {
+            // 그 사이 생성이 실패로 끝남 - 기존과 같이 재시도하도록 응답
+            result.complete(RsData.of("400-1", "AI 응답이 이미 처리 중입니다"));
+        }
+        return result;
+    }
+
+    private void lead(String aiGameRoomId, int turnNumber, String resultKey,
+                      Supplier<CompletableFuture<RsData<AiGameMessageResponse>>> generation,
+                      CompletableFuture<RsData<AiGameMessageResponse>> result) {
+        start(generation).whenComplete((response, error) -> {
+            try {
+                publishResult(aiGameRoomId, turnNumber, resultKey, error == null ? response : null);
+            } catch (Exception e) {
+                log.warn("AI 응답 생성 결과 전파 실패: roomId={}, turn={}, error={}",
+                         aiGameRoomId, turnNumber, e.getMessage());
+            }
+            completeWith(result, response, error);
+        });
+    }
+
+    private static CompletableFuture<RsData<AiGameMessageResponse>> start(
+            Supplier<CompletableFuture<RsData<AiGameMessageResponse>>> generation) {
+        try {
+            return generation.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 결과 저장 + 다른 노드 대기자에게 알림 ("{nodeId}|{roomId}|{turn}|{resultCode}|{messageId}|{msg}")
+     */
+    private void publishResult(String aiGameRoomId, int turnNumber, String resultKey,
+                               RsData<AiGameMessageResponse> response) {
+        String resultCode = response != null ? response.getResultCode() : "500-1";
+        String message = response != null ? response.getMsg() : ErrorCode.AI_RESPONSE_PROCESSING_ERROR.getMessage();
+        Object data = response != null ? response.getData() : null;
+        String messageId = data instanceof AiGameMessageResponse generated && generated.getMessageId() != null
+                ? generated.getMessageId() : "";
+        String encoded = String.join(SEPARATOR, resultCode, messageId, message);
+
+        if (!messageId.isEmpty() && resultCode.startsWith("200")) {
+            sessionRedis.opsForValue().set(resultKey, DONE + SEPARATOR + encoded,
+                    Duration.ofSeconds(aiChatProperties.getGeneration().getResultTtlSeconds()));
+        } else {
+            sessionRedis.delete(resultKey);
+        }
+
+        stringRedisTemplate.convertAndSend(DONE_CHANNEL,
+                String.join(SEPARATOR, nodeIdentity.getNodeId(), aiGameRoomId, String.valueOf(turnNumber), encoded));
+    }
+
+    /**
+     * 다른 노드의 생성 완료 알림 수신 - 이 노드에서 기다리는 요청이 있으면 같은 결과로 완료
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeIdentity.isSelf(parts[0])) {
+            return;
+        }
+
+        CompletableFuture<RsData<AiGameMessageResponse>> waiting = inflight.get(parts[1] + ":" + parts[2]);
+        if (waiting == null || waiting.isDone()) {
+            return;
+        }
+        try {
+            waiting.complete(toResponse(parts[3]));
+        } catch (Exception e) {
+            log.warn("AI 응답 생성 완료 알림 처리 실패: roomId={}, error={}", parts[1], e.getMessage());
+            waiting.complete(RsData.of("500-1", ErrorCode.AI_RESPONSE_PROCESSING_ERROR.getMessage()));
+        }
+    }
+
+    /**
+     * "{resultCode}|{messageId}|{msg}" -> 응답 (성공이면 저장된 AI 메시지를 조회해 담는다)
+     */
+    private RsData<AiGameMessageResponse> toResponse(String encoded) {
+        String[] parts = encoded.split("\\|", 3);
+        String resultCode = parts[0];
+        String messageId = parts.length > 1 ? parts[1] : "";
+        String msg = parts.length > 2 ? parts[2] : "";
+
+        if (messageId.isEmpty()) {
+            return RsData.of(resultCode, msg);
+        }
+        return aiGameMessageRepository.findById(messageId)
+                .map(saved -> RsData.of(resultCode, msg, AiGameMessageResponse.fromEntity(saved)))
+                .orElseGet(() -> RsData.of(resultCode, msg));
+    }
+
+    private static void completeWith(CompletableFuture<RsData<AiGameMessageResponse>> result,
+                                     RsData<AiGameMessageResponse> response, Throwable error) {
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(response);
+        }
+    }
+
+    private static String resultKey(String aiGameRoomId, int turnNumber) {
+        return AI_GAME_GENERATION_PREFIX + aiGameRoomId + ":" + turnNumber;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("aichat.generation.requests")
+                .description("AI 응답 생성 요청 수 (single-flight 역할별)")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,347 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.common.AiGenerationJobStatus;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.dto.request.AiGenerateRequest;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGenerationJobResponse;
+import org.com.dungeontalk.domain.auth.service.ValkeyService;
+import org.com.dungeontalk.global.rsData.RsData;
+import org.com.dungeontalk.global.util.UuidV7Creator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
+
+/**
+ * AI 응답 생성 작업 큐 (Valkey Stream + consumer group)
+ *
+ * - /generate 요청은 작업을 stream에 추가(XADD)하고 작업 ID만 돌려받는다.
+ * - worker(AiGenerationJobWorker)는 consumer group으로 작업을 나눠 읽고(XREADGROUP), 처리 후 ack(XACK)한다.
+ * - ack되지 않은 작업(worker 중단)은 aichat.job.claim-idle-ms 후 다른 consumer가 가져간다(XCLAIM).
+ * - 재시도는 시도 횟수를 올려 다시 추가하고, 최대 시도 횟수를 넘긴 작업은 dead letter stream으로 옮긴다.
+ * - 작업 stream은 모든 consumer가 ack한 항목만 지우고(trimAcknowledged), dead letter stream은 길이로 자른다.
+ * - 작업 상태는 ai_generation_job:{jobId} hash에 aichat.job.status-ttl-seconds 동안 남는다.
+ * - 지표: aichat.generation.jobs(result=enqueued)
+ */
+@Slf4j
+@Component
+public class AiGenerationJobQueue {
+
+    private static final String BUSY_GROUP = "BUSYGROUP";
+
+    /**
+     * 가장 오래된 미확인(pending) 항목 이전까지 삭제, 미확인 항목이 없으면 마지막으로 전달된 항목 이전까지 삭제
+     * (XTRIM MINID ~ 는 기준보다 적게 지울 수는 있어도 기준 이후 항목은 지우지 않는다)
+     */
+    static final RedisScript<Long> TRIM_ACKNOWLEDGED_SCRIPT = new DefaultRedisScript<>(
+            "local minId = redis.call('XPENDING', KEYS[1], ARGV[1])[2] " +
+            "if not minId then " +
+            "  for _, group in ipairs(redis.call('XINFO', 'GROUPS', KEYS[1])) do " +
+            "    local fields = {} " +
+            "    for i = 1, #group, 2 do fields[group[i]] = group[i + 1] end " +
+            "    if fields['name'] == ARGV[1] then minId = fields['last-delivered-id'] end " +
+            "  end " +
+            "end " +
+            "if not minId or minId == '0-0' then return 0 end " +
+            "return redis.call('XTRIM', KEYS[1], 'MINID', '~', minId)",
+            Long.class);
+
+    private final RedisTemplate<String, String> sessionRedis;
+    private final ValkeyService valkeyService;
+    private final AiChatProperties aiChatProperties;
+
+    private final Counter enqueuedCounter;
+
+    public AiGenerationJobQueue(
+            @Qualifier("sessionRedisTemplate") RedisTemplate<String, String> sessionRedis,
+            ValkeyService valkeyService,
+            AiChatProperties aiChatProperties,
+            MeterRegistry meterRegistry) {
+        this.sessionRedis = sessionRedis;
+        this.valkeyService = valkeyService;
+        this.aiChatProperties = aiChatProperties;
+        this.enqueuedCounter = Counter.builder("aichat.generation.jobs")
+                .description("AI 응답 생성 작업 처리 결과별 수")
+                .tag("result", "enqueued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * stream에서 읽은 작업
+     *
+     * @param attempt    몇 번째 시도인지 (재시도 시 다시 추가되며 증가)
+     * @param deliveries 같은 항목이 전달된 횟수 (worker 중단으로 다른 consumer가 가져가면 증가)
+     */
+    public record Job(RecordId recordId, String jobId, String aiGameRoomId, AiGenerateRequest request,
+                      int attempt, long deliveries) {
+    }
+
+    /**
+     * 작업 등록 (상태 hash 저장 후 stream에 추가)
+     */
+    public AiGenerationJobResponse enqueue(String aiGameRoomId, AiGenerateRequest request) {
+        String jobId = UuidV7Creator.create();
+
+        Map<String, String> status = new HashMap<>();
+        status.put("aiGameRoomId", aiGameRoomId);
+        status.put("turnNumber", String.valueOf(request.getTurnNumber()));
+        status.put("status", AiGenerationJobStatus.QUEUED.name());
+        status.put("attempts", "0");
+        valkeyService.putHashWithExpiration(jobKey(jobId), status, aiChatProperties.getJob().getStatusTtlSeconds());
+
+        add(AI_GENERATION_JOB_STREAM_KEY, jobFields(jobId, aiGameRoomId, request, 1));
+        enqueuedCounter.increment();
+
+        log.debug("AI 응답 생성 작업 등록: jobId={}, roomId={}, turn={}", jobId, aiGameRoomId, request.getTurnNumber());
+        return AiGenerationJobResponse.fromHash(jobId, status);
+    }
+
+    /**
+     * 작업 상태 조회 (보관 시간이 지났거나 없는 작업이면 empty)
+     */
+    public Optional<AiGenerationJobResponse> find(String jobId) {
+        Map<String, String> fields = valkeyService.getHash(jobKey(jobId));
+        return fields.isEmpty() ? Optional.empty() : Optional.of(AiGenerationJobResponse.fromHash(jobId, fields));
+    }
+
+    /**
+     * consumer group 생성 (stream이 없으면 함께 생성, 이미 있으면 무시)
+     */
+    public void ensureGroup() {
+        try {
+            streamOps().createGroup(AI_GENERATION_JOB_STREAM_KEY, ReadOffset.from("0"), AI_GENERATION_JOB_GROUP);
+            log.info("AI 응답 생성 작업 consumer group 생성: {}", AI_GENERATION_JOB_GROUP);
+        } catch (DataAccessException e) {
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains(BUSY_GROUP)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 새 작업 읽기 (없으면 block 동안 대기)
+     */
+    public List<Job> read(String consumer, int count, Duration block) {
+        List<MapRecord<String, String, String>> records = streamOps().read(
+                Consumer.from(AI_GENERATION_JOB_GROUP, consumer),
+                StreamReadOptions.empty().count(count).block(block),
+                StreamOffset.create(AI_GENERATION_JOB_STREAM_KEY, ReadOffset.lastConsumed()));
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+
+        List<Job> jobs = new ArrayList<>(records.size());
+        for (MapRecord<String, String, String> record : records) {
+            jobs.add(toJob(record, 1));
+        }
+        return jobs;
+    }
+
+    /**
+     * claim-idle-ms 이상 ack되지 않은 작업을 consumer로 가져오기 (중단된 worker의 작업 복구)
+     */
+    public List<Job> claimStale(String consumer, int count) {
+        Duration minIdle = Duration.ofMillis(aiChatProperties.getJob().getClaimIdleMs());
+        PendingMessages pending = streamOps().pending(AI_GENERATION_JOB_STREAM_KEY, AI_GENERATION_JOB_GROUP,
+                Range.unbounded(), count);
+        if (pending == null || pending.isEmpty()) {
+            return List.of();
+        }
+
+        Map<RecordId, Long> deliveries = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                deliveries.put(message.getId(), message.getTotalDeliveryCount() + 1);
+            }
+        }
+        if (deliveries.isEmpty()) {
+            return List.of();
+        }
+
+        // 같은 항목을 다른 노드가 먼저 가져갔으면 minIdle 조건에 걸려 빠진다.
+        List<MapRecord<String, String, String>> claimed = streamOps().claim(AI_GENERATION_JOB_STREAM_KEY,
+                AI_GENERATION_JOB_GROUP, consumer,
+                XClaimOptions.minIdle(minIdle).ids(deliveries.keySet().toArray(RecordId[]::new)));
+
+        List<Job> jobs = new ArrayList<>(claimed.size());
+        for (MapRecord<String, String, String> record : claimed) {
+            jobs.add(toJob(record, deliveries.getOrDefault(record.getId(), 1L)));
+        }
+        return jobs;
+    }
+
+    /**
+     * 처리 시작 표시
+     */
+    public void markRunning(Job job) {
+        updateStatus(job.jobId(), Map.of(
+                "status", AiGenerationJobStatus.RUNNING.name(),
+                "attempts", String.valueOf(job.attempt())));
+    }
+
+    /**
+     * 작업 종료 (완료/재시도 불가 실패) - 상태 기록 후 ack
+     */
+    public AiGenerationJobResponse finish(Job job, AiGenerationJobStatus status, RsData<AiGameMessageResponse> result) {
+        Object data = result.getData();
+        String messageId = data instanceof AiGameMessageResponse message ? message.getMessageId() : null;
+        AiGenerationJobResponse response = response(job, status, result.getResultCode(), result.getMsg(), messageId);
+        recordResult(response);
+        acknowledge(job);
+        return response;
+    }
+
+    /**
+     * 시도 횟수를 올려 다시 등록한 뒤 현재 항목 ack (추가 후 ack 사이에 중단되면 같은 작업이 두 번 처리될 수 있으나,
+     * 같은 게임방/턴의 생성은 AiGenerationCoalescer가 한 번으로 병합한다)
+     */
+    public void retry(Job job, RsData<AiGameMessageResponse> result) {
+        add(AI_GENERATION_JOB_STREAM_KEY, jobFields(job.jobId(), job.aiGameRoomId(), job.request(), job.attempt() + 1));
+        recordResult(response(job, AiGenerationJobStatus.QUEUED, result.getResultCode(), result.getMsg(), null));
+        acknowledge(job);
+    }
+
+    /**
+     * dead letter stream으로 이동 후 ack
+     */
+    public AiGenerationJobResponse deadLetter(Job job, String resultCode, String msg) {
+        Map<String, String> fields = jobFields(job.jobId(), job.aiGameRoomId(), job.request(), job.attempt());
+        fields.put("resultCode", resultCode);
+        fields.put("msg", msg);
+        fields.put("deliveries", String.valueOf(job.deliveries()));
+        add(AI_GENERATION_JOB_DEAD_LETTER_KEY, fields);
+        // dead letter stream은 읽는 consumer가 없으므로 길이로 자른다.
+        streamOps().trim(AI_GENERATION_JOB_DEAD_LETTER_KEY, aiChatProperties.getJob().getDeadLetterMaxLength(), true);
+
+        AiGenerationJobResponse response = response(job, AiGenerationJobStatus.DEAD_LETTERED, resultCode, msg, null);
+        recordResult(response);
+        acknowledge(job);
+
+        log.warn("AI 응답 생성 작업 dead letter 이동: jobId={}, roomId={}, attempt={}, deliveries={}, result={}",
+                 job.jobId(), job.aiGameRoomId(), job.attempt(), job.deliveries(), resultCode);
+        return response;
+    }
+
+    private void add(String streamKey, Map<String, String> fields) {
+        streamOps().add(StreamRecords.newRecord().in(streamKey).ofMap(fields));
+    }
+
+    /**
+     * 모든 consumer가 ack한 항목만 작업 stream에서 삭제
+     * (MAXLEN으로 자르면 아직 전달되지 않은 작업까지 지워질 수 있다)
+     *
+     * @return 삭제된 항목 수
+     */
+    public long trimAcknowledged() {
+        Long trimmed = sessionRedis.execute(TRIM_ACKNOWLEDGED_SCRIPT, List.of(AI_GENERATION_JOB_STREAM_KEY),
+                AI_GENERATION_JOB_GROUP);
+        return trimmed != null ? trimmed : 0L;
+    }
+
+    private void acknowledge(Job job) {
+        streamOps().acknowledge(AI_GENERATION_JOB_STREAM_KEY, AI_GENERATION_JOB_GROUP, job.recordId());
+    }
+
+    private void recordResult(AiGenerationJobResponse response) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", response.getStatus().name());
+        fields.put("attempts", String.valueOf(response.getAttempts()));
+        fields.put("resultCode", response.getResultCode() != null ? response.getResultCode() : "");
+        fields.put("msg", response.getMsg() != null ? response.getMsg() : "");
+        if (response.getMessageId() != null) {
+            fields.put("messageId", response.getMessageId());
+        }
+        updateStatus(response.getJobId(), fields);
+    }
+
+    private void updateStatus(String jobId, Map<String, String> fields) {
+        try {
+            valkeyService.updateHashIfExists(jobKey(jobId), fields, aiChatProperties.getJob().getStatusTtlSeconds());
+        } catch (Exception e) {
+            // 상태 기록 실패는 작업 처리에 영향을 주지 않는다.
+            log.warn("AI 응답 생성 작업 상태 기록 실패: jobId={}, error={}", jobId, e.getMessage());
+        }
+    }
+
+    private static AiGenerationJobResponse response(Job job, AiGenerationJobStatus status,
+                                                    String resultCode, String msg, String messageId) {
+        return AiGenerationJobResponse.builder()
+                .jobId(job.jobId())
+                .aiGameRoomId(job.aiGameRoomId())
+                .turnNumber(job.request().getTurnNumber())
+                .status(status)
+                .attempts(job.attempt())
+                .resultCode(resultCode)
+                .msg(msg)
+                .messageId(messageId)
+                .build();
+    }
+
+    private static Map<String, String> jobFields(String jobId, String aiGameRoomId, AiGenerateRequest request, int attempt) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("jobId", jobId);
+        fields.put("aiGameRoomId", aiGameRoomId);
+        fields.put("gameId", nullToEmpty(request.getGameId()));
+        fields.put("currentUser", nullToEmpty(request.getCurrentUser()));
+        fields.put("currentMessage", nullToEmpty(request.getCurrentMessage()));
+        fields.put("turnNumber", String.valueOf(request.getTurnNumber()));
+        fields.put("attempt", String.valueOf(attempt));
+        return fields;
+    }
+
+    private static Job toJob(MapRecord<String, String, String> record, long deliveries) {
+        Map<String, String> fields = record.getValue();
+
+        AiGenerateRequest request = new AiGenerateRequest();
+        request.setGameId(emptyToNull(fields.get("gameId")));
+        request.setCurrentUser(emptyToNull(fields.get("currentUser")));
+        request.setCurrentMessage(emptyToNull(fields.get("currentMessage")));
+        request.setTurnNumber(Integer.parseInt(fields.getOrDefault("turnNumber", "0")));
+
+        return new Job(record.getId(), fields.get("jobId"), fields.get("aiGameRoomId"), request,
+                Integer.parseInt(fields.getOrDefault("attempt", "1")), deliveries);
+    }
+
+    private StreamOperations<String, String, String> streamOps() {
+        return sessionRedis.opsForStream();
+    }
+
+    private static String jobKey(String jobId) {
+        return AI_GENERATION_JOB_PREFIX + jobId;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
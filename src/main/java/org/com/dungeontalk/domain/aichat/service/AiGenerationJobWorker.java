@@ -0,0 +1,257 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.common.AiGenerationJobStatus;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGenerationJobResponse;
+import org.com.dungeontalk.domain.aichat.service.AiGenerationJobQueue.Job;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.com.dungeontalk.global.rsData.ResponseStatus;
+import org.com.dungeontalk.global.rsData.RsData;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 응답 생성 작업 worker
+ *
+ * - 노드마다 aichat.job.worker-count개의 worker가 consumer group으로 작업을 하나씩 읽어 처리한다.
+ *   처리량은 worker 수(노드 수)를 늘려 확장한다.
+ * - 작업 처리는 기존 생성 파이프라인(AiGenerationService)을 같은 게임방/턴 병합(AiGenerationCoalescer)을 거쳐 실행한다.
+ * - 결과: 성공 -> COMPLETED, 5xx(AI 시간 초과/과부하/오류) -> 재시도 후 dead letter, 그 외(AI 서비스 차단 포함) -> FAILED
+ * - 종료된 작업은 게임방 구독자에게 AI_JOB 메시지로 알린다. (AI 메시지 자체는 기존과 같이 브로드캐스트됨)
+ * - timeout-ms를 넘긴 작업도 진행 중인 생성이 끝날 때까지 재시도하지 않는다. (같은 턴이 동시에 생성되지 않도록)
+ * - 별도 스레드가 claim-idle-ms 이상 ack되지 않은 작업(중단된 worker)을 가져와 처리하고, ack된 항목을 stream에서 지운다.
+ * - 지표: aichat.generation.jobs(result=completed/failed/retried/dead_lettered), aichat.generation.job.duration
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiGenerationJobWorker {
+
+    private static final int RECLAIM_BATCH_SIZE = 10;
+
+    private final AiGenerationJobQueue aiGenerationJobQueue;
+    private final AiGenerationService aiGenerationService;
+    private final AiGenerationCoalescer aiGenerationCoalescer;
+    private final RoomMessageRouter roomMessageRouter;
+    private final AiChatProperties aiChatProperties;
+    private final NodeIdentity nodeIdentity;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private ExecutorService workers;
+    private ScheduledExecutorService reclaimer;
+    private Counter completedCounter;
+    private Counter failedCounter;
+    private Counter retriedCounter;
+    private Counter deadLetteredCounter;
+    private Timer jobTimer;
+
+    @PostConstruct
+    public void start() {
+        completedCounter = jobCounter("completed");
+        failedCounter = jobCounter("failed");
+        retriedCounter = jobCounter("retried");
+        deadLetteredCounter = jobCounter("dead_lettered");
+        jobTimer = Timer.builder("aichat.generation.job.duration")
+                .description("AI 응답 생성 작업 1회 처리 시간")
+                .register(meterRegistry);
+
+        try {
+            aiGenerationJobQueue.ensureGroup();
+        } catch (Exception e) {
+            // worker가 읽기 실패 시 다시 생성을 시도한다.
+            log.warn("AI 응답 생성 작업 consumer group 생성 실패: error={}", e.getMessage());
+        }
+
+        AiChatProperties.Job config = aiChatProperties.getJob();
+        running = true;
+
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(config.getWorkerCount(), runnable -> {
+            Thread thread = new Thread(runnable, "aichat-generation-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 1; i <= config.getWorkerCount(); i++) {
+            String consumer = nodeIdentity.getNodeId() + "-" + i;
+            workers.submit(() -> poll(consumer));
+        }
+
+        reclaimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aichat-generation-reclaimer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long reclaimIntervalMs = Math.max(1000, config.getClaimIdleMs() / 2);
+        reclaimer.scheduleWithFixedDelay(this::reclaimSafely, reclaimIntervalMs, reclaimIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(String consumer) {
+        Duration block = Duration.ofMillis(aiChatProperties.getJob().getBlockMs());
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                for (Job job : aiGenerationJobQueue.read(consumer, 1, block)) {
+                    handle(job);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("AI 응답 생성 작업 읽기 실패: consumer={}, error={}", consumer, e.getMessage());
+                if (!backOff(block)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 작업 1개 처리 후 결과에 따라 ack / 재시도 / dead letter
+     */
+    void handle(Job job) {
+        AiChatProperties.Job config = aiChatProperties.getJob();
+
+        // 처리 도중 worker가 반복해서 중단된 작업은 더 실행하지 않는다.
+        if (job.deliveries() > config.getMaxAttempts()) {
+            notifyRoom(aiGenerationJobQueue.deadLetter(job, "500-1", ErrorCode.AI_RESPONSE_PROCESSING_ERROR.getMessage()));
+            deadLetteredCounter.increment();
+            return;
+        }
+
+        aiGenerationJobQueue.markRunning(job);
+        long startedAt = System.nanoTime();
+        RsData<AiGameMessageResponse> result = run(job, config);
+        if (result == null) {
+            // 종료 중 중단 또는 생성이 끝나지 않음 - ack하지 않았으므로 claim-idle-ms 후 다시 가져간다.
+            return;
+        }
+        jobTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (ResponseStatus.isSuccess(result.getStatusCode())) {
+            notifyRoom(aiGenerationJobQueue.finish(job, AiGenerationJobStatus.COMPLETED, result));
+            completedCounter.increment();
+        } else if (!isRetryable(result)) {
+            notifyRoom(aiGenerationJobQueue.finish(job, AiGenerationJobStatus.FAILED, result));
+            failedCounter.increment();
+        } else if (job.attempt() < config.getMaxAttempts()) {
+            log.info("AI 응답 생성 작업 재시도: jobId={}, roomId={}, attempt={}, result={}",
+                     job.jobId(), job.aiGameRoomId(), job.attempt(), result.getResultCode());
+            aiGenerationJobQueue.retry(job, result);
+            retriedCounter.increment();
+        } else {
+            notifyRoom(aiGenerationJobQueue.deadLetter(job, result.getResultCode(), result.getMsg()));
+            deadLetteredCounter.increment();
+        }
+    }
+
+    private RsData<AiGameMessageResponse> run(Job job, AiChatProperties.Job config) {
+        String roomId = job.aiGameRoomId();
+        CompletableFuture<RsData<AiGameMessageResponse>> generation = aiGenerationCoalescer.execute(
+                roomId, job.request().getTurnNumber(), () -> aiGenerationService.generate(roomId, job.request()));
+        try {
+            try {
+                return generation.get(config.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 진행 중인 생성은 턴 락을 잡고 있으므로, 끝나기 전에 재시도하면 같은 턴이 동시에 생성된다.
+                // 생성은 AI 호출 deadline 안에 끝나고 락을 푸므로 claim-idle-ms까지 결과를 더 기다린다.
+                log.warn("AI 응답 생성 작업 시간 초과, 진행 중인 생성 종료 대기: jobId={}, roomId={}", job.jobId(), roomId);
+                return generation.get(Math.max(0, config.getClaimIdleMs() - config.getTimeoutMs()), TimeUnit.MILLISECONDS);
+            }
+        } catch (TimeoutException e) {
+            // 그래도 끝나지 않으면 ack하지 않고 중단된 작업 복구(claim-idle-ms 이후)에 맡긴다.
+            log.warn("AI 응답 생성 작업이 끝나지 않아 복구로 넘김: jobId={}, roomId={}", job.jobId(), roomId);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("AI 응답 생성 작업 실패: jobId={}, roomId={}, error={}", job.jobId(), roomId, e.getCause().getMessage());
+            return RsData.of("500-1", ErrorCode.AI_RESPONSE_PROCESSING_ERROR.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // AI 시간 초과/과부하/처리 오류만 재시도 (이미 처리 중, 락 만료 등은 다시 실행해도 결과가 같다)
+    // AI 서비스 차단(503-2) 중에는 바로 다시 보내도 차단되므로 재시도하지 않는다. (게임방에는 대체 안내가 전송됨)
+    private static boolean isRetryable(RsData<?> result) {
+        return result.getStatusCode() >= 500 && !"503-2".equals(result.getResultCode());
+    }
+
+    private void notifyRoom(AiGenerationJobResponse response) {
+        try {
+            roomMessageRouter.send(RoomMessageKind.AI_CHAT, response.getAiGameRoomId(), response);
+        } catch (Exception e) {
+            log.warn("AI 응답 생성 작업 알림 실패: jobId={}, error={}", response.getJobId(), e.getMessage());
+        }
+    }
+
+    private void reclaimSafely() {
+        try {
+            for (Job job : aiGenerationJobQueue.claimStale(nodeIdentity.getNodeId() + "-reclaimer", RECLAIM_BATCH_SIZE)) {
+                log.info("중단된 AI 응답 생성 작업 복구: jobId={}, roomId={}, deliveries={}",
+                         job.jobId(), job.aiGameRoomId(), job.deliveries());
+                handle(job);
+            }
+        } catch (Exception e) {
+            log.warn("AI 응답 생성 작업 복구 실패: error={}", e.getMessage());
+        }
+        try {
+            aiGenerationJobQueue.trimAcknowledged();
+        } catch (Exception e) {
+            log.warn("AI 응답 생성 작업 stream 정리 실패: error={}", e.getMessage());
+        }
+    }
+
+    private boolean backOff(Duration block) {
+        try {
+            // stream/consumer group이 지워진 경우(Valkey 재시작 등) 다시 만든다.
+            aiGenerationJobQueue.ensureGroup();
+        } catch (Exception ignored) {
+            // 다음 읽기에서 다시 시도
+        }
+        try {
+            Thread.sleep(block.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter jobCounter(String result) {
+        return Counter.builder("aichat.generation.jobs")
+                .description("AI 응답 생성 작업 처리 결과별 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+        if (reclaimer != null) {
+            reclaimer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.common.AiGenerationLane;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.domain.aichat.dto.SessionDataDto;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * AI 서비스 호출 스케줄러 (노드 단위)
+ *
+ * AI 서비스가 포화되면 호출이 도착 순서대로 자리를 차지해, 생성을 반복 요청하는 게임방 하나가
+ * 다른 게임방을 밀어낼 수 있다. 이 스케줄러는 호출을 대기열에 모아 두고 자리가 날 때마다 다음 호출을 고른다.
+ *
+ * - 동시에 보내는 호출은 AiServiceConcurrencyLimiter가 정하는 한도까지 (최대 ai.service.max-concurrent-calls, bulkhead와 같은 한도)
+ * - AiServiceCircuitBreaker가 열려 있으면 대기열에 올리지 않고 AI_SERVICE_UNAVAILABLE로 즉시 실패한다.
+ * - 우선순위: 시작 턴(OPENING)을 일반 턴(TURN)보다 먼저 보낸다. 턴은 게임방 세션의 현재 턴으로 판단한다. 일반 턴이 기다리는 동안
+ *   시작 턴은 aichat.scheduler.priority-burst번까지만 연속으로 보낸다.
+ * - 같은 lane 안에서는 weighted fair queueing(가상 종료 시간 순)으로 고른다.
+ *   게임 가중치(aichat.scheduler.game-weights)를 그 게임에서 대기 중인 게임방 수로 나눈 값이 게임방의 가중치이므로,
+ *   게임 간에는 가중치 비율로, 같은 게임의 게임방끼리는 균등하게 나눠진다.
+ * - 게임방당 aichat.scheduler.max-queued-per-room, lane당 max-queued-per-lane을 넘으면 AI_SERVICE_BUSY로 즉시 실패한다.
+ * - 대기 중 기한이 지나 완료된(timeout) 호출은 보내지 않고 건너뛴다.
+ * - 지표: aichat.scheduler.queue_depth(lane), aichat.scheduler.wait(lane), aichat.scheduler.rejected(lane),
+ *   aichat.scheduler.inflight
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiGenerationScheduler {
+
+    private static final String NO_GAME = "";
+
+    private final AiServiceBulkhead aiServiceBulkhead;
+    private final AiServiceConcurrencyLimiter aiServiceConcurrencyLimiter;
+    private final AiServiceCircuitBreaker aiServiceCircuitBreaker;
+    private final AiGameStateService aiGameStateService;
+    private final ExecutorService aiServiceExecutor;
+    private final AiServiceProperties aiServiceProperties;
+    private final AiChatProperties aiChatProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Object lock = new Object();
+    private final Map<AiGenerationLane, LaneQueue> lanes = new EnumMap<>(AiGenerationLane.class);
+    private final Map<AiGenerationLane, Timer> waitTimers = new EnumMap<>(AiGenerationLane.class);
+    private final Map<AiGenerationLane, Counter> rejectedCounters = new EnumMap<>(AiGenerationLane.class);
+
+    // lock으로 보호
+    private int inflight;
+    private int priorityStreak;
+    private long sequence;
+
+    @PostConstruct
+    public void init() {
+        for (AiGenerationLane lane : AiGenerationLane.values()) {
+            LaneQueue queue = new LaneQueue();
+            lanes.put(lane, queue);
+
+            String laneTag = lane.name().toLowerCase();
+            Gauge.builder("aichat.scheduler.queue_depth", queue, q -> depth(q))
+                    .description("AI 서비스 호출 대기열 길이")
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            waitTimers.put(lane, Timer.builder("aichat.scheduler.wait")
+                    .description("AI 서비스 호출이 대기열에서 기다린 시간")
+                    .tag("lane", laneTag)
+                    .register(meterRegistry));
+            rejectedCounters.put(lane, Counter.builder("aichat.scheduler.rejected")
+                    .description("대기열 한도 초과로 거절된 AI 서비스 호출 수")
+                    .tag("lane", laneTag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("aichat.scheduler.inflight", this, scheduler -> scheduler.inflightCount())
+                .description("스케줄러가 보내 진행 중인 AI 서비스 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * AI 서비스 호출을 대기열에 올린다. 차례가 되면 aiServiceExecutor에서 bulkhead를 거쳐 실행된다.
+     * lane과 게임 가중치는 요청 값이 아니라 게임방 세션(서버 상태)의 턴/게임으로 정한다.
+     * (클라이언트가 턴 번호를 1로 보내 시작 턴 우선순위를 얻을 수 없도록)
+     */
+    public <T> CompletableFuture<T> submit(String aiGameRoomId, Supplier<T> call) {
+        Optional<SessionDataDto> session = aiGameStateService.getSessionState(aiGameRoomId);
+        // 세션이 없으면 가장 낮은 우선순위로 보낸다.
+        AiGenerationLane lane = session.map(state -> AiGenerationLane.of(state.getTurn())).orElse(AiGenerationLane.TURN);
+        String gameId = session.map(SessionDataDto::getGameId).orElse(null);
+        AiChatProperties.Scheduler config = aiChatProperties.getScheduler();
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (!aiServiceCircuitBreaker.isCallPermitted()) {
+            return CompletableFuture.failedFuture(new AiChatException(ErrorCode.AI_SERVICE_UNAVAILABLE));
+        }
+
+        synchronized (lock) {
+            LaneQueue queue = lanes.get(lane);
+            if (queue.tasks.size() >= config.getMaxQueuedPerLane()
+                    || queue.queuedPerRoom.getOrDefault(aiGameRoomId, 0) >= config.getMaxQueuedPerRoom()) {
+                rejectedCounters.get(lane).increment();
+                log.warn("AI 서비스 호출 대기열 한도 초과로 거절: roomId={}, lane={}, laneDepth={}",
+                         aiGameRoomId, lane, queue.tasks.size());
+                return CompletableFuture.failedFuture(new AiChatException(ErrorCode.AI_SERVICE_BUSY));
+            }
+            queue.add(new Task(lane, gameId != null ? gameId : NO_GAME, aiGameRoomId, sequence++, System.nanoTime(),
+                    future, (permission, inflightAtStart) -> start(aiGameRoomId, call, future, permission, inflightAtStart)),
+                    gameWeight(gameId));
+        }
+
+        dispatch();
+        return future;
+    }
+
+    /**
+     * 자리가 있는 만큼 대기열에서 다음 호출을 꺼내 실행
+     *
+     * 보내지 못한 호출(차단/실행기 거절)은 자리를 되돌리고 같은 루프에서 계속 꺼낸다.
+     * 그 호출들의 future는 루프를 빠져나온 뒤에 완료해, 대기열이 길어도 호출 스택이 쌓이지 않게 한다.
+     */
+    private void dispatch() {
+        List<Rejection> rejections = new ArrayList<>();
+        while (true) {
+            Task next;
+            int inflightAtStart;
+            synchronized (lock) {
+                if (inflight >= Math.min(aiServiceConcurrencyLimiter.getLimit(), aiServiceProperties.getMaxConcurrentCalls())) {
+                    break;
+                }
+                next = pollNext();
+                if (next == null) {
+                    break;
+                }
+                inflightAtStart = ++inflight;
+            }
+            waitTimers.get(next.lane()).record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+
+            // 대기하는 동안 차단됐으면 보내지 않는다.
+            OptionalLong permission = aiServiceCircuitBreaker.tryAcquirePermission();
+            if (permission.isEmpty()) {
+                rejections.add(reject(next, new AiChatException(ErrorCode.AI_SERVICE_UNAVAILABLE)));
+                continue;
+            }
+            try {
+                next.starter().start(permission.getAsLong(), inflightAtStart);
+            } catch (RejectedExecutionException e) {
+                aiServiceCircuitBreaker.onIgnored(permission.getAsLong());
+                rejections.add(reject(next, new AiChatException(ErrorCode.AI_SERVICE_BUSY, e)));
+            }
+        }
+
+        for (Rejection rejection : rejections) {
+            rejection.future().completeExceptionally(rejection.error());
+        }
+    }
+
+    /**
+     * 보내지 못한 호출의 자리를 되돌린다. (dispatch 루프 안에서 호출하므로 다시 dispatch하지 않는다)
+     */
+    private Rejection reject(Task task, AiChatException error) {
+        synchronized (lock) {
+            inflight--;
+        }
+        return new Rejection(task.future(), error);
+    }
+
+    private <T> void start(String aiGameRoomId, Supplier<T> call, CompletableFuture<T> future,
+                           long permission, int inflightAtStart) {
+        long startedAt = System.nanoTime();
+        CompletableFuture.supplyAsync(() -> aiServiceBulkhead.execute(aiGameRoomId, call), aiServiceExecutor)
+                .whenComplete((result, error) -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    recordOutcome(permission, startedAt, inflightAtStart, cause);
+                    release();
+                    if (cause != null) {
+                        future.completeExceptionally(cause);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+    }
+
+    /**
+     * 호출 결과를 한도 조절/circuit breaker에 반영 (노드 내부 bulkhead 거절은 AI 서비스 상태와 무관하므로 제외)
+     * 시간 초과/연결 오류/5xx만 실패로 세고, 4xx 등 요청 때문에 난 오류는 실패율에 넣지 않는다.
+     */
+    private void recordOutcome(long permission, long startedAt, int inflightAtStart, Throwable error) {
+        // 배치 전체 실패는 묶인 요청 중 하나로만 기록한다. (AiResponseBatcher)
+        if (error instanceof AiResponseBatcher.BatchMemberFailure) {
+            aiServiceCircuitBreaker.onIgnored(permission);
+            return;
+        }
+        if (error instanceof AiChatException aiChatException
+                && aiChatException.getErrorCode() == ErrorCode.AI_SERVICE_BUSY) {
+            aiServiceCircuitBreaker.onIgnored(permission);
+            return;
+        }
+
+        boolean failed = error != null && AiServiceCircuitBreaker.isServiceFailure(error);
+        aiServiceConcurrencyLimiter.onSample(startedAt, inflightAtStart, failed);
+        if (failed) {
+            aiServiceCircuitBreaker.onFailure(permission);
+        } else if (error != null) {
+            aiServiceCircuitBreaker.onIgnored(permission);
+        } else {
+            aiServiceCircuitBreaker.onSuccess(permission);
+        }
+    }
+
+    private void release() {
+        synchronized (lock) {
+            inflight--;
+        }
+        dispatch();
+    }
+
+    /**
+     * 다음에 보낼 호출 선택 (lock 보유 상태에서 호출) - 이미 기한이 지나 완료된 호출은 버린다.
+     */
+    private Task pollNext() {
+        LaneQueue opening = lanes.get(AiGenerationLane.OPENING);
+        LaneQueue turn = lanes.get(AiGenerationLane.TURN);
+
+        while (true) {
+            LaneQueue selected;
+            if (opening.tasks.isEmpty() && turn.tasks.isEmpty()) {
+                return null;
+            } else if (turn.tasks.isEmpty()
+                    || (!opening.tasks.isEmpty() && priorityStreak < aiChatProperties.getScheduler().getPriorityBurst())) {
+                selected = opening;
+                priorityStreak = turn.tasks.isEmpty() ? 0 : priorityStreak + 1;
+            } else {
+                selected = turn;
+                priorityStreak = 0;
+            }
+
+            Task task = selected.poll();
+            if (!task.future().isDone()) {
+                return task;
+            }
+        }
+    }
+
+    private double gameWeight(String gameId) {
+        Integer weight = gameId != null ? aiChatProperties.getScheduler().getGameWeights().get(gameId) : null;
+        return weight != null && weight > 0 ? weight : 1;
+    }
+
+    private int depth(LaneQueue queue) {
+        synchronized (lock) {
+            return queue.tasks.size();
+        }
+    }
+
+    private int inflightCount() {
+        synchronized (lock) {
+            return inflight;
+        }
+    }
+
+    private record Task(AiGenerationLane lane, String gameId, String aiGameRoomId, long sequence, long enqueuedAt,
+                        CompletableFuture<?> future, Starter starter) {
+    }
+
+    private record Rejection(CompletableFuture<?> future, AiChatException error) {
+    }
+
+    /**
+     * 허가받은 호출을 aiServiceExecutor에 넘긴다. (실행기가 거절하면 RejectedExecutionException)
+     */
+    @FunctionalInterface
+    private interface Starter {
+        void start(long permission, int inflightAtStart);
+    }
+
+    /**
+     * lane 하나의 weighted fair queue
+     *
+     * 호출마다 시작 시간 = max(lane 가상 시간, 같은 게임방의 직전 종료 시간), 종료 시간 = 시작 + 1 / 게임방 가중치를 매기고
+     * 종료 시간이 가장 이른 호출부터 보낸다. 대기 중인 호출이 없는 게임방은 기록을 지워, 쉬는 동안 몫이 쌓이지 않는다.
+     */
+    private static final class LaneQueue {
+
+        private record Entry(Task task, double startTag, double finishTag) {
+        }
+
+        private final PriorityQueue<Entry> tasks = new PriorityQueue<>(
+                Comparator.comparingDouble(Entry::finishTag).thenComparingLong(entry -> entry.task().sequence()));
+        private final Map<String, Double> lastFinishTag = new HashMap<>();
+        private final Map<String, Integer> queuedPerRoom = new HashMap<>();
+        private final Map<String, Integer> activeRoomsPerGame = new HashMap<>();
+        private double virtualTime;
+
+        void add(Task task, double gameWeight) {
+            int queued = queuedPerRoom.merge(task.aiGameRoomId(), 1, Integer::sum);
+            int activeRooms = queued == 1
+                    ? activeRoomsPerGame.merge(task.gameId(), 1, Integer::sum)
+                    : activeRoomsPerGame.getOrDefault(task.gameId(), 1);
+
+            double roomWeight = gameWeight / activeRooms;
+            double startTag = Math.max(virtualTime, lastFinishTag.getOrDefault(task.aiGameRoomId(), 0.0));
+            double finishTag = startTag + 1.0 / roomWeight;
+            lastFinishTag.put(task.aiGameRoomId(), finishTag);
+            tasks.add(new Entry(task, startTag, finishTag));
+        }
+
+        Task poll() {
+            Entry entry = tasks.poll();
+            Task task = entry.task();
+            virtualTime = Math.max(virtualTime, entry.startTag());
+
+            if (queuedPerRoom.merge(task.aiGameRoomId(), -1, Integer::sum) <= 0) {
+                queuedPerRoom.remove(task.aiGameRoomId());
+                lastFinishTag.remove(task.aiGameRoomId());
+                if (activeRoomsPerGame.merge(task.gameId(), -1, Integer::sum) <= 0) {
+                    activeRoomsPerGame.remove(task.gameId());
+                }
+            }
+            return task;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.common.AiMessageType;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.domain.aichat.dto.AiGameMessageDto;
+import org.com.dungeontalk.domain.aichat.dto.request.AiGameMessageSendRequest;
+import org.com.dungeontalk.domain.aichat.dto.request.AiGenerateRequest;
+import org.com.dungeontalk.domain.aichat.dto.request.AiMessageSaveRequest;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.com.dungeontalk.global.rsData.RsData;
+import org.com.dungeontalk.global.util.UuidV7Creator;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
+
+/**
+ * AI 응답 생성 파이프라인
+ *
+ * 턴 락 -> 컨텍스트 조회 -> AI 호출(비동기) -> 저장 -> 브로드캐스트 -> 다음 턴 진행
+ * 생성 작업 worker(AiGenerationJobWorker)와 외부 AI 서비스 콜백(/response)이 함께 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiGenerationService {
+
+    private final AiGameMessageService aiGameMessageService;
+    private final AiGameStateService aiGameStateService;
+    private final AiResponseService aiResponseService;
+    private final AiStreamRelay aiStreamRelay;
+    private final AiServiceProperties aiServiceProperties;
+    private final AiChatProperties aiChatProperties;
+    private final RoomMessageRouter roomMessageRouter;
+
+    /**
+     * AI 응답 생성 및 처리
+     * AI 서비스 호출은 비동기로 진행되므로 응답 대기 동안 호출 스레드를 점유하지 않는다.
+     */
+    public CompletableFuture<RsData<AiGameMessageResponse>> generate(String roomId, AiGenerateRequest request) {
+        // AI 응답 처리 중으로 락 설정
+        OptionalLong lock = aiGameStateService.lockForAiResponse(roomId);
+        if (lock.isEmpty()) {
+            log.warn("AI 응답 처리 중 락 설정 실패 (이미 처리중): roomId={}", roomId);
+            return CompletableFuture.completedFuture(RsData.of("400-1", "AI 응답이 이미 처리 중입니다"));
+        }
+        long fencingToken = lock.getAsLong();
+
+        try {
+            // 컨텍스트 메시지 조회
+            List<AiResponseService.ContextMessage> contextMessages = aiGameMessageService
+                    .getContextMessages(roomId, request.getTurnNumber());
+
+            // Python AI 서비스에서 응답 생성 (비동기) 후 저장/브로드캐스트
+            if (aiServiceProperties.isStreaming()) {
+                // 스트리밍: delta는 도착하는 대로 중계하고, 완성된 응답은 같은 messageId로 한 번만 저장
+                AiStreamRelay.Stream stream = aiStreamRelay.open(roomId, UuidV7Creator.create(), request.getTurnNumber());
+                return aiResponseService.generateAiResponseStreamAsync(
+                                request.getGameId(),
+                                roomId,
+                                request.getCurrentUser(),
+                                request.getCurrentMessage(),
+                                contextMessages,
+                                request.getTurnNumber(),
+                                fencingToken,
+                                stream)
+                        .thenApply(aiResult -> {
+                            stream.flush();
+                            return processGeneratedAiResponse(roomId, request, aiResult, stream.getMessageId(), fencingToken);
+                        })
+                        .exceptionally(e -> handleGenerationError(roomId, request, fencingToken, unwrap(e)));
+            }
+
+            return aiResponseService.generateAiResponseAsync(
+                            request.getGameId(),
+                            roomId,
+                            request.getCurrentUser(),
+                            request.getCurrentMessage(),
+                            contextMessages,
+                            request.getTurnNumber(),
+                            fencingToken)
+                    .thenApply(aiResult -> processGeneratedAiResponse(roomId, request, aiResult, null, fencingToken))
+                    .exceptionally(e -> handleGenerationError(roomId, request, fencingToken, unwrap(e)));
+
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(handleGenerationError(roomId, request, fencingToken, e));
+        }
+    }
+
+    /**
+     * AI 응답 완료 후 락 해제 및 다음 턴으로 진행하는 공통 메서드
+     * fencing token이 락을 보유 중일 때만 해제하고, lease를 잃었으면 턴을 넘기지 않는다.
+     */
+    public int completeAiResponseAndProgressToNextTurn(String roomId, long fencingToken) {
+        if (!aiGameStateService.unlockAfterAiResponse(roomId, fencingToken)) {
+            throw new AiChatException(ErrorCode.AI_TURN_LOCK_LOST);
+        }
+        return aiGameStateService.nextTurn(roomId);
+    }
+
+    /**
+     * AI 응답 에러 처리 공통 메서드
+     */
+    public RsData<AiGameMessageResponse> handleAiResponseError(
+            String roomId, long fencingToken, Throwable e, String errorMessage) {
+        if (e instanceof AiChatException aiChatException
+                && aiChatException.getErrorCode() == ErrorCode.AI_TURN_LOCK_LOST) {
+            // 이미 다른 요청이 턴을 잡았으므로 락/phase를 건드리지 않는다.
+            log.warn("AI 턴 락을 잃은 응답 폐기: roomId={}, token={}", roomId, fencingToken);
+            return RsData.of("409-1", ErrorCode.AI_TURN_LOCK_LOST.getMessage());
+        }
+
+        log.error("AI 응답 오류 발생: roomId={}, error={}", roomId, e.getMessage(), e);
+        aiGameStateService.unlockAfterAiResponse(roomId, fencingToken);
+
+        if (e instanceof AiChatException aiChatException
+                && aiChatException.getErrorCode() == ErrorCode.AI_SERVICE_BUSY) {
+            return RsData.of("503-1", ErrorCode.AI_SERVICE_BUSY.getMessage());
+        }
+        if (isCircuitOpen(e)) {
+            return RsData.of("503-2", ErrorCode.AI_SERVICE_UNAVAILABLE.getMessage());
+        }
+        if (e instanceof TimeoutException) {
+            return RsData.of("500-1", ErrorCode.AI_RESPONSE_TIMEOUT_ERROR.getMessage());
+        }
+        return RsData.of("500-1", errorMessage);
+    }
+
+    /**
+     * AI 응답 생성 실패 처리 - AI 서비스 차단(circuit breaker OPEN) 중이면 게임방에 대체 안내를 보낸다.
+     */
+    private RsData<AiGameMessageResponse> handleGenerationError(
+            String roomId, AiGenerateRequest request, long fencingToken, Throwable e) {
+        RsData<AiGameMessageResponse> result =
+                handleAiResponseError(roomId, fencingToken, e, "AI 응답 생성 중 오류가 발생했습니다");
+
+        AiChatProperties.CircuitBreaker config = aiChatProperties.getCircuitBreaker();
+        if (isCircuitOpen(e) && config.isFallbackEnabled()) {
+            try {
+                AiGameMessageSendRequest fallback = new AiGameMessageSendRequest();
+                fallback.setAiGameRoomId(roomId);
+                fallback.setGameId(request.getGameId());
+                fallback.setSenderId(SYSTEM_SENDER_ID);
+                fallback.setSenderNickname(SYSTEM_SENDER_NICKNAME);
+                fallback.setContent(config.getFallbackMessage());
+                fallback.setMessageType(AiMessageType.SYSTEM);
+                fallback.setTurnNumber(request.getTurnNumber());
+                fallback.setMessageOrder(ERROR_MESSAGE_ORDER);
+                roomMessageRouter.send(RoomMessageKind.AI_CHAT, roomId, aiGameMessageService.handleSystemMessage(fallback));
+            } catch (Exception fallbackError) {
+                log.warn("AI 서비스 차단 안내 전송 실패: roomId={}, error={}", roomId, fallbackError.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static boolean isCircuitOpen(Throwable e) {
+        return e instanceof AiChatException aiChatException
+                && aiChatException.getErrorCode() == ErrorCode.AI_SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * 생성된 AI 응답 저장, 브로드캐스트 후 다음 턴 진행
+     * messageId가 있으면(스트리밍) 중계한 조각들과 같은 ID로 저장한다.
+     */
+    private RsData<AiGameMessageResponse> processGeneratedAiResponse(
+            String roomId, AiGenerateRequest request, AiResponseService.AiResponseResult aiResult,
+            String messageId, long fencingToken) {
+
+        // AI 메시지 저장
+        AiMessageSaveRequest saveRequest = AiMessageSaveRequest.builder()
+                .messageId(messageId)
+                .aiGameRoomId(roomId)
+                .gameId(request.getGameId())
+                .content(aiResult.getContent())
+                .turnNumber(request.getTurnNumber())
+                .responseTime(aiResult.getResponseTime())
+                .aiSources(aiResult.getSources() != null ? String.join(",", aiResult.getSources()) : null)
+                .fencingToken(fencingToken)
+                .build();
+        AiGameMessageDto savedMessage = aiGameMessageService.saveAiMessage(saveRequest);
+
+        // WebSocket 브로드캐스트 및 처리 완료 (다른 노드 구독자에게는 Redis로 중계)
+        roomMessageRouter.send(RoomMessageKind.AI_CHAT, roomId, savedMessage);
+        int nextTurn = completeAiResponseAndProgressToNextTurn(roomId, fencingToken);
+
+        log.info("AI 응답 생성 및 처리 완료: roomId={}, nextTurn={}, responseTime={}ms",
+                 roomId, nextTurn, aiResult.getResponseTime());
+
+        AiGameMessageResponse response = AiGameMessageResponse.fromDto(savedMessage);
+        return RsData.of("200-1", "AI 응답 생성 및 처리 완료", response);
+    }
+
+    private Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
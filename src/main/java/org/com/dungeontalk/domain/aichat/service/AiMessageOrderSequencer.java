@@ -0,0 +1,80 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatConfigHelper;
+import org.com.dungeontalk.domain.aichat.entity.AiGameMessage;
+import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
+import org.com.dungeontalk.domain.auth.service.ValkeyService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
+
+/**
+ * (게임방, 턴) 단위 메시지 순서 발급기
+ *
+ * Valkey INCR 한 번으로 messageOrder를 원자적으로 발급하므로, 동시에 메시지를 보낸
+ * 플레이어들도 서로 다른 순서를 받는다.
+ * - 카운터가 없을 때(최초/만료)만 MongoDB에서 기존 최대 순서를 1건 조회하고, 그 값으로 카운터를 SET NX로 만든 뒤 INCR한다.
+ *   여러 요청이 동시에 초기화해도 초기값은 한 번만 설정되므로 같은 순서가 두 번 발급되지 않는다.
+ * - Valkey 장애 시에는 노드 로컬 카운터로 대체한다. (노드 간 원자성은 보장되지 않음, 최근 사용한 카운터만 보관)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiMessageOrderSequencer {
+
+    private static final int LOCAL_FALLBACK_MAX_ENTRIES = 10_000;
+
+    private final ValkeyService valkeyService;
+    private final AiGameMessageRepository aiGameMessageRepository;
+
+    // 크기 초과 시 오래 쓰지 않은 카운터부터 제거 (진행 중인 게임방의 카운터는 유지)
+    private final Cache<String, AtomicInteger> localCounters = Caffeine.newBuilder()
+            .maximumSize(LOCAL_FALLBACK_MAX_ENTRIES)
+            .build();
+
+    /**
+     * 다음 메시지 순서 발급 (1부터 시작)
+     */
+    public int next(String aiGameRoomId, int turnNumber) {
+        String key = sequenceKey(aiGameRoomId, turnNumber);
+
+        try {
+            long order = valkeyService.incrementIfExists(key);
+            if (order == 0) {
+                // 카운터가 만료/유실된 상태에서 이미 저장된 메시지가 있으면 그 다음 순서부터 발급
+                order = valkeyService.incrementWithSeed(key, findPersistedMaxOrder(aiGameRoomId, turnNumber),
+                        AiChatConfigHelper.getSessionTimeoutSeconds());
+            }
+            return Math.toIntExact(order);
+        } catch (DataAccessException e) {
+            log.warn("메시지 순서 시퀀서 Valkey 오류, 로컬 카운터로 대체: roomId={}, turn={}, error={}",
+                     aiGameRoomId, turnNumber, e.getMessage());
+            return nextLocal(key, aiGameRoomId, turnNumber);
+        }
+    }
+
+    private int nextLocal(String key, String aiGameRoomId, int turnNumber) {
+        return localCounters
+                .get(key, k -> new AtomicInteger(findPersistedMaxOrder(aiGameRoomId, turnNumber)))
+                .incrementAndGet();
+    }
+
+    private int findPersistedMaxOrder(String aiGameRoomId, int turnNumber) {
+        return aiGameMessageRepository
+                .findFirstByAiGameRoomIdAndTurnNumberAndMessageOrderLessThanOrderByMessageOrderDesc(
+                        aiGameRoomId, turnNumber, AiChatConfigHelper.getErrorMessageOrder())
+                .map(AiGameMessage::getMessageOrder)
+                .orElse(0);
+    }
+
+    private String sequenceKey(String aiGameRoomId, int turnNumber) {
+        return AI_GAME_MESSAGE_SEQ_PREFIX + aiGameRoomId + ":" + turnNumber;
+    }
+}
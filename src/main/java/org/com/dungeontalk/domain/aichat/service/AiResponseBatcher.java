@@ -0,0 +1,300 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.AiResponseRequest;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.AiResponseResult;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI 서비스 배치 호출 (ai.service.batching=true)
+ *
+ * Python 서비스는 여러 요청을 한 번에 추론할 때 훨씬 효율적이므로, 게임방들의 생성 요청을 모아 한 번에 보낸다.
+ * - 첫 요청이 들어온 뒤 batch-window-ms가 지나거나 batch-max-size개가 모이면 POST /ai-response/batch로 전송한다.
+ * - 응답은 request_id로 각 요청에 나눠 돌려준다. 배치 전체 실패(연결 오류/시간 초과)는 묶인 요청 모두에 전달된다.
+ *   이때 한 요청만 원래 오류를 받고 나머지는 BatchMemberFailure를 받아, 한도 조절/circuit breaker에는 한 번만 반영된다.
+ * - 배치 호출은 ai.service.batch-timeout을 응답 대기 시간으로 쓰는 aiBatchRestTemplate으로 보낸다.
+ * - 호출한 스레드(aiServiceExecutor)는 기존 단건 호출과 같이 응답을 기다리므로,
+ *   스케줄러/bulkhead/circuit breaker는 요청 단위로 그대로 동작한다.
+ * - 지표: aichat.batch.size(배치당 요청 수), aichat.batch.wait(요청이 배치로 전송되기까지 기다린 시간)
+ */
+@Slf4j
+@Component
+public class AiResponseBatcher {
+
+    private static final long SENDER_KEEP_ALIVE_SECONDS = 60;
+
+    private final RestTemplate restTemplate;
+    private final AiServiceProperties aiServiceProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread collector;
+    private ExecutorService sender;
+    private DistributionSummary batchSizeSummary;
+    private Timer waitTimer;
+
+    public AiResponseBatcher(
+            @Qualifier("aiBatchRestTemplate") RestTemplate restTemplate,
+            AiServiceProperties aiServiceProperties,
+            MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.aiServiceProperties = aiServiceProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!aiServiceProperties.isBatching()) {
+            return;
+        }
+
+        batchSizeSummary = DistributionSummary.builder("aichat.batch.size")
+                .description("AI 서비스 배치 호출 1건에 묶인 생성 요청 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        waitTimer = Timer.builder("aichat.batch.wait")
+                .description("생성 요청이 배치로 전송되기까지 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        running = true;
+
+        // 배치 전송은 응답까지 수 초가 걸리므로 모으는 스레드와 분리한다.
+        // 배치마다 진행 중인 요청이 하나 이상이므로 동시 배치 수는 max-concurrent-calls를 넘지 않는다.
+        // (호출한 스레드가 aiServiceExecutor에서 응답을 기다리므로 같은 실행기를 쓰면 자리가 모자랄 수 있다)
+        int senderThreads = Math.max(1, aiServiceProperties.getMaxConcurrentCalls());
+        AtomicInteger threadSeq = new AtomicInteger();
+        ThreadPoolExecutor senderPool = new ThreadPoolExecutor(senderThreads, senderThreads,
+                SENDER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "aichat-ai-batch-sender-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        senderPool.allowCoreThreadTimeOut(true);
+        sender = senderPool;
+        collector = new Thread(this::collect, "aichat-ai-batcher");
+        collector.setDaemon(true);
+        collector.start();
+    }
+
+    /**
+     * 요청을 배치에 넣고 해당 요청의 응답을 기다린다.
+     */
+    public AiResponseResult execute(AiResponseRequest request) {
+        if (!running) {
+            throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, "AI 서비스 배치 호출이 실행 중이 아닙니다");
+        }
+
+        request.setRequestId(Long.toString(requestSequence.incrementAndGet()));
+        Pending pending = new Pending(request, System.nanoTime(), new CompletableFuture<>());
+        queue.add(pending);
+
+        try {
+            return pending.future().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AiChatException aiChatException) {
+                throw aiChatException;
+            }
+            throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, e.getCause());
+        }
+    }
+
+    private void collect() {
+        while (running) {
+            try {
+                Pending first = queue.take();
+                int maxSize = Math.max(1, aiServiceProperties.getBatchMaxSize());
+                long flushAt = first.enqueuedAt() + TimeUnit.MILLISECONDS.toNanos(aiServiceProperties.getBatchWindowMs());
+
+                List<Pending> batch = new ArrayList<>(maxSize);
+                batch.add(first);
+                while (batch.size() < maxSize) {
+                    Pending next = queue.poll(flushAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("AI 서비스 배치 구성 실패: error={}", e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        try {
+            sender.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            failAll(batch, new AiChatException(ErrorCode.AI_SERVICE_BUSY, e));
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        long sentAt = System.nanoTime();
+        batchSizeSummary.record(batch.size());
+        for (Pending pending : batch) {
+            waitTimer.record(sentAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+
+        String url = aiServiceProperties.getUrl() + "/ai-response/batch";
+        try {
+            log.debug("Python AI 서비스 배치 호출 시작: size={}", batch.size());
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            BatchRequest body = new BatchRequest(batch.stream().map(Pending::request).toList());
+
+            ResponseEntity<BatchResponse> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(body, headers),
+                    BatchResponse.class
+            );
+
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null
+                    || response.getBody().getResponses() == null) {
+                throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR,
+                        "AI 서비스 배치 응답 오류: " + response.getStatusCode());
+            }
+
+            Map<String, BatchResponse.Item> items = new HashMap<>();
+            for (BatchResponse.Item item : response.getBody().getResponses()) {
+                items.put(item.getRequestId(), item);
+            }
+            for (Pending pending : batch) {
+                complete(pending, items.get(pending.request().getRequestId()));
+            }
+
+            log.debug("Python AI 서비스 배치 호출 완료: size={}, elapsed={}ms",
+                      batch.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentAt));
+
+        } catch (AiChatException e) {
+            log.error("AI 서비스 배치 호출 실패: size={}, error={}", batch.size(), e.getMessage());
+            failAll(batch, e);
+        } catch (ResourceAccessException e) {
+            log.error("AI 서비스 배치 호출 시간 초과 또는 네트워크 오류: size={}, error={}", batch.size(), e.getMessage());
+            failAll(batch, new AiChatException(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR, e));
+        } catch (Exception e) {
+            log.error("AI 서비스 배치 호출 실패: size={}, error={}", batch.size(), e.getMessage(), e);
+            failAll(batch, new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, e));
+        }
+    }
+
+    private void complete(Pending pending, BatchResponse.Item item) {
+        if (item == null) {
+            pending.future().completeExceptionally(new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR,
+                    "AI 서비스 배치 응답에 요청 결과가 없습니다: roomId=" + pending.request().getAiGameRoomId()));
+        } else if (item.getError() != null) {
+            pending.future().completeExceptionally(new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, item.getError()));
+        } else {
+            pending.future().complete(AiResponseResult.builder()
+                    .content(item.getContent())
+                    .responseTime(item.getResponseTime())
+                    .sources(item.getSources())
+                    .build());
+        }
+    }
+
+    // 이미 결과를 받은 요청은 그대로 둔다. (완료된 future에는 영향 없음)
+    // 배치 전체 실패는 한 번의 AI 서비스 실패이므로 첫 요청만 원래 오류로 기록되게 한다.
+    private void failAll(List<Pending> batch, AiChatException error) {
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future().completeExceptionally(i == 0 ? error : new BatchMemberFailure(error));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (collector != null) {
+            collector.interrupt();
+        }
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        failAll(remaining, new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, "AI 서비스 배치 호출 종료"));
+    }
+
+    private record Pending(AiResponseRequest request, long enqueuedAt, CompletableFuture<AiResponseResult> future) {
+    }
+
+    /**
+     * 배치 전체 실패를 함께 받은 요청의 오류 (오류 코드는 원래 오류와 같다)
+     * AiGenerationScheduler는 이 오류로 끝난 호출을 한도 조절/circuit breaker에 반영하지 않는다.
+     */
+    static final class BatchMemberFailure extends AiChatException {
+        BatchMemberFailure(AiChatException cause) {
+            super(cause.getErrorCode(), cause);
+        }
+    }
+
+    record BatchRequest(List<AiResponseRequest> requests) {
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class BatchResponse {
+        private List<Item> responses;
+
+        @Data
+        @NoArgsConstructor
+        static class Item {
+            @com.fasterxml.jackson.annotation.JsonProperty("request_id")
+            private String requestId;
+
+            private String content;
+
+            @com.fasterxml.jackson.annotation.JsonProperty("response_time")
+            private Long responseTime;
+
+            private List<String> sources;
+
+            private String error;
+        }
+    }
+}
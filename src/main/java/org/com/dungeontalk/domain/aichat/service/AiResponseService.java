@@ -1,10 +1,14 @@
 package org.com.dungeontalk.domain.aichat.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
 import org.com.dungeontalk.domain.aichat.dto.AiGameMessageDto;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResourceAccessException;
@@ -13,8 +17,19 @@ import org.springframework.web.client.RestTemplate;
 import org.com.dungeontalk.global.exception.ErrorCode;
 import org.com.dungeontalk.global.exception.customException.AiChatException;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -23,37 +38,75 @@ public class AiResponseService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final AiServiceProperties aiServiceProperties;
+    private final AiGenerationScheduler aiGenerationScheduler;
+    private final AiResponseBatcher aiResponseBatcher;
 
-    @Value("${ai.service.url:http://localhost:8001}")
-    private String aiServiceUrl;
+    private static final TypeReference<List<String>> SOURCES_TYPE = new TypeReference<>() {};
 
-    @Value("${ai.service.timeout:30000}")
-    private int aiServiceTimeout;
+    private ScheduledExecutorService streamWatchdog;
+
+    @PostConstruct
+    public void init() {
+        streamWatchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aichat-ai-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (streamWatchdog != null) {
+            streamWatchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * Python AI 서비스에서 응답 생성 (비동기)
+     *
+     * 호출은 스케줄러(AiGenerationScheduler) 대기열을 거쳐 차례가 되면 aiServiceExecutor에서 bulkhead를 거쳐 실행되며,
+     * deadlineMs(대기 시간 포함)가 지나면 TimeoutException으로 완료된다. 호출한 요청 스레드는 즉시 반환된다.
+     * 배치 모드(ai.service.batching)에서는 실행 시점에 다른 게임방 요청과 묶여 전송된다. (AiResponseBatcher)
+     */
+    public CompletableFuture<AiResponseResult> generateAiResponseAsync(String gameId, String aiGameRoomId,
+                                                                      String currentUser, String currentMessage,
+                                                                      List<ContextMessage> contextMessages, int turnNumber,
+                                                                      long fencingToken) {
+        return aiGenerationScheduler
+                .submit(aiGameRoomId,
+                        () -> generateAiResponse(gameId, aiGameRoomId, currentUser, currentMessage,
+                                contextMessages, turnNumber, fencingToken))
+                .orTimeout(aiServiceProperties.getDeadlineMs(), TimeUnit.MILLISECONDS);
+    }
 
     /**
      * Python AI 서비스에서 응답 생성
+     * fencingToken은 요청에 함께 보내며, AI 서비스가 콜백(/response, /response/error)으로 결과를 보낼 때 그대로 돌려줘야 한다.
      */
     public AiResponseResult generateAiResponse(String gameId, String aiGameRoomId, 
                                              String currentUser, String currentMessage,
-                                             List<AiGameMessageDto> contextMessages, int turnNumber) {
+                                             List<ContextMessage> contextMessages, int turnNumber,
+                                             long fencingToken) {
         
-        String url = aiServiceUrl + "/ai-response";
+        String url = aiServiceProperties.getUrl() + "/ai-response";
         
         try {
             log.info("Python AI 서비스 호출 시작: roomId={}, user={}, turn={}", 
                      aiGameRoomId, currentUser, turnNumber);
 
             // 요청 데이터 구성
-            AiResponseRequest request = AiResponseRequest.builder()
-                    .gameId(gameId)
-                    .aiGameRoomId(aiGameRoomId)
-                    .currentUser(currentUser)
-                    .currentMessage(currentMessage)
-                    .contextMessages(contextMessages.stream()
-                            .map(this::convertToContextMessage)
-                            .toList())
-                    .turnNumber(turnNumber)
-                    .build();
+            AiResponseRequest request = buildRequest(gameId, aiGameRoomId, currentUser, currentMessage,
+                    contextMessages, turnNumber, fencingToken);
+
+            // 배치 모드: 다른 게임방 요청과 묶어 전송하고 이 요청의 응답만 받는다.
+            if (aiServiceProperties.isBatching()) {
+                AiResponseResult result = aiResponseBatcher.execute(request);
+                log.info("Python AI 서비스 배치 호출 성공: roomId={}, responseTime={}ms, sourcesCount={}",
+                         aiGameRoomId, result.getResponseTime(),
+                         result.getSources() != null ? result.getSources().size() : 0);
+                return result;
+            }
 
             // HTTP 헤더 설정
             HttpHeaders headers = new HttpHeaders();
@@ -87,6 +140,8 @@ public class AiResponseService {
                 throw new RuntimeException("AI 서비스 응답 오류: " + response.getStatusCode());
             }
 
+        } catch (AiChatException e) {
+            throw e;
         } catch (ResourceAccessException e) {
             log.error("AI 서비스 연결 시간 초과 또는 네트워크 오류: roomId={}, error={}", aiGameRoomId, e.getMessage());
             throw new AiChatException(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR, e);
@@ -99,12 +154,194 @@ public class AiResponseService {
         }
     }
 
+    /**
+     * Python AI 서비스에서 응답 생성 (스트리밍, 비동기)
+     *
+     * delta는 도착하는 대로 onDelta로 전달되고, 완성된 응답은 future로 반환된다.
+     */
+    public CompletableFuture<AiResponseResult> generateAiResponseStreamAsync(String gameId, String aiGameRoomId,
+                                                                            String currentUser, String currentMessage,
+                                                                            List<ContextMessage> contextMessages, int turnNumber,
+                                                                            long fencingToken, Consumer<String> onDelta) {
+        long deadlineAt = System.currentTimeMillis() + aiServiceProperties.getDeadlineMs();
+        return aiGenerationScheduler
+                .submit(aiGameRoomId,
+                        () -> streamAiResponse(gameId, aiGameRoomId, currentUser, currentMessage,
+                                contextMessages, turnNumber, fencingToken, onDelta, deadlineAt))
+                .orTimeout(aiServiceProperties.getDeadlineMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * SSE 스트림(/ai-response/stream) 소비
+     *
+     * 이벤트 형식
+     * - data: {"delta": "..."}                          응답 조각
+     * - event: done / data: {"response_time": n, "sources": [...]}  종료
+     * - event: error / data: {"message": "..."}         생성 실패
+     */
+    private AiResponseResult streamAiResponse(String gameId, String aiGameRoomId,
+                                              String currentUser, String currentMessage,
+                                              List<ContextMessage> contextMessages, int turnNumber,
+                                              long fencingToken, Consumer<String> onDelta, long deadlineAt) {
+
+        String url = aiServiceProperties.getUrl() + "/ai-response/stream";
+
+        try {
+            log.info("Python AI 서비스 스트리밍 호출 시작: roomId={}, user={}, turn={}",
+                     aiGameRoomId, currentUser, turnNumber);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+            HttpEntity<AiResponseRequest> httpEntity = new HttpEntity<>(buildRequest(gameId, aiGameRoomId,
+                    currentUser, currentMessage, contextMessages, turnNumber, fencingToken), headers);
+
+            AiResponseResult result = restTemplate.execute(url, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(httpEntity),
+                    response -> {
+                        // read timeout은 응답 헤더까지만 적용되므로, body가 멈추면 기한에 맞춰 스트림을 닫는다.
+                        StreamDeadline deadline = new StreamDeadline(streamWatchdog, response.getBody(), deadlineAt);
+                        try (deadline) {
+                            return readEventStream(response.getBody(), onDelta, deadlineAt);
+                        } catch (IOException | RuntimeException e) {
+                            if (deadline.isExpired()) {
+                                throw new AiChatException(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR, e);
+                            }
+                            throw e;
+                        }
+                    });
+
+            log.info("Python AI 서비스 스트리밍 완료: roomId={}, responseTime={}ms, length={}",
+                     aiGameRoomId, result.getResponseTime(), result.getContent().length());
+            return result;
+
+        } catch (AiChatException e) {
+            throw e;
+        } catch (ResourceAccessException e) {
+            log.error("AI 서비스 스트리밍 시간 초과 또는 네트워크 오류: roomId={}, error={}", aiGameRoomId, e.getMessage());
+            throw new AiChatException(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR, e);
+        } catch (Exception e) {
+            log.error("AI 서비스 스트리밍 실패: roomId={}, error={}", aiGameRoomId, e.getMessage(), e);
+            throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, e);
+        }
+    }
+
+    private AiResponseResult readEventStream(InputStream body, Consumer<String> onDelta, long deadlineAt)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder content = new StringBuilder();
+        StringBuilder data = new StringBuilder();
+        String event = null;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (System.currentTimeMillis() > deadlineAt) {
+                throw new AiChatException(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR);
+            }
+
+            if (line.startsWith("event:")) {
+                event = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5).trim());
+            } else if (line.isEmpty() && !data.isEmpty()) {
+                JsonNode payload = objectMapper.readTree(data.toString());
+                data.setLength(0);
+
+                if ("done".equals(event)) {
+                    return AiResponseResult.builder()
+                            .content(content.toString())
+                            .responseTime(payload.path("response_time").asLong())
+                            .sources(objectMapper.convertValue(payload.path("sources"), SOURCES_TYPE))
+                            .build();
+                }
+                if ("error".equals(event)) {
+                    throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR,
+                            payload.path("message").asText("AI 서비스 스트리밍 오류"));
+                }
+
+                String delta = payload.path("delta").asText("");
+                if (!delta.isEmpty()) {
+                    content.append(delta);
+                    onDelta.accept(delta);
+                }
+                event = null;
+            }
+        }
+
+        // done 이벤트 없이 스트림이 끊긴 경우
+        throw new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, "AI 서비스 스트림이 완료 전에 종료되었습니다");
+    }
+
+    /**
+     * 스트림 읽기 기한 감시
+     *
+     * readLine()은 기한을 확인하기 전에 다음 줄이 올 때까지 막히므로, 기한이 지나면 다른 스레드에서
+     * body를 닫고 읽는 스레드를 인터럽트해 빠져나오게 한다. (bulkhead 자리/스케줄러 슬롯을 계속 붙잡지 않도록)
+     */
+    private static final class StreamDeadline implements AutoCloseable {
+
+        private final InputStream body;
+        private final Thread reader = Thread.currentThread();
+        private final ScheduledFuture<?> task;
+
+        // this로 보호
+        private boolean finished;
+        private boolean expired;
+
+        private StreamDeadline(ScheduledExecutorService scheduler, InputStream body, long deadlineAt) {
+            this.body = body;
+            this.task = scheduler.schedule(this::expire,
+                    Math.max(0, deadlineAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void expire() {
+            if (finished) {
+                return;
+            }
+            expired = true;
+            try {
+                body.close();
+            } catch (IOException ignored) {
+                // 닫기 실패해도 인터럽트로 읽기가 중단된다.
+            }
+            reader.interrupt();
+        }
+
+        private synchronized boolean isExpired() {
+            return expired;
+        }
+
+        @Override
+        public synchronized void close() {
+            finished = true;
+            task.cancel(false);
+            if (expired) {
+                // 읽기 중단용 인터럽트가 실행 스레드에 남지 않도록 해제
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private AiResponseRequest buildRequest(String gameId, String aiGameRoomId, String currentUser,
+                                           String currentMessage, List<ContextMessage> contextMessages,
+                                           int turnNumber, long fencingToken) {
+        return AiResponseRequest.builder()
+                .gameId(gameId)
+                .aiGameRoomId(aiGameRoomId)
+                .currentUser(currentUser)
+                .currentMessage(currentMessage)
+                .contextMessages(contextMessages)
+                .turnNumber(turnNumber)
+                .fencingToken(fencingToken)
+                .build();
+    }
+
     /**
      * AI 서비스 상태 확인
      */
     public boolean isAiServiceHealthy() {
         try {
-            String healthUrl = aiServiceUrl + "/health";
+            String healthUrl = aiServiceProperties.getUrl() + "/health";
             ResponseEntity<Map> response = restTemplate.getForEntity(healthUrl, Map.class);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
@@ -128,16 +365,6 @@ public class AiResponseService {
         }
     }
 
-    private ContextMessage convertToContextMessage(AiGameMessageDto messageDto) {
-        return ContextMessage.builder()
-                .messageType(messageDto.getMessageType().toString())
-                .senderNickname(messageDto.getSenderNickname())
-                .content(messageDto.getContent())
-                .turnNumber(messageDto.getTurnNumber())
-                .messageOrder(messageDto.getMessageOrder())
-                .build();
-    }
-
     // Inner classes for request/response DTOs
     @lombok.Builder
     @lombok.Data
@@ -159,16 +386,37 @@ public class AiResponseService {
         
         @com.fasterxml.jackson.annotation.JsonProperty("turn_number")
         private int turnNumber;
+
+        // AI 턴 락 fencing token - 콜백(/response, /response/error)에 그대로 돌려받아 lease를 잃은 응답을 거부한다.
+        @com.fasterxml.jackson.annotation.JsonProperty("fencing_token")
+        private long fencingToken;
+
+        // 배치 호출에서 응답을 요청별로 나누기 위한 ID (단건 호출에서는 보내지 않음)
+        @com.fasterxml.jackson.annotation.JsonProperty("request_id")
+        @com.fasterxml.jackson.annotation.JsonInclude(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)
+        private String requestId;
     }
 
     @lombok.Builder
     @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
     public static class ContextMessage {
         private String messageType;
         private String senderNickname;
         private String content;
         private int turnNumber;
         private int messageOrder;
+
+        public static ContextMessage from(AiGameMessageDto messageDto) {
+            return ContextMessage.builder()
+                    .messageType(messageDto.getMessageType().toString())
+                    .senderNickname(messageDto.getSenderNickname())
+                    .content(messageDto.getContent())
+                    .turnNumber(messageDto.getTurnNumber())
+                    .messageOrder(messageDto.getMessageOrder())
+                    .build();
+        }
     }
 
     @lombok.Builder
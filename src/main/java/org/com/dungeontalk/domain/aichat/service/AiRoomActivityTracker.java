@@ -0,0 +1,162 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.entity.AiGameRoom;
+import org.com.dungeontalk.domain.auth.service.ValkeyService;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_ROOM_ACTIVITY_KEY;
+
+/**
+ * AI 게임방 마지막 활동 시간 추적
+ *
+ * - 메시지마다 MongoDB를 쓰지 않고 메모리에 게임방별 최신 활동 시간만 모아 둔다.
+ * - aichat.activity.flush-interval-ms 주기로 Valkey sorted set(ZADD GT 1회)과
+ *   MongoDB(bulk $max 1회)에 한 번에 반영한다.
+ * - 비활성 게임 정리와 최근 활동 게임방 조회는 sorted set(점수 = epoch ms)을 읽는다.
+ * - 지표: aichat.activity.pending, aichat.activity.flushed, aichat.activity.flush_failures
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiRoomActivityTracker {
+
+    private final ValkeyService valkeyService;
+    private final MongoTemplate mongoTemplate;
+    private final AiChatProperties aiChatProperties;
+    private final MeterRegistry meterRegistry;
+
+    // 반영 대기 중인 활동 (roomId -> epoch ms, 같은 게임방은 최신 값 하나만 유지)
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+    private Counter flushedCounter;
+    private Counter failureCounter;
+
+    @PostConstruct
+    public void start() {
+        flushedCounter = Counter.builder("aichat.activity.flushed")
+                .description("MongoDB/Valkey에 반영된 게임방 활동 수")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("aichat.activity.flush_failures")
+                .description("게임방 활동 반영 실패 횟수")
+                .register(meterRegistry);
+        Gauge.builder("aichat.activity.pending", pending, Map::size)
+                .description("반영 대기 중인 게임방 수")
+                .register(meterRegistry);
+
+        long intervalMs = aiChatProperties.getActivity().getFlushIntervalMs();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aichat-activity-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 게임방 활동 기록 (메모리만, 다음 flush 때 반영)
+     */
+    public void touch(String aiGameRoomId, LocalDateTime activityTime) {
+        pending.merge(aiGameRoomId, toEpochMillis(activityTime), Math::max);
+    }
+
+    /**
+     * 마지막 활동이 cutoffTime 이전인 게임방 ID (오래된 순, 최대 count개)
+     */
+    public List<String> findInactiveBefore(LocalDateTime cutoffTime, int count) {
+        return new ArrayList<>(valkeyService.rangeByScoreUpTo(AI_GAME_ROOM_ACTIVITY_KEY,
+                toEpochMillis(cutoffTime), count));
+    }
+
+    /**
+     * 최근 활동한 게임방 ID (최신 순, 최대 count개)
+     */
+    public List<String> findRecentlyActive(int count) {
+        return new ArrayList<>(valkeyService.reverseRange(AI_GAME_ROOM_ACTIVITY_KEY, count));
+    }
+
+    /**
+     * 종료된 게임방을 추적 대상에서 제거
+     */
+    public void forget(Collection<String> aiGameRoomIds) {
+        aiGameRoomIds.forEach(pending::remove);
+        valkeyService.removeFromSortedSet(AI_GAME_ROOM_ACTIVITY_KEY, aiGameRoomIds);
+    }
+
+    /**
+     * 모아 둔 활동을 Valkey/MongoDB에 반영 (실패 시 다음 주기에 재시도)
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> batch = new HashMap<>();
+        for (String roomId : List.copyOf(pending.keySet())) {
+            Long activityMillis = pending.remove(roomId);
+            if (activityMillis != null) {
+                batch.put(roomId, activityMillis);
+            }
+        }
+
+        try {
+            Map<String, Double> scores = new HashMap<>(batch.size());
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AiGameRoom.class);
+            batch.forEach((roomId, activityMillis) -> {
+                scores.put(roomId, activityMillis.doubleValue());
+                // 여러 노드가 순서 없이 반영해도 시간이 되돌아가지 않도록 $max
+                bulkOps.updateOne(new Query(Criteria.where("_id").is(roomId)),
+                        new Update().max("lastActivity", toLocalDateTime(activityMillis)));
+            });
+
+            valkeyService.addToSortedSetIfGreater(AI_GAME_ROOM_ACTIVITY_KEY, scores);
+            bulkOps.execute();
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            batch.forEach((roomId, activityMillis) -> pending.merge(roomId, activityMillis, Math::max));
+            failureCounter.increment();
+            log.warn("게임방 활동 반영 실패: rooms={}, error={}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        // 종료 전 남은 활동 반영
+        flush();
+    }
+}
@@ -0,0 +1,74 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * AI 서비스 동시 호출 제한 (노드 단위 bulkhead)
+ *
+ * AI 서비스가 느려져도 이 노드에서 동시에 대기하는 호출은 maxConcurrentCalls를 넘지 않는다.
+ * 자리가 없으면 bulkheadWaitMs만큼만 기다린 뒤 AI_SERVICE_BUSY로 즉시 실패한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiServiceBulkhead {
+
+    private final AiServiceProperties aiServiceProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Semaphore permits;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        int maxConcurrentCalls = aiServiceProperties.getMaxConcurrentCalls();
+        permits = new Semaphore(maxConcurrentCalls);
+
+        Gauge.builder("aichat.ai_service.inflight", permits, p -> maxConcurrentCalls - p.availablePermits())
+                .description("진행 중인 AI 서비스 호출 수")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("aichat.ai_service.rejected")
+                .description("bulkhead 포화로 거절된 AI 서비스 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * bulkhead 자리를 얻은 뒤 호출을 실행한다.
+     */
+    public <T> T execute(String aiGameRoomId, Supplier<T> call) {
+        if (!acquire()) {
+            rejectedCounter.increment();
+            log.warn("AI 서비스 동시 호출 한도 초과로 거절: roomId={}, maxConcurrentCalls={}",
+                     aiGameRoomId, aiServiceProperties.getMaxConcurrentCalls());
+            throw new AiChatException(ErrorCode.AI_SERVICE_BUSY);
+        }
+
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(aiServiceProperties.getBulkheadWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * AI 서비스 circuit breaker (노드 단위)
+ *
+ * - CLOSED: 최근 sliding-window-size개 호출 중 실패율이 failure-rate-threshold% 이상이면 OPEN
+ * - OPEN: open-duration-ms 동안 호출을 보내지 않고 AI_SERVICE_UNAVAILABLE로 즉시 실패시킨다.
+ *   (장애 중에도 호출마다 타임아웃까지 스레드를 붙잡지 않음)
+ * - HALF_OPEN: half-open-permitted-calls개의 시험 호출만 보내고, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * - 허가는 상태가 바뀔 때마다 올라가는 epoch로 발급하고, 이전 상태에서 허가받은 호출의 결과는 반영하지 않는다.
+ *   (CLOSED 때 보낸 호출이 HALF_OPEN 중에 끝나 시험 호출로 세어지지 않도록)
+ * - 실패로 세는 것은 시간 초과/연결 오류/5xx뿐이다. (isServiceFailure, 4xx나 요청 때문에 난 처리 오류는 제외)
+ * - 지표: aichat.circuit_breaker.state(0=closed, 1=open, 2=half_open),
+ *   aichat.circuit_breaker.transitions(to), aichat.circuit_breaker.rejected
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiServiceCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final AiChatProperties aiChatProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<State, Counter> transitionCounters = new EnumMap<>(State.class);
+    private Counter rejectedCounter;
+
+    // synchronized로 보호
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    @PostConstruct
+    public void init() {
+        window = new boolean[Math.max(1, aiChatProperties.getCircuitBreaker().getSlidingWindowSize())];
+
+        for (State target : State.values()) {
+            transitionCounters.put(target, Counter.builder("aichat.circuit_breaker.transitions")
+                    .description("AI 서비스 circuit breaker 상태 전환 수")
+                    .tag("to", target.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        rejectedCounter = Counter.builder("aichat.circuit_breaker.rejected")
+                .description("circuit breaker가 열려 보내지 않은 AI 서비스 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("aichat.circuit_breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("AI 서비스 circuit breaker 상태 (0=closed, 1=open, 2=half_open)")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 대기열에 올리기 전 확인 - 열려 있고 아직 시험 호출 시점이 아니면 false
+     */
+    public synchronized boolean isCallPermitted() {
+        if (!aiChatProperties.getCircuitBreaker().isEnabled()) {
+            return true;
+        }
+        if (state == State.OPEN && !openExpired()) {
+            rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 호출 직전 허가 (HALF_OPEN이면 시험 호출 자리를 차지한다)
+     * 허가받은 호출은 받은 허가(epoch)로 onSuccess / onFailure / onIgnored 중 하나를 반드시 알려야 한다.
+     *
+     * @return 허가 epoch, 차단 중이면 empty
+     */
+    public synchronized OptionalLong tryAcquirePermission() {
+        AiChatProperties.CircuitBreaker config = aiChatProperties.getCircuitBreaker();
+        if (!config.isEnabled() || state == State.CLOSED) {
+            return OptionalLong.of(epoch);
+        }
+        if (state == State.OPEN) {
+            if (!openExpired()) {
+                rejectedCounter.increment();
+                return OptionalLong.empty();
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (halfOpenInFlight + halfOpenSuccesses < config.getHalfOpenPermittedCalls()) {
+            halfOpenInFlight++;
+            return OptionalLong.of(epoch);
+        }
+        rejectedCounter.increment();
+        return OptionalLong.empty();
+    }
+
+    public synchronized void onSuccess(long permission) {
+        if (permission != epoch) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            halfOpenSuccesses++;
+            if (halfOpenSuccesses >= aiChatProperties.getCircuitBreaker().getHalfOpenPermittedCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long permission) {
+        if (permission != epoch) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            AiChatProperties.CircuitBreaker config = aiChatProperties.getCircuitBreaker();
+            if (windowCount >= config.getMinimumCalls()
+                    && windowFailures * 100 >= config.getFailureRateThreshold() * windowCount) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * AI 서비스 상태와 무관하게 끝난 호출 (노드 내부 거절 등) - 시험 호출 자리만 돌려준다.
+     */
+    public synchronized void onIgnored(long permission) {
+        if (permission == epoch && state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+        }
+    }
+
+    /**
+     * AI 서비스 장애로 볼 오류인지 (시간 초과/연결 오류/5xx)
+     * 4xx나 응답 해석 실패처럼 요청 때문에 난 오류는 AI 서비스가 응답한 것이므로 장애로 세지 않는다.
+     */
+    public static boolean isServiceFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AiChatException aiChatException
+                    && aiChatException.getErrorCode() == ErrorCode.AI_RESPONSE_TIMEOUT_ERROR) {
+                return true;
+            }
+            // JSON 해석 실패도 IOException이지만 연결 문제가 아니다.
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof TimeoutException || cause instanceof ResourceAccessException
+                    || cause instanceof IOException) {
+                return true;
+            }
+            if (cause instanceof RestClientResponseException responseException) {
+                return responseException.getStatusCode().is5xxServerError();
+            }
+        }
+        return false;
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private boolean openExpired() {
+        return System.currentTimeMillis() - openedAt >= aiChatProperties.getCircuitBreaker().getOpenDurationMs();
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        epoch++;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (target == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (target == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+
+        transitionCounters.get(target).increment();
+        if (target == State.CLOSED) {
+            log.info("AI 서비스 circuit breaker 복구: {} -> {}", previous, target);
+        } else {
+            log.warn("AI 서비스 circuit breaker 상태 변경: {} -> {}", previous, target);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 서비스 동시 호출 한도 자동 조절 (AIMD, 노드 단위)
+ *
+ * - 호출이 성공하고 응답 시간이 aichat.limiter.latency-threshold-ms 이내면 한도를 조금씩 늘린다. (한도만큼 성공하면 +1)
+ * - 실패(연결 오류/시간 초과/5xx)하거나 느린 호출이면 backoff-ratio를 곱해 줄인다.
+ *   한 번 줄인 뒤에는 그 전에 시작한 호출(같은 과부하를 겪은 호출)의 실패로 다시 줄이지 않는다. (한도 창마다 최대 한 번)
+ * - 한도는 min-limit ~ ai.service.max-concurrent-calls 사이에서 움직이며, AiGenerationScheduler가 이 한도만큼만 호출을 보낸다.
+ * - 한도를 거의 채워 쓰고 있을 때(진행 중인 호출이 한도 - 1 이상)만 늘린다. (한가할 때 한도가 의미 없이 커지지 않도록)
+ * - 지표: aichat.limiter.limit
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiServiceConcurrencyLimiter {
+
+    private final AiChatProperties aiChatProperties;
+    private final AiServiceProperties aiServiceProperties;
+    private final MeterRegistry meterRegistry;
+
+    // synchronized로 보호
+    private double limit;
+    private long lastDecreaseAt;
+
+    @PostConstruct
+    public void init() {
+        limit = Math.min(aiChatProperties.getLimiter().getInitialLimit(), aiServiceProperties.getMaxConcurrentCalls());
+        lastDecreaseAt = System.nanoTime();
+        Gauge.builder("aichat.limiter.limit", this, limiter -> limiter.getLimit())
+                .description("AI 서비스 동시 호출 한도 (자동 조절)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 동시 호출 한도
+     */
+    public synchronized int getLimit() {
+        if (!aiChatProperties.getLimiter().isEnabled()) {
+            return aiServiceProperties.getMaxConcurrentCalls();
+        }
+        return (int) limit;
+    }
+
+    /**
+     * 호출 결과 반영
+     *
+     * @param startedAtNanos 호출 시작 시각 (System.nanoTime)
+     * @param inflight       이 호출을 포함해 진행 중이던 호출 수
+     * @param failed         AI 서비스 실패 여부 (시간 초과/연결 오류/5xx, AiServiceCircuitBreaker.isServiceFailure)
+     */
+    public synchronized void onSample(long startedAtNanos, int inflight, boolean failed) {
+        AiChatProperties.Limiter config = aiChatProperties.getLimiter();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        double previous = limit;
+        if (failed || now - startedAtNanos > TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMs())) {
+            // 직전에 줄인 시점보다 먼저 시작한 호출은 이미 반영된 과부하이므로 다시 줄이지 않는다.
+            if (startedAtNanos - lastDecreaseAt >= 0) {
+                limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+                lastDecreaseAt = now;
+            }
+        } else if (inflight + 1 >= limit) {
+            limit = Math.min(aiServiceProperties.getMaxConcurrentCalls(), limit + 1.0 / limit);
+        }
+
+        if ((int) previous != (int) limit) {
+            log.debug("AI 서비스 동시 호출 한도 변경: {} -> {}", (int) previous, (int) limit);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import lombok.RequiredArgsConstructor;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.domain.aichat.dto.response.AiStreamChunkResponse;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * AI 응답 delta를 게임방 구독자에게 중계
+ *
+ * 토큰마다 STOMP 프레임을 보내지 않도록 streamFlushIntervalMs 동안 들어온 delta는 한 조각으로 묶는다.
+ * 첫 delta는 바로 전송되므로 첫 토큰까지의 체감 지연은 늘어나지 않는다.
+ * 다른 노드에 같은 방 구독자가 있으면 조각도 Redis로 중계된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AiStreamRelay {
+
+    private final RoomMessageRouter roomMessageRouter;
+    private final AiServiceProperties aiServiceProperties;
+
+    /**
+     * 스트림 1건에 대한 중계기 생성
+     */
+    public Stream open(String aiGameRoomId, String messageId, int turnNumber) {
+        return new Stream(aiGameRoomId, messageId, turnNumber);
+    }
+
+    public class Stream implements Consumer<String> {
+
+        private final String aiGameRoomId;
+        private final String messageId;
+        private final int turnNumber;
+
+        private final StringBuilder pending = new StringBuilder();
+        private long lastSentAt;
+        private int sequence;
+
+        private Stream(String aiGameRoomId, String messageId, int turnNumber) {
+            this.aiGameRoomId = aiGameRoomId;
+            this.messageId = messageId;
+            this.turnNumber = turnNumber;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        @Override
+        public void accept(String delta) {
+            pending.append(delta);
+            if (System.currentTimeMillis() - lastSentAt >= aiServiceProperties.getStreamFlushIntervalMs()) {
+                flush();
+            }
+        }
+
+        /**
+         * 묶여 있는 delta 전송 (스트림 종료 시 호출)
+         */
+        public void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            roomMessageRouter.send(RoomMessageKind.AI_CHAT, aiGameRoomId, new AiStreamChunkResponse(
+                    messageId, aiGameRoomId, turnNumber, ++sequence, pending.toString()));
+            pending.setLength(0);
+            lastSentAt = System.currentTimeMillis();
+        }
+    }
+}
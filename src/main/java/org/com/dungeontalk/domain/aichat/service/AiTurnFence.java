@@ -0,0 +1,59 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 턴 fencing token 저장소 검사 (MongoDB ai_game_turn_fences)
+ *
+ * AiTurnLock(Valkey)은 lease라서, 락 보유 여부를 확인한 뒤 저장하기 전에 lease가 끝나면 두 요청이 함께 저장할 수 있다.
+ * 그래서 토큰 검사를 저장소 쪽 조건부 쓰기로 한다.
+ *
+ * - 락을 잡으면 게임방 문서의 token을 새 토큰으로 올린다. ($max - 늦게 도착한 이전 토큰이 되돌리지 못함)
+ * - AI 응답을 반영하기 전에 token이 자신의 토큰이고 아직 반영되지 않았을 때만 committedToken을 기록한다. (단일 문서 조건부 update)
+ *   다른 요청이 락을 잡은 뒤 도착한 응답과 같은 토큰의 중복 콜백은 여기서 거부된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiTurnFence {
+
+    private static final String COLLECTION_NAME = "ai_game_turn_fences";
+    private static final String TOKEN = "token";
+    private static final String COMMITTED_TOKEN = "committedToken";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * 새로 발급된 토큰을 게임방의 현재 토큰으로 기록 (락 획득 직후)
+     */
+    public void advance(String aiGameRoomId, long token) {
+        mongoTemplate.upsert(byId(aiGameRoomId), new Update().max(TOKEN, token), COLLECTION_NAME);
+    }
+
+    /**
+     * 토큰이 게임방의 현재 토큰이고 아직 반영되지 않았으면 반영 완료로 표시
+     *
+     * @return 표시했으면 true, 다른 토큰이 턴을 잡았거나 이미 반영된 토큰이면 false
+     */
+    public boolean tryCommit(String aiGameRoomId, long token) {
+        Query query = new Query(Criteria.where("_id").is(aiGameRoomId)
+                .and(TOKEN).is(token)
+                .and(COMMITTED_TOKEN).ne(token));
+        if (mongoTemplate.updateFirst(query, new Update().set(COMMITTED_TOKEN, token), COLLECTION_NAME)
+                .getModifiedCount() == 0) {
+            log.warn("AI 턴 fencing token 검사 실패: roomId={}, token={}", aiGameRoomId, token);
+            return false;
+        }
+        return true;
+    }
+
+    private static Query byId(String aiGameRoomId) {
+        return new Query(Criteria.where("_id").is(aiGameRoomId));
+    }
+}
@@ -0,0 +1,210 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.*;
+
+/**
+ * AI 응답 턴 락 (fencing token 기반 lease)
+ *
+ * - 획득 시 게임방별로 단조 증가하는 fencing token을 발급하고, 락 값으로 저장한다.
+ * - 해제/갱신은 락 값이 자신의 토큰일 때만 수행한다. (만료 후 다른 요청이 잡은 락을 지우지 않음)
+ * - 보유 중에는 lease의 1/3 주기로 만료를 연장하므로, 노드가 죽으면 lease 시간 안에 락이 풀린다.
+ * - 토큰은 AI 서비스 요청에 함께 보내고, 응답 반영 시 AiTurnFence(저장소 조건부 쓰기)로 확인해 lease를 잃은 뒤 도착한 응답은 거부한다.
+ * - 지표: aichat.turn_lock.wait(result=acquired/busy), aichat.turn_lock.hold (히스토그램)
+ */
+@Slf4j
+@Component
+public class AiTurnLock {
+
+    private static final String FENCE_PREFIX = "ai_game_turn_fence:";
+    // 토큰 카운터 유지 기간 - 이 기간 동안 락 획득이 없으면 초기화되어도 살아 있는 보유자가 없다.
+    private static final long FENCE_TTL_SECONDS = 86400;
+
+    // 락이 없을 때만 토큰 발급 + 락 설정 (KEYS[1]=락, KEYS[2]=토큰 카운터, ARGV[1]=lease ms, ARGV[2]=카운터 TTL)
+    // 카운터가 없으면 서버 시각(μs)에서 시작한다. 만료로 초기화되어도 이전 토큰보다 커야 AiTurnFence가 새 토큰을 받아들인다.
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return false end " +
+            "if redis.call('EXISTS', KEYS[2]) == 0 then " +
+            "  local now = redis.call('TIME') " +
+            "  redis.call('SET', KEYS[2], now[1] .. string.format('%06d', tonumber(now[2]))) " +
+            "end " +
+            "local token = redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "redis.call('SET', KEYS[1], token, 'PX', ARGV[1]) " +
+            "return token",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> sessionRedis;
+    private final AiChatProperties aiChatProperties;
+    private final MeterRegistry meterRegistry;
+
+    // 이 노드가 보유 중인 lease (roomId -> lease)
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService renewer;
+    private Timer acquiredTimer;
+    private Timer busyTimer;
+    private Timer holdTimer;
+
+    public AiTurnLock(
+            @Qualifier("sessionRedisTemplate") RedisTemplate<String, String> sessionRedis,
+            AiChatProperties aiChatProperties,
+            MeterRegistry meterRegistry) {
+        this.sessionRedis = sessionRedis;
+        this.aiChatProperties = aiChatProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aichat-turn-lock-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        acquiredTimer = waitTimer("acquired");
+        busyTimer = waitTimer("busy");
+        holdTimer = Timer.builder("aichat.turn_lock.hold")
+                .description("AI 턴 락 보유 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 락 획득 시도 (대기하지 않음)
+     *
+     * @return 획득 시 fencing token, 이미 다른 요청이 보유 중이면 empty
+     */
+    public OptionalLong tryAcquire(String aiGameRoomId) {
+        long startedAt = System.nanoTime();
+        long leaseMs = aiChatProperties.getSession().getTurnLockLeaseMs();
+
+        Long token = sessionRedis.execute(ACQUIRE_SCRIPT,
+                List.of(lockKey(aiGameRoomId), FENCE_PREFIX + aiGameRoomId),
+                String.valueOf(leaseMs), String.valueOf(FENCE_TTL_SECONDS));
+
+        if (token == null) {
+            busyTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return OptionalLong.empty();
+        }
+        acquiredTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        long renewIntervalMs = Math.max(leaseMs / 3, 1);
+        Lease lease = new Lease(token, System.nanoTime());
+        lease.renewal = renewer.scheduleAtFixedRate(() -> renew(aiGameRoomId, lease, leaseMs),
+                renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+        Lease previous = leases.put(aiGameRoomId, lease);
+        if (previous != null) {
+            previous.renewal.cancel(false);
+        }
+        return OptionalLong.of(token);
+    }
+
+    /**
+     * 토큰이 현재 락 값과 같을 때만 해제
+     *
+     * @return 해제되었으면 true, 이미 만료되었거나 다른 토큰이 보유 중이면 false
+     */
+    public boolean release(String aiGameRoomId, long token) {
+        stopRenewal(aiGameRoomId, token);
+        Long deleted = sessionRedis.execute(RELEASE_SCRIPT, List.of(lockKey(aiGameRoomId)), String.valueOf(token));
+        boolean released = deleted != null && deleted == 1L;
+        if (!released) {
+            log.warn("AI 턴 락 해제 실패 (lease 만료 또는 다른 보유자): roomId={}, token={}", aiGameRoomId, token);
+        }
+        return released;
+    }
+
+    /**
+     * 토큰 확인 없이 해제 (턴 종료/일시정지 등 사용자 조작 경로에서만 사용, AI 응답 처리 경로는 release(token))
+     */
+    public void forceRelease(String aiGameRoomId) {
+        Lease lease = leases.remove(aiGameRoomId);
+        if (lease != null) {
+            lease.renewal.cancel(false);
+            holdTimer.record(System.nanoTime() - lease.acquiredAt, TimeUnit.NANOSECONDS);
+        }
+        sessionRedis.delete(lockKey(aiGameRoomId));
+    }
+
+    private void renew(String aiGameRoomId, Lease lease, long leaseMs) {
+        try {
+            Long renewed = sessionRedis.execute(RENEW_SCRIPT, List.of(lockKey(aiGameRoomId)),
+                    String.valueOf(lease.token), String.valueOf(leaseMs));
+            if (renewed == null || renewed != 1L) {
+                log.warn("AI 턴 락 lease 상실: roomId={}, token={}", aiGameRoomId, lease.token);
+                stopRenewal(aiGameRoomId, lease.token);
+            }
+        } catch (Exception e) {
+            // 다음 주기에 재시도, 그 사이 lease가 만료되면 다른 요청이 락을 가져갈 수 있다.
+            log.warn("AI 턴 락 갱신 실패: roomId={}, error={}", aiGameRoomId, e.getMessage());
+        }
+    }
+
+    private void stopRenewal(String aiGameRoomId, long token) {
+        Lease lease = leases.get(aiGameRoomId);
+        if (lease != null && lease.token == token && leases.remove(aiGameRoomId, lease)) {
+            lease.renewal.cancel(false);
+            holdTimer.record(System.nanoTime() - lease.acquiredAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer waitTimer(String result) {
+        return Timer.builder("aichat.turn_lock.wait")
+                .description("AI 턴 락 획득 시도 시간")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String lockKey(String aiGameRoomId) {
+        return AI_GAME_TURN_LOCK_PREFIX + aiGameRoomId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private static final class Lease {
+        private final long token;
+        private final long acquiredAt;
+        private volatile ScheduledFuture<?> renewal;
+
+        private Lease(long token, long acquiredAt) {
+            this.token = token;
+            this.acquiredAt = acquiredAt;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.com.dungeontalk.domain.aichat.util;
 
 import lombok.RequiredArgsConstructor;
-import org.com.dungeontalk.domain.aichat.repository.AiGameRoomRepository;
-import org.com.dungeontalk.domain.member.repository.MemberRepository;
+import org.com.dungeontalk.domain.aichat.service.AiGameRoomCache;
+import org.com.dungeontalk.domain.member.service.MemberSummaryCache;
 import org.com.dungeontalk.global.exception.ErrorCode;
 import org.com.dungeontalk.global.exception.customException.AiChatException;
 import org.springframework.stereotype.Component;
@@ -14,8 +14,8 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class AiGameValidator {
 
-    private final AiGameRoomRepository aiGameRoomRepository;
-    private final MemberRepository memberRepository;
+    private final AiGameRoomCache aiGameRoomCache;
+    private final MemberSummaryCache memberSummaryCache;
 
     /**
      * AI 게임방 존재 여부 검증
@@ -23,7 +23,7 @@ public class AiGameValidator {
      * @throws AiChatException 게임방이 존재하지 않는 경우
      */
     public void validateGameRoom(String aiGameRoomId) {
-        if (!aiGameRoomRepository.existsById(aiGameRoomId)) {
+        if (aiGameRoomCache.find(aiGameRoomId).isEmpty()) {
             throw new AiChatException(ErrorCode.AI_GAME_ROOM_NOT_FOUND);
         }
     }
@@ -34,8 +34,9 @@ public class AiGameValidator {
      * @throws AiChatException 멤버가 존재하지 않는 경우
      */
     public void validateSender(String senderId) {
-        memberRepository.findById(senderId)
-                .orElseThrow(() -> new AiChatException(ErrorCode.MEMBER_NOT_FOUND));
+        if (memberSummaryCache.findNickName(senderId).isEmpty()) {
+            throw new AiChatException(ErrorCode.MEMBER_NOT_FOUND);
+        }
     }
 
     /**
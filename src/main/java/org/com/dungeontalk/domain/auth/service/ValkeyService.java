@@ -2,10 +2,20 @@ package org.com.dungeontalk.domain.auth.service;
 
 import org.com.dungeontalk.domain.member.repository.MemberRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -13,6 +23,41 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class ValkeyService {
 
+    // 키가 있을 때만 INCR (없으면 0 - 초기값을 정한 뒤 SEED_AND_INCREMENT_SCRIPT로 다시 호출)
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "return redis.call('INCR', KEYS[1])",
+            Long.class);
+
+    // 키가 없으면 초기값 + 만료로 생성(SET NX)한 뒤 INCR (ARGV[1]=초기값, ARGV[2]=ttl)
+    // 동시에 초기화해도 SET NX는 한 번만 성공하므로 같은 값이 두 번 발급되지 않는다.
+    private static final RedisScript<Long> SEED_AND_INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2], 'NX') " +
+            "return redis.call('INCR', KEYS[1])",
+            Long.class);
+
+    // hash 전체 교체 + 만료 설정 (ARGV[1]=ttl, ARGV[2..]=field/value)
+    private static final RedisScript<Long> REPLACE_HASH_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    // hash가 있을 때만 필드 갱신 + 만료 연장 (ARGV[1]=ttl, ARGV[2..]=field/value)
+    private static final RedisScript<Long> UPDATE_HASH_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    // 값이 일치할 때만 삭제 (다른 노드가 다시 잡은 락을 지우지 않기 위함)
+    private static final RedisScript<Long> DELETE_IF_EQUALS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
     private final RedisTemplate<String, String> cacheRedis;
     private final RedisTemplate<String, String> sessionRedis;
     private final MemberRepository memberRepository;
@@ -60,31 +105,125 @@ public class ValkeyService {
         sessionRedis.opsForValue().set(key, value, timeoutSeconds, TimeUnit.SECONDS);
     }
 
+    // 키가 존재할 때만 값과 만료 시간 갱신 (SET XX EX, 존재 확인 + 저장을 왕복 1회로 처리)
+    public boolean setIfExists(String key, String value, int timeoutSeconds) {
+        Boolean result = sessionRedis.opsForValue().setIfPresent(key, value, timeoutSeconds, TimeUnit.SECONDS);
+        return result != null && result;
+    }
+
     // 키가 존재하지 않을 때만 설정 (락 구현용)
     public boolean setIfNotExists(String key, String value, int timeoutSeconds) {
         Boolean result = sessionRedis.opsForValue().setIfAbsent(key, value, timeoutSeconds, TimeUnit.SECONDS);
         return result != null && result;
     }
 
+    // 값이 일치할 때만 삭제 (락 해제용)
+    public boolean deleteIfEquals(String key, String value) {
+        Long deleted = sessionRedis.execute(DELETE_IF_EQUALS_SCRIPT, List.of(key), value);
+        return deleted != null && deleted == 1L;
+    }
+
     // 키 삭제
     public void delete(String key) {
         sessionRedis.delete(key);
     }
 
+    // 여러 키 한 번에 삭제 (DEL 1회)
+    public long deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long deleted = sessionRedis.delete(keys);
+        return deleted != null ? deleted : 0L;
+    }
+
     // 키 존재 여부 확인
     public boolean exists(String key) {
         Boolean result = sessionRedis.hasKey(key);
         return result != null && result;
     }
 
-    // 키의 만료 시간 설정
-    public void expire(String key, int timeoutSeconds) {
-        sessionRedis.expire(key, timeoutSeconds, TimeUnit.SECONDS);
+    // 키의 만료 시간 설정 (키가 없으면 false)
+    public boolean expire(String key, int timeoutSeconds) {
+        Boolean result = sessionRedis.expire(key, timeoutSeconds, TimeUnit.SECONDS);
+        return result != null && result;
     }
 
-    // 값 조회
+    // 값 조회 (키가 없으면 null - 존재 확인과 조회를 GET 한 번으로 처리)
     public String get(String key) {
         return sessionRedis.opsForValue().get(key);
     }
 
+    // 키가 있을 때만 원자적 증가 (키가 없으면 0)
+    public long incrementIfExists(String key) {
+        Long result = sessionRedis.execute(INCREMENT_IF_EXISTS_SCRIPT, List.of(key));
+        return result != null ? result : 0L;
+    }
+
+    // 키가 없으면 초기값으로 생성(만료 시간 설정)한 뒤 원자적 증가
+    public long incrementWithSeed(String key, long seed, int timeoutSeconds) {
+        Long result = sessionRedis.execute(SEED_AND_INCREMENT_SCRIPT, List.of(key),
+                String.valueOf(seed), String.valueOf(timeoutSeconds));
+        return result != null ? result : 0L;
+    }
+
+    // hash 전체 저장 (기존 키는 교체) + 만료 시간 설정
+    public void putHashWithExpiration(String key, Map<String, String> fields, int timeoutSeconds) {
+        sessionRedis.execute(REPLACE_HASH_SCRIPT, List.of(key), hashScriptArgs(timeoutSeconds, fields));
+    }
+
+    // hash가 존재할 때만 일부 필드 갱신 + 만료 연장 (HSET, 왕복 1회)
+    public boolean updateHashIfExists(String key, Map<String, String> fields, int timeoutSeconds) {
+        Long result = sessionRedis.execute(UPDATE_HASH_IF_EXISTS_SCRIPT, List.of(key), hashScriptArgs(timeoutSeconds, fields));
+        return result != null && result == 1L;
+    }
+
+    // hash 전체 조회 (없으면 빈 Map)
+    public Map<String, String> getHash(String key) {
+        Map<String, String> entries = sessionRedis.<String, String>opsForHash().entries(key);
+        return entries != null ? entries : Map.of();
+    }
+
+    private static Object[] hashScriptArgs(int timeoutSeconds, Map<String, String> fields) {
+        Object[] args = new Object[1 + fields.size() * 2];
+        args[0] = String.valueOf(timeoutSeconds);
+        int i = 1;
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            args[i++] = entry.getKey();
+            args[i++] = entry.getValue();
+        }
+        return args;
+    }
+
+    // sorted set에 여러 멤버 추가, 기존 점수보다 클 때만 갱신 (ZADD GT, 왕복 1회)
+    public void addToSortedSetIfGreater(String key, Map<String, Double> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        Set<Tuple> tuples = new HashSet<>(scores.size());
+        scores.forEach((member, score) -> tuples.add(new DefaultTuple(member.getBytes(StandardCharsets.UTF_8), score)));
+        sessionRedis.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zAdd(
+                key.getBytes(StandardCharsets.UTF_8), tuples, RedisZSetCommands.ZAddArgs.empty().gt()));
+    }
+
+    // 점수가 max 이하인 멤버를 낮은 점수부터 최대 count개 조회 (ZRANGEBYSCORE LIMIT)
+    public Set<String> rangeByScoreUpTo(String key, double max, long count) {
+        Set<String> members = sessionRedis.opsForZSet().rangeByScore(key, Double.NEGATIVE_INFINITY, max, 0, count);
+        return members != null ? members : Set.of();
+    }
+
+    // 점수가 높은 멤버부터 최대 count개 조회 (ZREVRANGE)
+    public Set<String> reverseRange(String key, long count) {
+        Set<String> members = sessionRedis.opsForZSet().reverseRange(key, 0, count - 1);
+        return members != null ? members : Set.of();
+    }
+
+    // sorted set에서 여러 멤버 제거 (ZREM 1회)
+    public void removeFromSortedSet(String key, Collection<String> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        sessionRedis.opsForZSet().remove(key, members.toArray());
+    }
+
 }
@@ -0,0 +1,64 @@
+package org.com.dungeontalk.domain.chat.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 MongoDB 인덱스 자동 생성 설정
+ *
+ * 메시지 히스토리 커서 조회(roomId + createdAt desc + _id desc)를 인덱스만으로 처리한다.
+ * 클라이언트 임시 ID 조회(roomId + senderId + clientMessageId)는 clientMessageId가 있는 문서만 인덱싱한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIndexConfig {
+
+    private static final String COLLECTION_NAME = "chat_messages";
+    private static final String ROOM_CREATED_ID_INDEX = "idx_room_created_id_desc";
+    private static final String ROOM_SENDER_CLIENT_ID_INDEX = "idx_room_sender_client_id";
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void initIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION_NAME);
+
+        createIndexIfNotExists(indexOps, ROOM_CREATED_ID_INDEX, new Index()
+            .on("roomId", Sort.Direction.ASC)
+            .on("createdAt", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named(ROOM_CREATED_ID_INDEX)
+            .background());
+
+        createIndexIfNotExists(indexOps, ROOM_SENDER_CLIENT_ID_INDEX, new Index()
+            .on("roomId", Sort.Direction.ASC)
+            .on("senderId", Sort.Direction.ASC)
+            .on("clientMessageId", Sort.Direction.ASC)
+            .partial(PartialIndexFilter.of(Criteria.where("clientMessageId").exists(true)))
+            .named(ROOM_SENDER_CLIENT_ID_INDEX)
+            .background());
+    }
+
+    private void createIndexIfNotExists(IndexOperations indexOps, String indexName, Index index) {
+        try {
+            boolean indexExists = indexOps.getIndexInfo().stream()
+                .anyMatch(info -> indexName.equals(info.getName()));
+
+            if (!indexExists) {
+                indexOps.ensureIndex(index);
+                log.info("채팅 메시지 인덱스 생성 완료: {}", indexName);
+            }
+        } catch (Exception e) {
+            log.warn("채팅 메시지 인덱스 {} 생성 실패: {}", indexName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.com.dungeontalk.domain.chat.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 일반 채팅 모듈 설정값들을 외부화한 Properties 클래스
+ * application-dev.properties의 chat.* 설정들을 자동으로 바인딩합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat")
+public class ChatProperties {
+
+    /**
+     * 메시지 쓰기 지연(write-behind) 저장 설정
+     */
+    private WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * 채팅방 설정
+     */
+    private Room room = new Room();
+
+    /**
+     * 접속자 수 브로드캐스트 설정
+     */
+    private Presence presence = new Presence();
+
+    @Data
+    public static class Presence {
+        /**
+         * 채팅방별 접속자 수 브로드캐스트를 모으는 시간 (ms)
+         */
+        private long debounceMs = 250;
+    }
+
+    @Data
+    public static class Room {
+        /**
+         * 채팅방별 정원이 지정되지 않았을 때 사용하는 기본 최대 동시 접속자 수
+         */
+        private int defaultCapacity = 3;
+
+        /**
+         * 채팅방 생성 시 지정할 수 있는 최대 정원 (요청 검증 상한 100 이하로 설정)
+         */
+        private int maxCapacity = 100;
+    }
+
+    @Data
+    public static class WriteBehind {
+        /**
+         * write-behind 사용 여부 (false면 메시지마다 동기 저장)
+         */
+        private boolean enabled = true;
+
+        /**
+         * 채팅방별 버퍼가 이 크기에 도달하면 즉시 flush
+         */
+        private int batchSize = 100;
+
+        /**
+         * 주기적 flush 간격 (ms)
+         */
+        private long flushIntervalMs = 200;
+
+        /**
+         * 전체 미저장 메시지 최대 개수 (초과 시 backpressure)
+         */
+        private int maxPending = 10000;
+
+        /**
+         * 버퍼가 가득 찼을 때 대기할 최대 시간 (ms), 초과 시 동기 저장으로 전환
+         */
+        private long offerTimeoutMs = 50;
+
+        /**
+         * 장애 대비 spill 저널 디렉터리
+         */
+        private String spillDirectory = "./data/chat-spill";
+
+        /**
+         * 저널 기록마다 fsync 수행 여부 (true면 전원 장애까지 보호, 대신 느림)
+         */
+        private boolean fsync = false;
+    }
+}
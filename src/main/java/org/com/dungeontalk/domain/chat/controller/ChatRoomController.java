@@ -1,6 +1,7 @@
 package org.com.dungeontalk.domain.chat.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.com.dungeontalk.domain.chat.dto.ChatMessageDto;
@@ -10,6 +11,7 @@ import org.com.dungeontalk.domain.chat.dto.request.ChatRoomCreateRequestDto;
 import org.com.dungeontalk.domain.chat.dto.response.ChatMessageResponse;
 import org.com.dungeontalk.domain.chat.service.ChatMessageService;
 import org.com.dungeontalk.domain.chat.service.ChatRoomService;
+import org.com.dungeontalk.global.common.dto.CursorPageResponse;
 import org.com.dungeontalk.global.rsData.RsData;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -35,7 +38,7 @@ public class ChatRoomController {
      * 채팅방 생성
      */
     @PostMapping("/room")
-    public RsData<ChatRoomDto> createRoom(@RequestBody ChatRoomCreateRequestDto req) {
+    public RsData<ChatRoomDto> createRoom(@Valid @RequestBody ChatRoomCreateRequestDto req) {
         ChatRoomDto createdRoom = chatRoomService.createRoom(req);
         return RsData.of("200", "채팅방 생성 완료", createdRoom);
     }
@@ -109,4 +112,17 @@ public class ChatRoomController {
         return RsData.of("200", "채팅 메시지 목록 조회 성공", messages);
     }
 
+    /**
+     * 메시지 목록 커서 조회 (최신순, 응답의 nextCursor로 이전 메시지 이어서 조회)
+     */
+    @GetMapping("/room/{roomId}/messages/cursor")
+    public RsData<CursorPageResponse<ChatMessageResponse>> getMessagesByCursor(
+        @PathVariable String roomId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPageResponse<ChatMessageResponse> messages = chatMessageService.getMessagesByRoomCursor(roomId, cursor, size);
+        return RsData.of("200", "채팅 메시지 목록 조회 성공", messages);
+    }
+
 }
@@ -1,5 +1,6 @@
 package org.com.dungeontalk.domain.chat.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Getter;
@@ -13,6 +14,11 @@ import org.com.dungeontalk.domain.chat.entity.ChatMessage;
 public class ChatMessageDto {
 
     private String messageId;
+
+    // 보낸 클라이언트가 붙인 임시 ID (TALK 메시지에만 포함)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clientMessageId;
+
     private String roomId;
     private String senderId;
     private String receiverId;
@@ -21,10 +27,15 @@ public class ChatMessageDto {
     private MessageType type;
     private LocalDateTime createdAt;
 
+    // 입장/퇴장 직후 접속자 수 (JOIN/LEAVE 메시지에만 포함)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long connectedCount;
+
     // 닉네임 포함 변환
     public static ChatMessageDto fromEntity(ChatMessage msg, String senderNickname) {
         return ChatMessageDto.builder()
             .messageId(msg.getMessageId())
+            .clientMessageId(msg.getClientMessageId())
             .roomId(msg.getRoomId())
             .senderId(msg.getSenderId())
             .receiverId(msg.getReceiverId())
@@ -17,6 +17,7 @@ public class ChatRoomDto {
     private String roomName;
     private String mode;
     private List<String> participants;
+    private Integer capacity;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -28,6 +29,7 @@ public class ChatRoomDto {
             .roomType(room.getRoomType() != null ? room.getRoomType().name() : "UNKNOWN")
             .mode(room.getMode().name())
             .participants(room.getParticipants())
+            .capacity(room.getCapacity())
             .createdAt(room.getCreatedAt())
             .updatedAt(room.getUpdatedAt())
             .build();
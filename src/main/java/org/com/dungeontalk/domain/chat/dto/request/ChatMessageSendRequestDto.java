@@ -1,5 +1,6 @@
 package org.com.dungeontalk.domain.chat.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Getter;
 import lombok.Setter;
 import org.com.dungeontalk.domain.chat.common.MessageType;
@@ -7,7 +8,9 @@ import org.com.dungeontalk.domain.chat.common.MessageType;
 @Getter
 @Setter
 public class ChatMessageSendRequestDto {
-    private String messageId;
+    // 클라이언트가 붙인 임시 ID (재전송/에코 대조용). 메시지 ID(_id)는 항상 서버가 생성한다.
+    @JsonAlias("messageId")
+    private String clientMessageId;
     private String roomId;              // 클라이언트에서 보내야 함
     private String senderId;
     private String senderNickname;
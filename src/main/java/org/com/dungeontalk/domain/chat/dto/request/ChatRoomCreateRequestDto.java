@@ -1,5 +1,6 @@
 package org.com.dungeontalk.domain.chat.dto.request;
 
+import jakarta.validation.constraints.Positive;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,4 +14,7 @@ public class ChatRoomCreateRequestDto {
     private ChatRoomType roomType;
     private ChatMode mode;
     private List<String> participantIds;
+
+    @Positive(message = "채팅방 정원은 1명 이상이어야 합니다")
+    private Integer capacity;   // null이면 chat.room.default-capacity, 상한은 chat.room.max-capacity (ChatRoomService)
 }
@@ -1,6 +1,5 @@
 package org.com.dungeontalk.domain.chat.entity;
 
-import jakarta.persistence.Id;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.com.dungeontalk.domain.chat.common.MessageType;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "chat_messages")
@@ -19,7 +19,9 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public class ChatMessage {
 
     @Id
-    private String messageId;    // UUID v7
+    private String messageId;    // UUID v7 (_id), 항상 서버에서 생성
+
+    private String clientMessageId;  // (선택) 클라이언트 임시 ID - roomId + senderId 범위에서만 의미가 있음
 
     private String roomId;       // ★ 필수: 채팅방 ID (foreign key 역할)
     private String senderId;     // 보내는 사람
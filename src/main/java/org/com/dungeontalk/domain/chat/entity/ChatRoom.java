@@ -36,6 +36,7 @@ public class ChatRoom {
     @Enumerated(EnumType.STRING)
     private ChatMode mode;                  // SINGLE or MULTI
     private List<String> participants;      // RDB 회원 ID
+    private Integer capacity;               // 최대 동시 접속자 수 (null이면 chat.room.default-capacity)
 
 //    @Builder.Default
 //    private List<ChatMessage> messages = new ArrayList<>();
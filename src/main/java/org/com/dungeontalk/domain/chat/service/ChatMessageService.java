@@ -1,46 +1,47 @@
 package org.com.dungeontalk.domain.chat.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.com.dungeontalk.domain.chat.common.MessageType;
+import org.com.dungeontalk.domain.chat.config.ChatProperties;
 import org.com.dungeontalk.domain.chat.dto.ChatMessageDto;
-import org.com.dungeontalk.domain.chat.dto.ConnectedCountMessageDto;
 import org.com.dungeontalk.domain.chat.dto.request.ChatMessageSendRequestDto;
 import org.com.dungeontalk.domain.chat.dto.response.ChatMessageResponse;
 import org.com.dungeontalk.domain.chat.entity.ChatMessage;
 import org.com.dungeontalk.domain.chat.entity.ChatRoom;
 import org.com.dungeontalk.domain.chat.repository.ChatMessageRepository;
 import org.com.dungeontalk.domain.chat.repository.ChatRoomRepository;
-import org.com.dungeontalk.domain.member.entity.Member;
-import org.com.dungeontalk.domain.member.repository.MemberRepository;
+import org.com.dungeontalk.domain.member.service.MemberSummaryCache;
+import org.com.dungeontalk.global.common.dto.CursorPageResponse;
 import org.com.dungeontalk.global.redis.ChatRoomMemberManager;
-import org.com.dungeontalk.global.redis.RedisPublisher;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.com.dungeontalk.global.util.MessageCursor;
 import org.com.dungeontalk.global.util.UuidV7Creator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     private final ChatMessageRepository chatMessageRepository;
+    private final MongoTemplate mongoTemplate;
     private final ChatRoomRepository chatRoomRepository;
-    private final MemberRepository memberRepository;
-    private final RedisPublisher redisPublisher;
+    private final MemberSummaryCache memberSummaryCache;
+    private final RoomMessageRouter roomMessageRouter;
     private final ChatRoomMemberManager chatRoomMemberManager;
-    private final ObjectMapper objectMapper;
-
-    private static final int MAX_ROOM_CAPACITY = 3;
+    private final ChatMessageWriteBehindQueue chatMessageWriteBehindQueue;
+    private final ConnectedCountBroadcaster connectedCountBroadcaster;
+    private final ChatProperties chatProperties;
 
     /**
      * STOMP 메시지 분기 처리 (Controller에서 단일 호출)
@@ -55,34 +56,28 @@ public class ChatMessageService {
             default -> throw new IllegalArgumentException("유효하지 않은 메시지 타입");
         }
 
-        if (messageSendRequestDto.getType().equals("TALK")) {
-            ChatMessageDto response = handleTalkMessage(messageSendRequestDto);
+        // 메시지 브로드캐스트 (로컬 구독자 직접 전달, 다른 노드 구독자가 있을 때만 Redis 발행)
+        roomMessageRouter.send(RoomMessageKind.CHAT, messageSendRequestDto.getRoomId(), chatMessageDto);
 
-            // ✅ 메시지 브로드캐스트 추가
-            messagingTemplate.convertAndSend(
-                "/sub/chat/room/" + messageSendRequestDto.getRoomId(),
-                response
-            );
+        // 접속자 수 브로드캐스트 예약 (인원이 바뀌는 JOIN/LEAVE만, 채팅방별 debounce 후 별도 스레드에서 전송)
+        if (chatMessageDto.getConnectedCount() != null) {
+            connectedCountBroadcaster.onPresenceChanged(messageSendRequestDto.getRoomId());
         }
 
-        // 메시지 브로드캐스트
-        String json = objectMapper.writeValueAsString(chatMessageDto);
-        redisPublisher.publish(messageSendRequestDto.getRoomId(), json);
-
-        // 접속자 수 실시간 브로드캐스트
-        broadcastConnectedCount(messageSendRequestDto.getRoomId());
-
         return chatMessageDto;
     }
 
     /**
      * TALK 메시지 처리
+     * MongoDB 저장은 write-behind 큐에 맡기고, 브로드캐스트는 저장 완료를 기다리지 않는다.
+     * messageId는 _id이자 커서 정렬 기준(UUID v7)이므로 클라이언트 값을 쓰지 않고, 클라이언트 ID는 clientMessageId로 따로 저장한다.
      */
     public ChatMessageDto handleTalkMessage(ChatMessageSendRequestDto dto) {
-        Member sender = getSender(dto);
+        String senderNickname = getSenderNickname(dto);
 
         ChatMessage message = ChatMessage.builder()
-            .messageId(dto.getMessageId() != null ? dto.getMessageId() : UuidV7Creator.create())
+            .messageId(UuidV7Creator.create())
+            .clientMessageId(dto.getClientMessageId())
             .roomId(dto.getRoomId())
             .senderId(dto.getSenderId())
             .receiverId(dto.getReceiverId())
@@ -92,30 +87,27 @@ public class ChatMessageService {
             .updatedAt(LocalDateTime.now())
             .build();
 
-        ChatMessage saved = chatMessageRepository.save(message);
-        return ChatMessageDto.fromEntity(saved, sender.getNickName());
+        chatMessageWriteBehindQueue.enqueue(message);
+        return ChatMessageDto.fromEntity(message, senderNickname);
     }
 
     /**
      * JOIN 메시지 처리
      */
     public ChatMessageDto handleJoinMessage(ChatMessageSendRequestDto dto) {
-        Member sender = getSender(dto);
         String roomId = dto.getRoomId();
-        String nickName = sender.getNickName();
+        String nickName = getSenderNickname(dto);
 
-        // Redis 인원 제한 확인
-        Set<String> currentUsers = chatRoomMemberManager.getUserList(roomId);
-        if (currentUsers.size() >= MAX_ROOM_CAPACITY) {
+        ChatRoom room = chatRoomRepository.findById(roomId)
+            .orElseThrow(() -> new IllegalArgumentException("채팅방 없음"));
+
+        // Redis 인원 제한 확인 + 접속자 등록 (단일 스크립트)
+        long connectedCount = chatRoomMemberManager.admit(roomId, nickName, getCapacity(room));
+        if (connectedCount == ChatRoomMemberManager.ROOM_FULL) {
             throw new IllegalStateException("채팅방 인원이 가득 찼습니다.");
         }
 
-        // Redis에 접속자 등록
-        chatRoomMemberManager.addUser(roomId, nickName);
-
         // MongoDB에 참여자 목록 추가
-        ChatRoom room = chatRoomRepository.findById(roomId)
-            .orElseThrow(() -> new IllegalArgumentException("채팅방 없음"));
         if (!room.getParticipants().contains(dto.getSenderId())) {
             room.getParticipants().add(dto.getSenderId());
             chatRoomRepository.save(room);
@@ -137,19 +129,20 @@ public class ChatMessageService {
             .build();
 
         ChatMessage saved = chatMessageRepository.save(message);
-        return ChatMessageDto.fromEntity(saved, nickName);
+        ChatMessageDto result = ChatMessageDto.fromEntity(saved, nickName);
+        result.setConnectedCount(connectedCount);
+        return result;
     }
 
     /**
      * LEAVE 메시지 처리
      */
     public ChatMessageDto handleLeaveMessage(ChatMessageSendRequestDto dto) {
-        Member sender = getSender(dto);
         String roomId = dto.getRoomId();
-        String nickName = sender.getNickName();
+        String nickName = getSenderNickname(dto);
 
         // Redis 접속자 제거
-        chatRoomMemberManager.removeUser(roomId, nickName);
+        long connectedCount = chatRoomMemberManager.leave(roomId, nickName);
 
         // MongoDB 참여자 목록 제거
         ChatRoom room = chatRoomRepository.findById(roomId)
@@ -175,59 +168,68 @@ public class ChatMessageService {
             .build();
 
         ChatMessage saved = chatMessageRepository.save(message);
-        return ChatMessageDto.fromEntity(saved, nickName);
+        ChatMessageDto result = ChatMessageDto.fromEntity(saved, nickName);
+        result.setConnectedCount(connectedCount);
+        return result;
     }
 
     /**
-     * 실시간 접속자 수 브로드캐스트
+     * 채팅방 내 메시지 페이징 조회
      */
-    public void broadcastConnectedCount(String roomId) {
-        try {
-            long count = chatRoomMemberManager.getUserCount(roomId);
-
-            ConnectedCountMessageDto broadcastMsg = ConnectedCountMessageDto.builder()
-                .roomId(roomId)
-                .connectedCount(count)
-                .type(MessageType.CONNECTED_COUNT)
-                .build();
-
-            String json = objectMapper.writeValueAsString(broadcastMsg);
-            redisPublisher.publish(roomId, json);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("접속자 수 전송 실패", e);
-        }
+    public Page<ChatMessageResponse> getMessagesByRoomId(String roomId, Pageable pageable) {
+        Page<ChatMessage> messagePage = chatMessageRepository.findByRoomId(roomId, pageable);
+        Map<String, String> senderIdToNicknameMap = getSenderNicknames(messagePage.getContent());
+
+        // 메시지를 DTO로 변환하면서 senderNickname 매핑
+        return messagePage.map(msg -> toResponse(msg, senderIdToNicknameMap));
     }
 
     /**
-     * 채팅방 내 메시지 페이징 조회
+     * 채팅방 내 메시지 커서 조회 (최신순, count 쿼리 없음)
+     * cursor가 없으면 가장 최신 메시지부터 조회한다.
      */
-    public Page<ChatMessageResponse> getMessagesByRoomId(String roomId, Pageable pageable) {
-        Page<ChatMessage> messagePage = chatMessageRepository.findByRoomId(roomId, pageable);
+    public CursorPageResponse<ChatMessageResponse> getMessagesByRoomCursor(String roomId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        List<ChatMessage> messages = mongoTemplate.find(
+            MessageCursor.keysetQuery("roomId", roomId, MessageCursor.decode(cursor), pageSize + 1),
+            ChatMessage.class);
+        Map<String, String> senderIdToNicknameMap = getSenderNicknames(messages);
+
+        List<ChatMessageResponse> responses = messages.stream()
+            .map(msg -> toResponse(msg, senderIdToNicknameMap))
+            .toList();
+        return CursorPageResponse.of(responses, pageSize,
+            response -> new MessageCursor(response.getCreatedAt(), response.getId()));
+    }
 
-        // senderId 목록 추출
-        List<String> senderIds = messagePage.getContent().stream()
+    // senderId로 회원 닉네임 일괄 조회 (닉네임 캐시 경유)
+    private Map<String, String> getSenderNicknames(List<ChatMessage> messages) {
+        List<String> senderIds = messages.stream()
             .map(ChatMessage::getSenderId)
             .distinct()
             .collect(Collectors.toList());
 
-        // PostgreSQL에서 senderId로 회원 닉네임 조회
-        List<Member> members = memberRepository.findByIdIn(senderIds);
-        Map<String, String> senderIdToNicknameMap = members.stream()
-            .collect(Collectors.toMap(Member::getId, Member::getNickName));
+        return memberSummaryCache.findNickNames(senderIds);
+    }
 
-        // 메시지를 DTO로 변환하면서 senderNickname 매핑
-        return messagePage.map(msg -> ChatMessageResponse.builder()
+    private ChatMessageResponse toResponse(ChatMessage msg, Map<String, String> senderIdToNicknameMap) {
+        return ChatMessageResponse.builder()
             .id(msg.getMessageId())
             .roomId(msg.getRoomId())
             .senderId(msg.getSenderId())
             .senderNickname(senderIdToNicknameMap.getOrDefault(msg.getSenderId(), "알 수 없음"))
             .message(msg.getContent())
             .createdAt(msg.getCreatedAt())
-            .build());
+            .build();
+    }
+
+    private int getCapacity(ChatRoom room) {
+        return room.getCapacity() != null ? room.getCapacity() : chatProperties.getRoom().getDefaultCapacity();
     }
 
-    private Member getSender(ChatMessageSendRequestDto dto) {
-        return memberRepository.findById(dto.getSenderId())
+    private String getSenderNickname(ChatMessageSendRequestDto dto) {
+        return memberSummaryCache.findNickName(dto.getSenderId())
             .orElseThrow(() -> new IllegalArgumentException("발신자 정보 없음"));
     }
 
@@ -0,0 +1,176 @@
+package org.com.dungeontalk.domain.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.chat.entity.ChatMessage;
+import org.com.dungeontalk.global.util.UuidV7Creator;
+
+/**
+ * write-behind 버퍼의 장애 대비 저널 (append-only, 세그먼트 단위)
+ *
+ * - 메시지는 브로드캐스트 전에 현재 세그먼트 파일에 한 줄(JSON)로 기록된다.
+ * - 세그먼트는 일정 시간이 지나면 봉인(seal)되고, 봉인된 세그먼트의 메시지가
+ *   모두 MongoDB에 저장되면 파일이 삭제된다.
+ * - 기동 시 남아 있는 세그먼트는 재적재 대상이다. (messageId가 _id이므로 재적재는 멱등)
+ */
+@Slf4j
+class ChatMessageSpillJournal {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long SEGMENT_ROTATE_MS = 5_000;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+
+    private Segment active;
+
+    ChatMessageSpillJournal(String directory, boolean fsync, ObjectMapper objectMapper) {
+        this.directory = Paths.get(directory);
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 spill 디렉터리 생성 실패: " + directory, e);
+        }
+    }
+
+    /**
+     * 이전 프로세스가 남긴 세그먼트 파일 목록 (새 세그먼트를 열기 전에 호출)
+     */
+    synchronized List<Path> leftoverSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Path::compareTo);
+        return segments;
+    }
+
+    /**
+     * 세그먼트 파일의 메시지를 읽어온다.
+     */
+    List<ChatMessage> read(Path segment) throws IOException {
+        List<ChatMessage> messages = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    messages.add(objectMapper.readValue(line, ChatMessage.class));
+                } catch (IOException e) {
+                    // 기록 도중 종료되어 잘린 마지막 줄
+                    log.warn("손상된 spill 레코드 무시: segment={}", segment.getFileName());
+                }
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 메시지를 현재 세그먼트에 기록하고, 해당 세그먼트를 반환한다.
+     */
+    synchronized Segment append(ChatMessage message) throws IOException {
+        if (active == null) {
+            active = openSegment();
+        }
+
+        byte[] json = objectMapper.writeValueAsBytes(message);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1);
+        buffer.put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            active.channel.write(buffer);
+        }
+        if (fsync) {
+            active.channel.force(false);
+        }
+
+        active.outstanding.incrementAndGet();
+        return active;
+    }
+
+    /**
+     * 세그먼트에 속한 메시지 하나가 MongoDB에 저장되었음을 표시
+     */
+    void markFlushed(Segment segment) {
+        if (segment.outstanding.decrementAndGet() == 0 && segment.sealed) {
+            segment.delete();
+        }
+    }
+
+    /**
+     * 오래된 활성 세그먼트를 봉인하고 새 세그먼트로 교체
+     */
+    synchronized void rotateIfDue() {
+        if (active == null || System.currentTimeMillis() - active.openedAt < SEGMENT_ROTATE_MS) {
+            return;
+        }
+        seal(active);
+        active = null;
+    }
+
+    synchronized void close() {
+        if (active != null) {
+            seal(active);
+            active = null;
+        }
+    }
+
+    private void seal(Segment segment) {
+        segment.sealed = true;
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("spill 세그먼트 닫기 실패: {}", segment.path.getFileName(), e);
+        }
+        if (segment.outstanding.get() == 0) {
+            segment.delete();
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = directory.resolve(UuidV7Creator.create() + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new Segment(path, channel);
+    }
+
+    static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final long openedAt = System.currentTimeMillis();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean sealed;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("spill 세그먼트 삭제 실패: {}", path.getFileName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.com.dungeontalk.domain.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.chat.config.ChatProperties;
+import org.com.dungeontalk.domain.chat.entity.ChatMessage;
+import org.com.dungeontalk.domain.chat.repository.ChatMessageRepository;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ChatMessage 쓰기 지연(write-behind) 저장 큐
+ *
+ * STOMP 인바운드 스레드에서는 spill 저널 기록 + 메모리 버퍼 적재만 하고,
+ * MongoDB 저장은 채팅방 단위로 모아서 bulk insert 한다.
+ * - flush 조건: 방 버퍼가 batchSize에 도달하거나 flushIntervalMs 경과
+ * - backpressure: 미저장 메시지가 maxPending을 넘으면 offerTimeoutMs 대기 후 동기 저장으로 전환
+ * - 내구성: 저널에 기록된 메시지는 프로세스가 죽어도 재기동 시 재적재된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageWriteBehindQueue {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatProperties chatProperties;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, RoomBuffer> roomBuffers = new ConcurrentHashMap<>();
+
+    private ChatProperties.WriteBehind config;
+    private Semaphore pendingPermits;
+    private ChatMessageSpillJournal journal;
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void start() throws IOException {
+        config = chatProperties.getWriteBehind();
+        if (!config.isEnabled()) {
+            log.info("채팅 메시지 write-behind 비활성화: 메시지마다 동기 저장");
+            return;
+        }
+
+        pendingPermits = new Semaphore(config.getMaxPending());
+        journal = new ChatMessageSpillJournal(config.getSpillDirectory(), config.isFsync(), objectMapper);
+        recoverSpilledMessages();
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        flushExecutor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "chat-write-behind-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushAll,
+            config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+
+        log.info("채팅 메시지 write-behind 시작: batchSize={}, flushIntervalMs={}, maxPending={}",
+            config.getBatchSize(), config.getFlushIntervalMs(), config.getMaxPending());
+    }
+
+    /**
+     * 메시지 저장 예약
+     * 저널 기록 후 반환되므로, 반환 이후 브로드캐스트된 메시지는 유실되지 않는다.
+     */
+    public void enqueue(ChatMessage message) {
+        if (!config.isEnabled()) {
+            chatMessageRepository.save(message);
+            return;
+        }
+
+        if (!acquirePermit()) {
+            log.warn("write-behind 버퍼 포화로 동기 저장: roomId={}, messageId={}",
+                message.getRoomId(), message.getMessageId());
+            chatMessageRepository.save(message);
+            return;
+        }
+
+        ChatMessageSpillJournal.Segment segment;
+        try {
+            segment = journal.append(message);
+        } catch (IOException e) {
+            pendingPermits.release();
+            log.error("spill 저널 기록 실패로 동기 저장: roomId={}, error={}", message.getRoomId(), e.getMessage());
+            chatMessageRepository.save(message);
+            return;
+        }
+
+        RoomBuffer buffer = roomBuffers.computeIfAbsent(message.getRoomId(), roomId -> new RoomBuffer());
+        if (buffer.add(new PendingMessage(message, segment)) >= config.getBatchSize()
+            && buffer.flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                buffer.flushScheduled.set(false);
+                flushRoom(message.getRoomId(), buffer);
+            });
+        }
+    }
+
+    /**
+     * 모든 채팅방 버퍼 flush (주기 실행)
+     */
+    void flushAll() {
+        try {
+            roomBuffers.forEach(this::flushRoom);
+            journal.rotateIfDue();
+        } catch (Exception e) {
+            // 예약 작업이 예외로 중단되지 않도록 방어
+            log.error("write-behind 주기 flush 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flushRoom(String roomId, RoomBuffer buffer) {
+        List<PendingMessage> batch = buffer.drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            insertBatch(batch.stream().map(PendingMessage::message).toList());
+        } catch (Exception e) {
+            log.error("채팅 메시지 bulk 저장 실패, 다음 주기에 재시도: roomId={}, size={}, error={}",
+                roomId, batch.size(), e.getMessage());
+            buffer.requeue(batch);
+            return;
+        }
+
+        for (PendingMessage pending : batch) {
+            journal.markFlushed(pending.segment());
+        }
+        pendingPermits.release(batch.size());
+        log.debug("채팅 메시지 bulk 저장 완료: roomId={}, size={}", roomId, batch.size());
+    }
+
+    /**
+     * unordered bulk insert - 이미 저장된 messageId(_id 중복)는 성공으로 간주한다.
+     */
+    private void insertBatch(List<ChatMessage> messages) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class)
+                .insert(messages)
+                .execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream()
+                .mapToInt(BulkWriteError::getCode)
+                .allMatch(code -> code == DUPLICATE_KEY_ERROR);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 이전 프로세스가 저장하지 못하고 남긴 저널 재적재
+     */
+    private void recoverSpilledMessages() throws IOException {
+        for (Path segment : journal.leftoverSegments()) {
+            try {
+                List<ChatMessage> messages = journal.read(segment);
+                for (int from = 0; from < messages.size(); from += config.getBatchSize()) {
+                    insertBatch(messages.subList(from, Math.min(from + config.getBatchSize(), messages.size())));
+                }
+                Files.deleteIfExists(segment);
+                log.info("spill 저널 재적재 완료: segment={}, messages={}", segment.getFileName(), messages.size());
+            } catch (Exception e) {
+                // 파일은 남겨두고 다음 기동 시 다시 시도
+                log.error("spill 저널 재적재 실패: segment={}, error={}", segment.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return pendingPermits.tryAcquire(config.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor == null) {
+            return;
+        }
+
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 남은 버퍼를 마지막으로 저장 (실패분은 저널에 남아 다음 기동 시 재적재)
+        roomBuffers.forEach(this::flushRoom);
+        journal.close();
+    }
+
+    private record PendingMessage(ChatMessage message, ChatMessageSpillJournal.Segment segment) {
+    }
+
+    private static final class RoomBuffer {
+
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private List<PendingMessage> messages = new ArrayList<>();
+
+        synchronized int add(PendingMessage message) {
+            messages.add(message);
+            return messages.size();
+        }
+
+        synchronized List<PendingMessage> drain() {
+            List<PendingMessage> drained = messages;
+            messages = new ArrayList<>();
+            return drained;
+        }
+
+        synchronized void requeue(List<PendingMessage> failed) {
+            failed.addAll(messages);
+            messages = failed;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static org.com.dungeontalk.domain.chat.dto.ChatRoomDto.fromEntity;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.com.dungeontalk.domain.chat.config.ChatProperties;
 import org.com.dungeontalk.domain.chat.dto.ChatRoomDto;
 import org.com.dungeontalk.domain.chat.dto.request.ChatRoomCreateRequestDto;
 import org.com.dungeontalk.domain.chat.entity.ChatRoom;
@@ -16,13 +17,17 @@ import org.springframework.stereotype.Service;
 public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatProperties chatProperties;
 
     // 채팅방 생성
     public ChatRoomDto createRoom(ChatRoomCreateRequestDto req) {
+        validateCapacity(req.getCapacity());
+
         ChatRoom chatRoom = ChatRoom.builder()
             .roomName(req.getRoomName())
             .roomType(req.getRoomType())
             .mode(req.getMode())
+            .capacity(req.getCapacity())
             .createdAt(LocalDateTime.now())
             .updatedAt(LocalDateTime.now())
             .build();
@@ -31,6 +36,14 @@ public class ChatRoomService {
         return fromEntity(saved);
     }
 
+    // 정원은 지정하지 않거나(null, 기본 정원 사용) 1 ~ chat.room.max-capacity
+    private void validateCapacity(Integer capacity) {
+        int maxCapacity = chatProperties.getRoom().getMaxCapacity();
+        if (capacity != null && (capacity < 1 || capacity > maxCapacity)) {
+            throw new IllegalArgumentException("채팅방 정원은 1 ~ " + maxCapacity + "명이어야 합니다: " + capacity);
+        }
+    }
+
     // 채팅방 단일 조회
     public ChatRoomDto getRoomById(String roomId) {
         ChatRoom room = chatRoomRepository.findById(roomId)
@@ -0,0 +1,89 @@
+package org.com.dungeontalk.domain.chat.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.chat.common.MessageType;
+import org.com.dungeontalk.domain.chat.config.ChatProperties;
+import org.com.dungeontalk.domain.chat.dto.ConnectedCountMessageDto;
+import org.com.dungeontalk.global.redis.ChatRoomMemberManager;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.com.dungeontalk.global.redis.RoomMessageRouter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 접속자 수 브로드캐스트 (채팅방별 debounce)
+ *
+ * JOIN/LEAVE가 발생하면 채팅방을 예약만 하고 즉시 반환한다. (요청 스레드에서 Redis 조회/발행 없음)
+ * debounceMs 뒤에 접속자 수를 한 번 조회해, 마지막으로 보낸 값과 다를 때만 브로드캐스트한다.
+ * 접속자 수는 모든 노드 공통이므로 마지막으로 보낸 값도 Redis에서 비교한다. (노드별 사본은 다른 노드의 발행을 모름)
+ * 입장/퇴장이 몰려도 채팅방당 window마다 최대 1회만 전송된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectedCountBroadcaster {
+
+    // 느린 세션에는 마지막 접속자 수만 전달되면 충분하다.
+    private static final String CONFLATION_KEY = "connected-count";
+
+    private final ChatRoomMemberManager chatRoomMemberManager;
+    private final RoomMessageRouter roomMessageRouter;
+    private final ChatProperties chatProperties;
+
+    private final Set<String> pendingRooms = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-presence-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 채팅방 인원 변경 알림 (window 안의 추가 변경은 같은 브로드캐스트로 합쳐진다)
+     */
+    public void onPresenceChanged(String roomId) {
+        if (pendingRooms.add(roomId)) {
+            scheduler.schedule(() -> flush(roomId),
+                chatProperties.getPresence().getDebounceMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(String roomId) {
+        // 조회 전에 예약을 해제해야 조회 이후의 변경이 다음 window로 예약된다.
+        pendingRooms.remove(roomId);
+
+        try {
+            long count = chatRoomMemberManager.countIfChanged(roomId);
+            if (count == ChatRoomMemberManager.COUNT_UNCHANGED) {
+                return;
+            }
+
+            ConnectedCountMessageDto broadcastMsg = ConnectedCountMessageDto.builder()
+                .roomId(roomId)
+                .connectedCount(count)
+                .type(MessageType.CONNECTED_COUNT)
+                .build();
+
+            roomMessageRouter.send(RoomMessageKind.CHAT, roomId, broadcastMsg, CONFLATION_KEY);
+        } catch (Exception e) {
+            log.warn("접속자 수 브로드캐스트 실패: roomId={}, error={}", roomId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
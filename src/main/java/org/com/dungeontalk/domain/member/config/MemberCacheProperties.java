@@ -0,0 +1,35 @@
+package org.com.dungeontalk.domain.member.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 닉네임 캐시 설정
+ * application-dev.properties의 member.cache.* 설정들을 바인딩합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "member.cache")
+public class MemberCacheProperties {
+
+    /**
+     * 로컬(노드 메모리) 캐시 최대 항목 수
+     */
+    private int localMaxSize = 50000;
+
+    /**
+     * 로컬 캐시 항목 만료 시간 (초)
+     */
+    private int localTtlSeconds = 600;
+
+    /**
+     * Valkey 캐시 항목 만료 시간 (초)
+     */
+    private int valkeyTtlSeconds = 3600;
+
+    /**
+     * 존재하지 않는 회원(negative) 캐시 만료 시간 (초) - 로컬/Valkey 공통
+     */
+    private int negativeTtlSeconds = 60;
+}
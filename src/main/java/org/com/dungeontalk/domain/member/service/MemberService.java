@@ -19,6 +19,7 @@ public class MemberService {
     private final BCryptPasswordEncoder passwordEncoder;
     private final MemberRepository memberRepository;
     private final JwtService jwtService;
+    private final MemberSummaryCache memberSummaryCache;
 
     // 회원가입 메서드
     @Transactional
@@ -36,6 +37,9 @@ public class MemberService {
         Member member = registerRequest.toEntity(encodedPassword);
         memberRepository.save(member);
 
+        // 가입 전 조회로 남아 있을 수 있는 negative 캐시 제거 (회원 정보 변경 시에도 동일하게 호출)
+        memberSummaryCache.invalidate(member.getId());
+
         return new RegisterResponse(member.getId(), member.getName(), member.getNickName());
     }
 
@@ -0,0 +1,259 @@
+package org.com.dungeontalk.domain.member.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.domain.member.config.MemberCacheProperties;
+import org.com.dungeontalk.domain.member.entity.Member;
+import org.com.dungeontalk.domain.member.repository.MemberRepository;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 닉네임 2단계 캐시 (로컬 LRU → 캐시용 Valkey → PostgreSQL)
+ *
+ * - 일괄 조회: 로컬 miss만 MGET 한 번, Valkey miss만 findByIdIn 한 번으로 처리
+ * - negative 캐싱: 존재하지 않는 회원 ID도 짧은 TTL로 캐시해 반복 DB 조회를 막는다.
+ * - 무효화: 로컬 + Valkey 키 삭제 후 다른 노드 로컬 캐시에 pub/sub으로 전파
+ * - 지표: cache.* (cache=memberSummary, 로컬), member.cache.remote(result=hit/miss), member.cache.lookup(지연)
+ */
+@Slf4j
+@Component
+public class MemberSummaryCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "member:nick:";
+    private static final String FOUND_PREFIX = "n:";
+    private static final String MISSING_VALUE = "x";
+    private static final String INVALIDATION_CHANNEL = "member.cache.invalidate";
+    private static final String SEPARATOR = "|";
+
+    private final MemberRepository memberRepository;
+    private final RedisTemplate<String, String> cacheRedis;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final NodeIdentity nodeIdentity;
+    private final MemberCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, MemberSummary> localCache;
+    private Counter remoteHits;
+    private Counter remoteMisses;
+    private Timer lookupTimer;
+
+    public MemberSummaryCache(
+            MemberRepository memberRepository,
+            @Qualifier("cacheRedisTemplate") RedisTemplate<String, String> cacheRedis,
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            NodeIdentity nodeIdentity,
+            MemberCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.memberRepository = memberRepository;
+        this.cacheRedis = cacheRedis;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.nodeIdentity = nodeIdentity;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        long foundTtlNanos = TimeUnit.SECONDS.toNanos(properties.getLocalTtlSeconds());
+        long missingTtlNanos = TimeUnit.SECONDS.toNanos(properties.getNegativeTtlSeconds());
+
+        localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfter(new Expiry<String, MemberSummary>() {
+                    @Override
+                    public long expireAfterCreate(String key, MemberSummary value, long currentTime) {
+                        return value.isMissing() ? missingTtlNanos : foundTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, MemberSummary value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, MemberSummary value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "memberSummary");
+        remoteHits = Counter.builder("member.cache.remote").tag("result", "hit").register(meterRegistry);
+        remoteMisses = Counter.builder("member.cache.remote").tag("result", "miss").register(meterRegistry);
+        lookupTimer = Timer.builder("member.cache.lookup")
+                .description("회원 닉네임 조회 지연 (로컬/Valkey/DB 포함)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 회원 닉네임 조회 (존재하지 않는 회원이면 empty)
+     */
+    public Optional<String> findNickName(String memberId) {
+        return Optional.ofNullable(findNickNames(List.of(memberId)).get(memberId));
+    }
+
+    /**
+     * 회원 닉네임 일괄 조회 (존재하지 않는 회원 ID는 결과에서 제외)
+     */
+    public Map<String, String> findNickNames(Collection<String> memberIds) {
+        return lookupTimer.record(() -> {
+            Map<String, String> result = new HashMap<>();
+            List<String> localMisses = new ArrayList<>();
+
+            for (String memberId : new LinkedHashSet<>(memberIds)) {
+                MemberSummary cached = localCache.getIfPresent(memberId);
+                if (cached == null) {
+                    localMisses.add(memberId);
+                } else if (!cached.isMissing()) {
+                    result.put(memberId, cached.nickName());
+                }
+            }
+
+            if (!localMisses.isEmpty()) {
+                resolveRemote(localMisses).forEach((memberId, summary) -> {
+                    localCache.put(memberId, summary);
+                    if (!summary.isMissing()) {
+                        result.put(memberId, summary.nickName());
+                    }
+                });
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 회원 정보 변경 시 캐시 무효화 (로컬 + Valkey + 다른 노드)
+     */
+    public void invalidate(String memberId) {
+        localCache.invalidate(memberId);
+        try {
+            cacheRedis.delete(KEY_PREFIX + memberId);
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeIdentity.getNodeId() + SEPARATOR + memberId);
+        } catch (Exception e) {
+            // Valkey 항목은 TTL 만료까지 이전 닉네임이 남을 수 있음
+            log.warn("회원 닉네임 캐시 무효화 실패: memberId={}, error={}", memberId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 수신 ("{nodeId}|{memberId}")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separatorIndex = body.indexOf(SEPARATOR);
+        if (separatorIndex < 0 || nodeIdentity.isSelf(body.substring(0, separatorIndex))) {
+            return;
+        }
+        localCache.invalidate(body.substring(separatorIndex + 1));
+    }
+
+    /**
+     * Valkey(MGET 1회) → PostgreSQL(findByIdIn 1회) 순으로 조회하고, DB 조회 결과는 Valkey에 적재
+     */
+    private Map<String, MemberSummary> resolveRemote(List<String> memberIds) {
+        Map<String, MemberSummary> resolved = new HashMap<>();
+        List<String> dbMisses = new ArrayList<>();
+
+        List<String> values = readValkey(memberIds);
+        for (int i = 0; i < memberIds.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            if (value == null) {
+                dbMisses.add(memberIds.get(i));
+            } else {
+                resolved.put(memberIds.get(i), MISSING_VALUE.equals(value)
+                        ? MemberSummary.MISSING
+                        : new MemberSummary(value.substring(FOUND_PREFIX.length())));
+            }
+        }
+        remoteHits.increment(memberIds.size() - dbMisses.size());
+        remoteMisses.increment(dbMisses.size());
+
+        if (dbMisses.isEmpty()) {
+            return resolved;
+        }
+
+        Map<String, MemberSummary> loaded = new HashMap<>();
+        for (String memberId : dbMisses) {
+            loaded.put(memberId, MemberSummary.MISSING);
+        }
+        for (Member member : memberRepository.findByIdIn(dbMisses)) {
+            loaded.put(member.getId(), new MemberSummary(member.getNickName()));
+        }
+
+        writeValkey(loaded);
+        resolved.putAll(loaded);
+        return resolved;
+    }
+
+    private List<String> readValkey(List<String> memberIds) {
+        try {
+            return cacheRedis.opsForValue().multiGet(memberIds.stream().map(id -> KEY_PREFIX + id).toList());
+        } catch (Exception e) {
+            log.warn("회원 닉네임 Valkey 조회 실패, DB로 대체: error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeValkey(Map<String, MemberSummary> loaded) {
+        Expiration foundTtl = Expiration.seconds(properties.getValkeyTtlSeconds());
+        Expiration missingTtl = Expiration.seconds(properties.getNegativeTtlSeconds());
+
+        try {
+            cacheRedis.executePipelined((RedisCallback<Object>) connection -> {
+                loaded.forEach((memberId, summary) -> connection.stringCommands().set(
+                        (KEY_PREFIX + memberId).getBytes(StandardCharsets.UTF_8),
+                        (summary.isMissing() ? MISSING_VALUE : FOUND_PREFIX + summary.nickName())
+                                .getBytes(StandardCharsets.UTF_8),
+                        summary.isMissing() ? missingTtl : foundTtl,
+                        RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("회원 닉네임 Valkey 적재 실패: size={}, error={}", loaded.size(), e.getMessage());
+        }
+    }
+
+    private record MemberSummary(String nickName, boolean isMissing) {
+
+        private static final MemberSummary MISSING = new MemberSummary(null, true);
+
+        private MemberSummary(String nickName) {
+            this(nickName != null ? nickName : "", false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.com.dungeontalk.global.common.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.com.dungeontalk.global.util.MessageCursor;
+
+/**
+ * keyset(커서) 페이징 응답
+ * nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회된다. (마지막 페이지면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    /**
+     * size + 1건까지 조회한 결과로 응답 생성
+     */
+    public static <T> CursorPageResponse<T> of(List<T> fetched, int size, Function<T, MessageCursor> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPageResponse<>(fetched, null, false);
+        }
+        List<T> page = fetched.subList(0, size);
+        return new CursorPageResponse<>(page, cursorOf.apply(page.get(size - 1)).encode(), true);
+    }
+}
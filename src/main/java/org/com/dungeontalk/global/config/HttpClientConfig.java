@@ -1,29 +1,76 @@
 package org.com.dungeontalk.global.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import lombok.RequiredArgsConstructor;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
+@RequiredArgsConstructor
 public class HttpClientConfig {
 
-    @Value("${ai.service.timeout:30000}")
-    private int aiServiceTimeout;
+    private final AiServiceProperties aiServiceProperties;
 
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setRequestFactory(clientHttpRequestFactory());
+        restTemplate.setRequestFactory(clientHttpRequestFactory(aiServiceProperties.getTimeout()));
+        return restTemplate;
+    }
+
+    /**
+     * AI 서비스 배치 호출(/ai-response/batch) 전용 RestTemplate
+     * 여러 요청을 한 번에 추론하므로 단건 호출과 다른 응답 대기 시간(ai.service.batch-timeout)을 쓴다.
+     */
+    @Bean
+    public RestTemplate aiBatchRestTemplate() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setRequestFactory(clientHttpRequestFactory(aiServiceProperties.getBatchTimeout()));
         return restTemplate;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(aiServiceTimeout);
-        factory.setReadTimeout(aiServiceTimeout);
+    /**
+     * AI 서비스 호출 전용 실행기
+     * 응답 대기 동안 Tomcat 워커 대신 이 실행기의 스레드가 블로킹된다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService aiServiceExecutor() {
+        if (aiServiceProperties.isVirtualThreads()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-call-", 0).factory());
+        }
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        return Executors.newFixedThreadPool(aiServiceProperties.getMaxConcurrentCalls(), runnable -> {
+            Thread thread = new Thread(runnable, "ai-call-" + threadSeq.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * JDK HttpClient 기반 요청 팩토리
+     * - keep-alive 연결을 클라이언트 내부 풀에서 재사용 (요청마다 새 연결을 열지 않음)
+     * - HTTP/2 사용 시 하나의 연결에서 여러 요청을 다중화
+     */
+    private ClientHttpRequestFactory clientHttpRequestFactory(int readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.valueOf(aiServiceProperties.getHttpVersion()))
+                .connectTimeout(Duration.ofMillis(aiServiceProperties.getConnectTimeout()))
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
         return factory;
     }
-}
\ No newline at end of file
+}
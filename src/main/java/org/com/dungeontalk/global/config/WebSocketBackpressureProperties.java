@@ -0,0 +1,63 @@
+package org.com.dungeontalk.global.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * WebSocket 세션별 송신 backpressure 설정
+ * application-dev.properties의 websocket.backpressure.* 설정들을 바인딩합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "websocket.backpressure")
+public class WebSocketBackpressureProperties {
+
+    /**
+     * 세션 송신 버퍼가 이 크기(bytes)를 넘으면 느린 소비자로 보고 정책을 적용
+     */
+    private int softBufferSizeLimit = 128 * 1024;
+
+    /**
+     * 세션 송신 버퍼 최대 크기 (bytes), 초과 시 세션 종료
+     */
+    private int sendBufferSizeLimit = 512 * 1024;
+
+    /**
+     * 프레임 1건 전송에 허용하는 최대 시간 (ms), 초과 시 세션 종료
+     */
+    private int sendTimeLimitMs = 10000;
+
+    /**
+     * 수신 메시지 최대 크기 (bytes)
+     */
+    private int messageSizeLimit = 64 * 1024;
+
+    /**
+     * 느린 세션에 보관 중인 conflation 프레임을 확인해 보내는 주기 (ms)
+     */
+    private long conflationFlushIntervalMs = 200;
+
+    /**
+     * 느린 소비자에 대한 일반 프레임 처리 정책
+     * (conflation 키가 있는 프레임은 정책과 관계없이 키별 최신 1건만 유지)
+     */
+    private Policy policy = Policy.CONFLATE;
+
+    public enum Policy {
+        /**
+         * conflation 대상만 최신 1건으로 합치고, 일반 프레임은 버퍼 한도까지 계속 쌓는다.
+         */
+        CONFLATE,
+
+        /**
+         * conflation 대상은 합치고, 일반 프레임은 버린다.
+         */
+        DROP,
+
+        /**
+         * soft 한도를 넘는 즉시 세션을 종료한다. (클라이언트 재연결 후 히스토리로 복구)
+         */
+        DISCONNECT
+    }
+}
@@ -0,0 +1,101 @@
+package org.com.dungeontalk.global.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP 메시지 브로커 설정
+ * application-dev.properties의 websocket.broker.* 설정들을 바인딩합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "websocket.broker")
+public class WebSocketBrokerProperties {
+
+    /**
+     * 브로커 모드
+     * - simple: 노드 내장 인메모리 브로커 (노드 간 전달은 Redis 중계)
+     * - relay: 외부 STOMP 브로커(RabbitMQ, Artemis 등)로 중계 (브로커가 노드 간 전달 담당)
+     * - embedded: 프로세스 내 Artemis STOMP 브로커를 띄우고 relay로 연결 (테스트/부하 측정용)
+     *   브로커(EmbeddedStompBrokerConfig)는 테스트/벤치마크 classpath에만 있으므로 운영 배포물에서는 쓰지 않는다.
+     */
+    private Mode mode = Mode.SIMPLE;
+
+    /**
+     * 클라이언트와의 STOMP heartbeat 설정
+     */
+    private Heartbeat heartbeat = new Heartbeat();
+
+    /**
+     * 외부 브로커 연결 설정 (relay 모드)
+     */
+    private Relay relay = new Relay();
+
+    /**
+     * 내장 브로커 설정 (embedded 모드)
+     */
+    private Embedded embedded = new Embedded();
+
+    /**
+     * 클라이언트 송신(clientOutboundChannel) 스레드 풀 설정
+     */
+    private Outbound outbound = new Outbound();
+
+    public enum Mode {
+        SIMPLE, RELAY, EMBEDDED;
+
+        /**
+         * 브로커 하나를 여러 노드가 공유하는지 여부 (true면 노드 간 Redis 중계 불필요)
+         */
+        public boolean isSharedAcrossNodes() {
+            return this == RELAY;
+        }
+    }
+
+    @Data
+    public static class Heartbeat {
+        /**
+         * 서버 → 클라이언트 heartbeat 간격 (ms, 0이면 사용 안 함)
+         */
+        private long serverSendMs = 10000;
+
+        /**
+         * 클라이언트 → 서버 heartbeat 기대 간격 (ms, 0이면 사용 안 함)
+         */
+        private long serverReceiveMs = 10000;
+    }
+
+    @Data
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+
+        /**
+         * 시스템 세션(서버 발행용 공유 연결) heartbeat 간격 (ms)
+         */
+        private long systemHeartbeatSendMs = 10000;
+        private long systemHeartbeatReceiveMs = 10000;
+    }
+
+    @Data
+    public static class Embedded {
+        /**
+         * 내장 브로커 STOMP acceptor 포트 (루프백에만 바인딩)
+         */
+        private int port = 61613;
+    }
+
+    @Data
+    public static class Outbound {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Integer.MAX_VALUE;
+        private int queueCapacity = Integer.MAX_VALUE;
+        private int keepAliveSeconds = 60;
+    }
+}
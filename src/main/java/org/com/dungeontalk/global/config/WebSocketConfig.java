@@ -2,27 +2,101 @@ package org.com.dungeontalk.global.config;
 
 import lombok.RequiredArgsConstructor;
 import org.com.dungeontalk.global.websocket.JwtHandshakeInterceptor;
+import org.com.dungeontalk.global.websocket.OutboundBackpressureManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+// 브로커 인프라는 WebSocketMessageBrokerConfig가 등록한다. (@EnableWebSocketMessageBroker 대체)
 @Configuration
-@EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    public static final String BROKER_DESTINATION_PREFIX = "/sub";
+
     private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+    private final WebSocketBrokerProperties brokerProperties;
+    private final WebSocketBackpressureProperties backpressureProperties;
+    private final OutboundBackpressureManager outboundBackpressureManager;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // simple 브로커 heartbeat용 스케줄러 (브로커 설정이 만들어 둔 빈을 재사용, 순환 참조를 피하려 lazy 주입)
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
 
     public void configureMessageBroker(MessageBrokerRegistry registry) {
+        WebSocketBrokerProperties.Heartbeat heartbeat = brokerProperties.getHeartbeat();
+        long[] heartbeatValue = {heartbeat.getServerSendMs(), heartbeat.getServerReceiveMs()};
+
         // 메시지를 받을 경로
-        registry.enableSimpleBroker("/sub");
+        switch (brokerProperties.getMode()) {
+            case SIMPLE -> registry.enableSimpleBroker(BROKER_DESTINATION_PREFIX)
+                .setHeartbeatValue(heartbeatValue)
+                .setTaskScheduler(messageBrokerTaskScheduler);
+            case RELAY -> configureRelay(registry, brokerProperties.getRelay().getHost(),
+                brokerProperties.getRelay().getPort());
+            case EMBEDDED -> configureRelay(registry, "127.0.0.1", brokerProperties.getEmbedded().getPort());
+        }
 
         // 메시지를 보낼 경로
         registry.setApplicationDestinationPrefixes("/pub");
     }
 
+    /**
+     * STOMP 브로커 relay 설정
+     * 클라이언트 heartbeat는 클라이언트 세션마다 브로커와 직접 협상되므로 시스템 세션 heartbeat만 지정한다.
+     */
+    private void configureRelay(MessageBrokerRegistry registry, String host, int port) {
+        WebSocketBrokerProperties.Relay relay = brokerProperties.getRelay();
+
+        StompBrokerRelayRegistration registration = registry.enableStompBrokerRelay(BROKER_DESTINATION_PREFIX)
+            .setRelayHost(host)
+            .setRelayPort(port)
+            .setClientLogin(relay.getClientLogin())
+            .setClientPasscode(relay.getClientPasscode())
+            .setSystemLogin(relay.getSystemLogin())
+            .setSystemPasscode(relay.getSystemPasscode())
+            .setSystemHeartbeatSendInterval(relay.getSystemHeartbeatSendMs())
+            .setSystemHeartbeatReceiveInterval(relay.getSystemHeartbeatReceiveMs());
+
+        if (relay.getVirtualHost() != null) {
+            registration.setVirtualHost(relay.getVirtualHost());
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        WebSocketBrokerProperties.Outbound outbound = brokerProperties.getOutbound();
+
+        registration.taskExecutor()
+            .corePoolSize(outbound.getCorePoolSize())
+            .maxPoolSize(outbound.getMaxPoolSize())
+            .queueCapacity(outbound.getQueueCapacity())
+            .keepAliveSeconds(outbound.getKeepAliveSeconds());
+
+        // 느린 세션에 대한 drop/conflate/disconnect 정책
+        registration.interceptors(outboundBackpressureManager);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+            .setMessageSizeLimit(backpressureProperties.getMessageSizeLimit())
+            .setSendBufferSizeLimit(backpressureProperties.getSendBufferSizeLimit())
+            .setSendTimeLimit(backpressureProperties.getSendTimeLimitMs());
+    }
+
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // WebSocket 연결 경로
         registry.addEndpoint("/ws-chat")
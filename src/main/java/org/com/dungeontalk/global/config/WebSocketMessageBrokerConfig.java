@@ -0,0 +1,31 @@
+package org.com.dungeontalk.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.com.dungeontalk.global.websocket.BackpressureSubProtocolWebSocketHandler;
+import org.com.dungeontalk.global.websocket.OutboundBackpressureManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+/**
+ * STOMP 메시지 브로커 인프라 설정 (@EnableWebSocketMessageBroker 대체)
+ *
+ * 브로커/엔드포인트 설정은 WebSocketConfig(configurer)가 그대로 담당하고,
+ * 여기서는 세션 송신 데코레이터를 교체하기 위해 SubProtocolWebSocketHandler 빈만 바꾼다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebSocketMessageBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final OutboundBackpressureManager outboundBackpressureManager;
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new BackpressureSubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel,
+            outboundBackpressureManager);
+    }
+}
@@ -33,7 +33,11 @@ public enum ErrorCode {
     
     // AI 응답 처리 관련  
     AI_RESPONSE_PROCESSING_ERROR("500-AC31", "AI 응답 처리 중 오류가 발생했습니다"),
-    AI_RESPONSE_TIMEOUT_ERROR("408-AC32", "AI 응답 시간이 초과되었습니다");
+    AI_RESPONSE_TIMEOUT_ERROR("408-AC32", "AI 응답 시간이 초과되었습니다"),
+    AI_SERVICE_BUSY("503-AC33", "AI 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요"),
+    AI_TURN_LOCK_LOST("409-AC34", "AI 응답 처리 권한이 만료되어 응답이 반영되지 않았습니다"),
+    AI_GENERATION_JOB_NOT_FOUND("404-AC35", "AI 응답 생성 작업을 찾을 수 없습니다"),
+    AI_SERVICE_UNAVAILABLE("503-AC36", "AI 서비스가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요");
 
 
 
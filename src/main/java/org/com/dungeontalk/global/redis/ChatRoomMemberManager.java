@@ -1,20 +1,77 @@
 package org.com.dungeontalk.global.redis;
 
+import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class ChatRoomMemberManager {
 
+    /**
+     * admit 결과: 정원 초과로 입장 거절
+     */
+    public static final long ROOM_FULL = -1L;
+
+    /**
+     * countIfChanged 결과: 마지막으로 발행된 인원과 같음
+     */
+    public static final long COUNT_UNCHANGED = -1L;
+
+    // 마지막 발행 인원 보관 시간 (활동 없는 채팅방 키 정리용)
+    private static final long PUBLISHED_COUNT_TTL_SECONDS = 86400;
+
+    // 이미 접속 중이면 그대로 현재 인원 반환, 정원 미만이면 추가 후 새 인원 반환, 가득 차면 -1
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return redis.call('SCARD', KEYS[1]) end " +
+        "local count = redis.call('SCARD', KEYS[1]) " +
+        "if count >= tonumber(ARGV[2]) then return -1 end " +
+        "redis.call('SADD', KEYS[1], ARGV[1]) " +
+        "return count + 1",
+        Long.class);
+
+    // 제거 후 남은 인원 반환
+    private static final RedisScript<Long> LEAVE_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('SREM', KEYS[1], ARGV[1]) " +
+        "return redis.call('SCARD', KEYS[1])",
+        Long.class);
+
+    // 현재 인원이 마지막으로 발행된 인원(모든 노드 공통)과 다를 때만 기록 후 반환, 같으면 -1
+    // KEYS[1]=접속자 set, KEYS[2]=마지막 발행 인원, ARGV[1]=ttl
+    private static final RedisScript<Long> COUNT_IF_CHANGED_SCRIPT = new DefaultRedisScript<>(
+        "local count = redis.call('SCARD', KEYS[1]) " +
+        "if redis.call('GET', KEYS[2]) == tostring(count) then return -1 end " +
+        "redis.call('SET', KEYS[2], count, 'EX', ARGV[1]) " +
+        "return count",
+        Long.class);
+
     private final StringRedisTemplate redisTemplate;
 
     private String getRoomKey(String roomId) {
         return "chat:room:" + roomId + ":users";
     }
 
+    private String getPublishedCountKey(String roomId) {
+        return "chat:room:" + roomId + ":published_count";
+    }
+
+    // 유저 입장 (정원 확인 + 등록 + 인원 조회를 한 번에 원자적으로 처리)
+    public long admit(String roomId, String nickName, int capacity) {
+        Long count = redisTemplate.execute(ADMIT_SCRIPT, List.of(getRoomKey(roomId)),
+            nickName, String.valueOf(capacity));
+        return count != null ? count : ROOM_FULL;
+    }
+
+    // 유저 퇴장 (제거 + 남은 인원 조회를 한 번에 처리)
+    public long leave(String roomId, String nickName) {
+        Long count = redisTemplate.execute(LEAVE_SCRIPT, List.of(getRoomKey(roomId)), nickName);
+        return count != null ? count : 0L;
+    }
+
     // 유저 입장
     public boolean addUser(String roomId, String nickName) {
         String key = getRoomKey(roomId);
@@ -38,6 +95,13 @@ public class ChatRoomMemberManager {
         return size != null ? size.intValue() : 0L;
     }
 
+    // 인원이 마지막 발행 값과 다를 때만 인원 반환 (여러 노드가 같은 값을 중복 발행하지 않도록 Redis에서 비교)
+    public long countIfChanged(String roomId) {
+        Long count = redisTemplate.execute(COUNT_IF_CHANGED_SCRIPT,
+            List.of(getRoomKey(roomId), getPublishedCountKey(roomId)), String.valueOf(PUBLISHED_COUNT_TTL_SECONDS));
+        return count != null ? count : COUNT_UNCHANGED;
+    }
+
     // 채팅방 초기화
     public void clearRoom(String roomId) {
         redisTemplate.delete(getRoomKey(roomId));
@@ -0,0 +1,23 @@
+package org.com.dungeontalk.global.redis;
+
+import org.com.dungeontalk.global.util.UuidV7Creator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 백엔드 노드(프로세스)의 식별자
+ *
+ * 여러 노드가 같은 Valkey pub/sub을 공유할 때, 자신이 발행한 메시지를 구분하는 데 사용한다.
+ */
+@Component
+public class NodeIdentity {
+
+    private final String nodeId = UuidV7Creator.create();
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isSelf(String otherNodeId) {
+        return nodeId.equals(otherNodeId);
+    }
+}
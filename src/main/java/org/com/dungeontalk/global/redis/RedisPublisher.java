@@ -8,10 +8,20 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RedisPublisher {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    public static final String CHANNEL_PREFIX = "chatroom.";
 
-    public void publish(String roomId, String message) {
-        redisTemplate.convertAndSend("chatroom." + roomId, message);
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final NodeIdentity nodeIdentity;
+
+    /**
+     * 방 단위 채널(chatroom.{roomId})로 봉투 발행 (발행 노드 ID 포함)
+     *
+     * @param kind    메시지 종류 (구독 노드의 라우팅 기준)
+     * @param roomId  채팅방 ID
+     * @param payload 미리 직렬화된 JSON bytes
+     */
+    public void publish(RoomMessageKind kind, String roomId, byte[] payload) {
+        binaryRedisTemplate.convertAndSend(CHANNEL_PREFIX + roomId, RoomMessageEnvelope.encode(kind, nodeIdentity.getNodeId(), payload));
     }
 
 }
@@ -1,13 +1,17 @@
 package org.com.dungeontalk.global.redis;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
+import java.nio.charset.StandardCharsets;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.global.websocket.OutboundBackpressureManager;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
 @Slf4j
 @Service
@@ -15,34 +19,46 @@ import org.springframework.stereotype.Service;
 public class RedisSubscriber implements MessageListener {
 
     private final SimpMessageSendingOperations messagingTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final ObjectWriter prettyPrinter = objectMapper.writerWithDefaultPrettyPrinter();
+    private final NodeIdentity nodeIdentity;
 
+    /**
+     * Redis 봉투의 kind 헤더만 보고 STOMP 목적지를 결정한 뒤,
+     * 직렬화된 payload bytes를 그대로 브로커로 전달한다. (JSON 재파싱 없음)
+     * 자신이 발행한 메시지는 RoomMessageRouter가 이미 로컬 전달했으므로 무시한다.
+     */
     public void onMessage(Message message, byte[] pattern) {
-        String payload = new String(message.getBody());
-        String topic = new String(message.getChannel());
-
-        try {
-            Object json = objectMapper.readValue(payload, Object.class);
-            String prettyPayload = prettyPrinter.writeValueAsString(json);
-            log.info("📩 Redis pub/sub 수신 메시지:\n{}", prettyPayload);
-        } catch (Exception e) {
-            log.warn("Redis 메시지 JSON 파싱 실패: {}", payload, e);
-        }
+        String topic = new String(message.getChannel(), StandardCharsets.UTF_8);
 
         // roomId 추출 (chatroom.{roomId})
-        String roomId = topic.substring("chatroom.".length());
-
-        // 기존 채팅 시스템: 문자열로 전송 (기존 방식 유지)
-        messagingTemplate.convertAndSend("/sub/chat/room/" + roomId, payload);
-        
-        // AI 채팅 시스템: 객체로 전송 (새로 추가)
-        try {
-            Object messageData = objectMapper.readValue(payload, Object.class);
-            messagingTemplate.convertAndSend("/sub/aichat/room/" + roomId, messageData);
-        } catch (Exception e) {
-            log.warn("AI 채팅 메시지 처리 실패: {}", payload, e);
+        String roomId = topic.substring(RedisPublisher.CHANNEL_PREFIX.length());
+
+        RoomMessageEnvelope envelope = RoomMessageEnvelope.decode(message.getBody());
+        if (envelope == null) {
+            log.warn("알 수 없는 Redis 팬아웃 메시지 형식: channel={}, size={}", topic, message.getBody().length);
+            return;
+        }
+
+        if (nodeIdentity.isSelf(envelope.getOriginNodeId())) {
+            return;
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("📩 Redis pub/sub 수신: roomId={}, kind={}, size={}",
+                roomId, envelope.getKind(), envelope.getPayload().length);
+        }
+
+        messagingTemplate.send(envelope.getKind().getDestinationPrefix() + roomId,
+            toStompMessage(envelope.getPayload(), null));
+    }
+
+    static org.springframework.messaging.Message<byte[]> toStompMessage(byte[] payload, String conflationKey) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (conflationKey != null) {
+            accessor.setNativeHeader(OutboundBackpressureManager.CONFLATION_KEY_HEADER, conflationKey);
         }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
     }
 
 }
@@ -0,0 +1,92 @@
+package org.com.dungeontalk.global.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Redis pub/sub 팬아웃용 바이너리 봉투
+ *
+ * 포맷: [MAGIC 1byte][kind 1byte][origin 길이 1byte][origin nodeId][payload(JSON bytes)...]
+ * - roomId는 채널명(chatroom.{roomId})에 이미 들어 있으므로 봉투에 중복 저장하지 않는다.
+ * - payload는 발행 노드에서 한 번만 직렬화되며, 구독 노드는 이를 그대로 STOMP 브로커로 넘긴다.
+ * - origin은 발행 노드 ID로, 발행 노드는 이미 로컬 전달을 마쳤으므로 자신의 메시지를 무시한다.
+ */
+public final class RoomMessageEnvelope {
+
+    public static final byte MAGIC = (byte) 0xD8;
+    // origin 없는 이전 포맷 ([MAGIC][kind][payload]) - 롤링 배포 중 수신 호환용
+    public static final byte LEGACY_MAGIC = (byte) 0xD7;
+
+    private final RoomMessageKind kind;
+    private final String originNodeId;
+    private final byte[] payload;
+
+    private RoomMessageEnvelope(RoomMessageKind kind, String originNodeId, byte[] payload) {
+        this.kind = kind;
+        this.originNodeId = originNodeId;
+        this.payload = payload;
+    }
+
+    public RoomMessageKind getKind() {
+        return kind;
+    }
+
+    /**
+     * 발행 노드 ID (이전 포맷이면 null)
+     */
+    public String getOriginNodeId() {
+        return originNodeId;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * 봉투 인코딩 (헤더 + 직렬화된 payload)
+     */
+    public static byte[] encode(RoomMessageKind kind, String originNodeId, byte[] payload) {
+        byte[] origin = originNodeId.getBytes(StandardCharsets.US_ASCII);
+        int headerLength = 3 + origin.length;
+
+        byte[] frame = new byte[headerLength + payload.length];
+        frame[0] = MAGIC;
+        frame[1] = kind.getCode();
+        frame[2] = (byte) origin.length;
+        System.arraycopy(origin, 0, frame, 3, origin.length);
+        System.arraycopy(payload, 0, frame, headerLength, payload.length);
+        return frame;
+    }
+
+    /**
+     * 봉투 디코딩 - 헤더만 읽으며 payload는 파싱하지 않는다.
+     *
+     * @return 봉투 형식이 아니거나 알 수 없는 kind이면 null
+     */
+    public static RoomMessageEnvelope decode(byte[] frame) {
+        if (frame == null || frame.length < 2) {
+            return null;
+        }
+
+        RoomMessageKind kind = RoomMessageKind.fromCode(frame[1]);
+        if (kind == null) {
+            return null;
+        }
+
+        if (frame[0] == LEGACY_MAGIC) {
+            return new RoomMessageEnvelope(kind, null, Arrays.copyOfRange(frame, 2, frame.length));
+        }
+
+        if (frame[0] != MAGIC || frame.length < 3) {
+            return null;
+        }
+
+        int headerLength = 3 + (frame[2] & 0xFF);
+        if (frame.length < headerLength) {
+            return null;
+        }
+
+        String originNodeId = new String(frame, 3, headerLength - 3, StandardCharsets.US_ASCII);
+        return new RoomMessageEnvelope(kind, originNodeId, Arrays.copyOfRange(frame, headerLength, frame.length));
+    }
+}
@@ -0,0 +1,37 @@
+package org.com.dungeontalk.global.redis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis pub/sub 팬아웃 메시지 종류
+ *
+ * 봉투(envelope) 헤더의 1바이트 코드로 전송되며, 구독 노드는 본문을 파싱하지 않고
+ * 이 값만으로 STOMP 목적지를 결정한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RoomMessageKind {
+
+    /**
+     * 일반 채팅 메시지 (JOIN, TALK, LEAVE, CONNECTED_COUNT)
+     */
+    CHAT((byte) 1, "/sub/chat/room/"),
+
+    /**
+     * AI 게임 채팅 메시지
+     */
+    AI_CHAT((byte) 2, "/sub/aichat/room/");
+
+    private final byte code;
+    private final String destinationPrefix;
+
+    public static RoomMessageKind fromCode(byte code) {
+        for (RoomMessageKind kind : values()) {
+            if (kind.code == code) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package org.com.dungeontalk.global.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.global.config.WebSocketBrokerProperties;
+import org.com.dungeontalk.global.websocket.RoomSubscriptionRegistry;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 메시지 전달 진입점
+ *
+ * - 한 번 직렬화한 payload를 로컬 STOMP 브로커로 바로 전달한다. (Redis 왕복 없음)
+ * - 같은 방을 구독 중인 다른 노드가 있을 때만 Redis 채널로 발행한다.
+ * - 외부 브로커(relay 모드)는 브로커가 노드 간 전달을 맡으므로 Redis로 발행하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomMessageRouter {
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final RedisPublisher redisPublisher;
+    private final RoomSubscriptionRegistry roomSubscriptionRegistry;
+    private final WebSocketBrokerProperties brokerProperties;
+    private final ObjectMapper objectMapper;
+
+    public void send(RoomMessageKind kind, String roomId, Object message) {
+        send(kind, roomId, message, null);
+    }
+
+    /**
+     * 최신 값만 의미 있는 메시지 전달 (느린 세션에는 같은 방 목적지/conflationKey의 최신 1건만 전송될 수 있음)
+     * conflation은 로컬 브로커 구간에만 적용되며, Redis로 중계된 다른 노드에서는 일반 메시지로 취급된다.
+     */
+    public void send(RoomMessageKind kind, String roomId, Object message, String conflationKey) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("방 메시지 직렬화 실패: roomId=" + roomId, e);
+        }
+
+        messagingTemplate.send(kind.getDestinationPrefix() + roomId, RedisSubscriber.toStompMessage(payload, conflationKey));
+
+        if (brokerProperties.getMode().isSharedAcrossNodes()
+                || !roomSubscriptionRegistry.hasRemoteSubscribers(kind, roomId)) {
+            return;
+        }
+        try {
+            redisPublisher.publish(kind, roomId, payload);
+        } catch (Exception e) {
+            // 로컬 전달은 이미 끝났으므로 다른 노드 구독자만 이 메시지를 놓친다.
+            log.warn("Redis 방 메시지 발행 실패: roomId={}, kind={}, error={}", roomId, kind, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.com.dungeontalk.global.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * 메시지 히스토리 keyset 페이징 커서 (createdAt + _id)
+ *
+ * createdAt이 같은 메시지는 UUIDv7 _id로 순서를 정하므로 페이지 경계에서 누락/중복이 없다.
+ * 클라이언트에는 base64url 문자열로만 노출한다.
+ */
+public record MessageCursor(LocalDateTime createdAt, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 해석 (비어 있으면 null = 첫 페이지)
+     */
+    public static MessageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new MessageCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                raw.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + cursor);
+        }
+    }
+
+    /**
+     * 최신순 keyset 조회 쿼리 ({roomField: 1, createdAt: -1, _id: -1} 인덱스 사용, count 쿼리 없음)
+     * 다음 페이지 존재 여부 확인을 위해 limit은 요청 크기 + 1로 넘긴다.
+     */
+    public static Query keysetQuery(String roomField, String roomId, MessageCursor after, int limit) {
+        Criteria criteria = Criteria.where(roomField).is(roomId);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                Criteria.where("createdAt").lt(after.createdAt()),
+                Criteria.where("createdAt").is(after.createdAt()).and("_id").lt(after.id()));
+        }
+        return Query.query(criteria)
+            .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+            .limit(limit);
+    }
+}
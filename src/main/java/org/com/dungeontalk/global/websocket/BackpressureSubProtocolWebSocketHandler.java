@@ -0,0 +1,37 @@
+package org.com.dungeontalk.global.websocket;
+
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * STOMP 세션 핸들러 - 세션 송신 데코레이터를 OutboundBackpressureManager의 것으로 교체
+ *
+ * 기본 구현은 모든 세션을 ConcurrentWebSocketSessionDecorator로 감싸 먼저 버퍼링하므로,
+ * 그 안쪽에 다른 데코레이터를 두면 버퍼가 차지 않는다. 송신 버퍼를 하나로 두기 위해 기본 데코레이터를 대신한다.
+ * 버퍼 크기/전송 시간 한도는 WebSocketTransportRegistration에 설정한 값을 그대로 사용한다.
+ */
+public class BackpressureSubProtocolWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final OutboundBackpressureManager backpressureManager;
+
+    public BackpressureSubProtocolWebSocketHandler(MessageChannel clientInboundChannel,
+                                                   SubscribableChannel clientOutboundChannel,
+                                                   OutboundBackpressureManager backpressureManager) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.backpressureManager = backpressureManager;
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        return backpressureManager.register(session, getSendTimeLimit(), getSendBufferSizeLimit());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        backpressureManager.unregister(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
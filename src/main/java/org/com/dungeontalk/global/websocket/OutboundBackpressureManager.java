@@ -0,0 +1,253 @@
+package org.com.dungeontalk.global.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.global.config.WebSocketBackpressureProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+/**
+ * WebSocket 세션별 송신 backpressure
+ *
+ * - 세션 송신 버퍼는 BackpressureSubProtocolWebSocketHandler가 Spring 기본 데코레이터 대신 만드는 ThrottledSession 하나뿐이다.
+ *   (기본 데코레이터가 바깥에서 먼저 버퍼링하면 이 버퍼는 차지 않아 정책이 동작하지 않음)
+ * - 세션 송신 버퍼가 soft 한도를 넘은 느린 소비자에게 정책(CONFLATE/DROP/DISCONNECT)을 적용한다.
+ * - conflation 키 헤더가 있는 프레임(예: 접속자 수)은 느린 세션에 대해 목적지+키별 최신 1건만 보관했다가,
+ *   버퍼가 soft 한도 아래로 내려오면 다음 프레임 처리 직후 또는 주기 flush에서 보낸다.
+ * - conflation 키 헤더는 서버 내부용이므로 클라이언트로 나가기 전에 제거한다.
+ * - 버퍼 최대 크기/전송 시간 한도(websocket.backpressure.send-*)를 넘으면 세션을 종료한다.
+ * - 지표: websocket.outbound.dropped, websocket.outbound.conflated, websocket.outbound.evicted(reason), websocket.outbound.buffered
+ */
+@Slf4j
+@Component
+public class OutboundBackpressureManager implements ExecutorChannelInterceptor {
+
+    /**
+     * 같은 목적지에서 같은 키의 프레임은 최신 값만 의미가 있음을 나타내는 STOMP 헤더
+     */
+    public static final String CONFLATION_KEY_HEADER = "x-conflation-key";
+
+    private final WebSocketBackpressureProperties properties;
+    private final Map<String, ThrottledSession> sessions = new ConcurrentHashMap<>();
+
+    private final Counter droppedCounter;
+    private final Counter conflatedCounter;
+    private final Counter softLimitEvictions;
+    private final Counter hardLimitEvictions;
+
+    private MessageChannel clientOutboundChannel;
+    private ScheduledExecutorService flushScheduler;
+
+    public OutboundBackpressureManager(WebSocketBackpressureProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.droppedCounter = Counter.builder("websocket.outbound.dropped")
+            .description("느린 세션에서 버려진 프레임 수")
+            .register(meterRegistry);
+        this.conflatedCounter = Counter.builder("websocket.outbound.conflated")
+            .description("느린 세션에서 최신 값으로 합쳐진 프레임 수")
+            .register(meterRegistry);
+        this.softLimitEvictions = Counter.builder("websocket.outbound.evicted")
+            .tag("reason", "soft_limit")
+            .register(meterRegistry);
+        this.hardLimitEvictions = Counter.builder("websocket.outbound.evicted")
+            .tag("reason", "hard_limit")
+            .register(meterRegistry);
+        Gauge.builder("websocket.outbound.buffered", sessions,
+                map -> map.values().stream().mapToLong(ThrottledSession::getBufferSize).sum())
+            .description("전체 세션 송신 버퍼 크기 (bytes)")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    // 주기 flush에서 보관 프레임을 다시 보낼 채널 (브로커 설정이 이 빈을 참조하므로 순환 참조를 피하려 lazy 주입)
+    @Autowired
+    public void setClientOutboundChannel(@Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel) {
+        this.clientOutboundChannel = clientOutboundChannel;
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMs = properties.getConflationFlushIntervalMs();
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websocket-conflation-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 방이 조용해져 다음 프레임이 오지 않아도 마지막 값이 전달되도록 주기적으로 확인한다.
+        flushScheduler.scheduleWithFixedDelay(this::flushConflated, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 세션 송신 데코레이터 생성 및 등록 (SubProtocolWebSocketHandler의 기본 데코레이터를 대체)
+     */
+    public WebSocketSession register(WebSocketSession session, int sendTimeLimit, int sendBufferSizeLimit) {
+        ThrottledSession throttled = new ThrottledSession(session, sendTimeLimit, sendBufferSizeLimit);
+        sessions.put(session.getId(), throttled);
+        return throttled;
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * clientOutboundChannel 전송 전 - 느린 세션이면 정책 적용
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        String conflationKey = conflationKey(message);
+        ThrottledSession session = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (session == null || session.getBufferSize() <= properties.getSoftBufferSizeLimit()) {
+            if (conflationKey == null) {
+                return message;
+            }
+            if (session != null) {
+                // 더 최신 값이 바로 나가므로 보관 중인 이전 값은 보내지 않는다.
+                session.conflated.remove(conflationKey);
+            }
+            return withoutConflationKey(message);
+        }
+
+        if (conflationKey != null) {
+            // 헤더를 남긴 채 보관해야 다시 보낼 때도 conflation 대상으로 처리된다.
+            session.conflated.put(conflationKey, message);
+            conflatedCounter.increment();
+            return null;
+        }
+
+        return switch (properties.getPolicy()) {
+            case CONFLATE -> message;
+            case DROP -> {
+                droppedCounter.increment();
+                yield null;
+            }
+            case DISCONNECT -> {
+                evict(session);
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * 프레임 전송 후 - 버퍼가 soft 한도 아래로 내려오면 보관 중인 최신 프레임 전송
+     */
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        ThrottledSession session = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (session != null) {
+            flushConflated(session, channel);
+        }
+    }
+
+    /**
+     * 주기 flush - 버퍼가 비워진 세션의 보관 프레임 전송
+     */
+    void flushConflated() {
+        try {
+            for (ThrottledSession session : sessions.values()) {
+                flushConflated(session, clientOutboundChannel);
+            }
+        } catch (Exception e) {
+            log.warn("conflation 프레임 flush 실패: error={}", e.getMessage());
+        }
+    }
+
+    private void flushConflated(ThrottledSession session, MessageChannel channel) {
+        if (session.conflated.isEmpty() || session.getBufferSize() > properties.getSoftBufferSizeLimit()) {
+            return;
+        }
+
+        // 키 단위로 꺼내야 프레임 처리 스레드와 주기 flush가 같은 프레임을 두 번 보내지 않는다.
+        for (String key : session.conflated.keySet()) {
+            Message<?> latest = session.conflated.remove(key);
+            if (latest != null) {
+                channel.send(latest);
+            }
+        }
+    }
+
+    private static String conflationKey(Message<?> message) {
+        String key = SimpMessageHeaderAccessor.getFirstNativeHeader(CONFLATION_KEY_HEADER, message.getHeaders());
+        if (key == null) {
+            return null;
+        }
+        // 헤더 값은 종류(예: connected-count)만 나타내므로 방별로 구분되도록 목적지와 묶는다.
+        return SimpMessageHeaderAccessor.getDestination(message.getHeaders()) + "|" + key;
+    }
+
+    private static Message<?> withoutConflationKey(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.removeNativeHeader(CONFLATION_KEY_HEADER);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private void evict(ThrottledSession session) {
+        if (sessions.remove(session.getId()) == null) {
+            return;
+        }
+        softLimitEvictions.increment();
+        log.warn("느린 WebSocket 세션 종료: sessionId={}, bufferSize={}", session.getId(), session.getBufferSize());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("WebSocket 세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 세션 송신 버퍼 및 한도 초과 집계를 위한 세션 데코레이터
+     */
+    private final class ThrottledSession extends ConcurrentWebSocketSessionDecorator {
+
+        private final Map<String, Message<?>> conflated = new ConcurrentHashMap<>();
+
+        private ThrottledSession(WebSocketSession delegate, int sendTimeLimit, int sendBufferSizeLimit) {
+            super(delegate, sendTimeLimit, sendBufferSizeLimit);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } catch (SessionLimitExceededException e) {
+                hardLimitEvictions.increment();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.com.dungeontalk.global.websocket;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.com.dungeontalk.global.redis.RoomMessageKind;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+/**
+ * 방별 STOMP 구독 노드 추적
+ *
+ * - 이 노드의 방 구독이 0 → 1이 되면 Valkey sorted set(ws:room:nodes:{kind}:{roomId})에 노드 ID를 등록하고,
+ *   1 → 0이 되면 제거한다. 점수는 마지막 갱신 시각(Valkey 서버 시간)이며 주기적으로 갱신된다.
+ *   조회 시 NODE_ENTRY_TTL 동안 갱신되지 않은 노드(비정상 종료)는 지우고 제외한다.
+ * - Valkey 등록/해제는 로컬 구독 수를 바꾸는 compute() 안에서 수행해, 같은 방의 구독/해제가 동시에 일어나도
+ *   Valkey에 반영되는 순서가 로컬 상태와 같다.
+ * - 다른 노드에 구독자가 있는지는 로컬에 짧게 캐시하며, 어느 노드든 등록/해제 시 변경 채널로 캐시를 비운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomSubscriptionRegistry implements MessageListener {
+
+    private static final String KEY_PREFIX = "ws:room:nodes:";
+    private static final String CHANGE_CHANNEL = "ws.room.routing";
+    private static final long NODE_ENTRY_TTL_MS = 90_000;
+    private static final long REFRESH_INTERVAL_SECONDS = 30;
+
+    // 노드 등록/갱신 - 점수는 Valkey 서버 시간(ms)이라 노드 간 시계 차이의 영향을 받지 않는다.
+    // 키 TTL은 모든 노드가 떠난 방의 키 정리용 (ARGV[1]=nodeId, ARGV[2]=ttl ms)
+    private static final RedisScript<Long> HEARTBEAT_SCRIPT = new DefaultRedisScript<>(
+        "local time = redis.call('TIME') " +
+        "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+        "redis.call('ZADD', KEYS[1], now, ARGV[1]) " +
+        "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+        "return now",
+        Long.class);
+
+    // 만료된 노드 정리 후 남은 노드 목록 (ARGV[1]=ttl ms)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIVE_NODES_SCRIPT = new DefaultRedisScript<>(
+        "local time = redis.call('TIME') " +
+        "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+        "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', '(' .. (now - tonumber(ARGV[1]))) " +
+        "return redis.call('ZRANGE', KEYS[1], 0, -1)",
+        List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final NodeIdentity nodeIdentity;
+
+    // routeKey({kind}:{roomId}) -> 이 노드의 구독("{sessionId}/{subscriptionId}") 목록
+    private final Map<String, Set<String>> localSubscriptions = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> routeKey)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    private final Cache<String, Boolean> remotePresence = Caffeine.newBuilder()
+        .maximumSize(100_000)
+        .expireAfterWrite(Duration.ofSeconds(5))
+        .build();
+
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void start() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-room-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshNodeEntries,
+            REFRESH_INTERVAL_SECONDS, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 다른 노드에 해당 방 구독자가 있는지 여부 (조회 실패 시 true - 전달 누락보다 중복 발행이 낫다)
+     */
+    public boolean hasRemoteSubscribers(RoomMessageKind kind, String roomId) {
+        return remotePresence.get(routeKey(kind, roomId), this::loadRemotePresence);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String routeKey = toRouteKey(accessor.getDestination());
+        if (routeKey == null || accessor.getSessionId() == null) {
+            return;
+        }
+
+        sessionSubscriptions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+            .put(accessor.getSubscriptionId(), routeKey);
+
+        localSubscriptions.compute(routeKey, (key, subscriptions) -> {
+            if (subscriptions == null) {
+                subscriptions = ConcurrentHashMap.newKeySet();
+                updateNodeEntry(routeKey, true);
+            }
+            subscriptions.add(accessor.getSessionId() + "/" + accessor.getSubscriptionId());
+            return subscriptions;
+        });
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+
+        String routeKey = subscriptions.remove(accessor.getSubscriptionId());
+        if (routeKey != null) {
+            removeLocal(routeKey, accessor.getSessionId() + "/" + accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.forEach((subscriptionId, routeKey) ->
+            removeLocal(routeKey, event.getSessionId() + "/" + subscriptionId));
+    }
+
+    /**
+     * 다른 노드의 등록/해제 알림 수신 - 해당 방의 캐시된 판단을 버린다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        remotePresence.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void removeLocal(String routeKey, String subscription) {
+        localSubscriptions.computeIfPresent(routeKey, (key, subscriptions) -> {
+            subscriptions.remove(subscription);
+            if (subscriptions.isEmpty()) {
+                updateNodeEntry(routeKey, false);
+                return null;
+            }
+            return subscriptions;
+        });
+    }
+
+    // localSubscriptions의 compute() 안에서만 호출 (같은 방의 등록/해제/갱신 순서 보장)
+    private void updateNodeEntry(String routeKey, boolean register) {
+        String key = KEY_PREFIX + routeKey;
+        try {
+            if (register) {
+                heartbeat(key);
+            } else {
+                redisTemplate.opsForZSet().remove(key, nodeIdentity.getNodeId());
+            }
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, routeKey);
+        } catch (Exception e) {
+            log.warn("방 구독 노드 {} 실패: routeKey={}, error={}", register ? "등록" : "해제", routeKey, e.getMessage());
+        }
+    }
+
+    private Boolean loadRemotePresence(String routeKey) {
+        try {
+            List<?> nodes = redisTemplate.execute(LIVE_NODES_SCRIPT, List.of(KEY_PREFIX + routeKey),
+                String.valueOf(NODE_ENTRY_TTL_MS));
+            return nodes != null && nodes.stream().anyMatch(nodeId -> !nodeIdentity.isSelf(String.valueOf(nodeId)));
+        } catch (Exception e) {
+            log.warn("방 구독 노드 조회 실패, Redis 발행 유지: routeKey={}, error={}", routeKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private void refreshNodeEntries() {
+        for (String routeKey : localSubscriptions.keySet()) {
+            // 갱신 직전에 마지막 구독이 해제된 방을 다시 등록하지 않도록 compute 안에서 갱신
+            localSubscriptions.computeIfPresent(routeKey, (key, subscriptions) -> {
+                try {
+                    heartbeat(KEY_PREFIX + routeKey);
+                } catch (Exception e) {
+                    log.warn("방 구독 노드 갱신 실패: routeKey={}, error={}", routeKey, e.getMessage());
+                }
+                return subscriptions;
+            });
+        }
+    }
+
+    private void heartbeat(String key) {
+        redisTemplate.execute(HEARTBEAT_SCRIPT, List.of(key), nodeIdentity.getNodeId(), String.valueOf(NODE_ENTRY_TTL_MS));
+    }
+
+    private String toRouteKey(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        for (RoomMessageKind kind : RoomMessageKind.values()) {
+            if (destination.startsWith(kind.getDestinationPrefix())) {
+                return routeKey(kind, destination.substring(kind.getDestinationPrefix().length()));
+            }
+        }
+        return null;
+    }
+
+    private static String routeKey(RoomMessageKind kind, String roomId) {
+        return kind.name() + ":" + roomId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        // 정상 종료 시 등록 해제 (비정상 종료는 조회 시 갱신 시각으로 정리)
+        localSubscriptions.keySet().forEach(routeKey -> updateNodeEntry(routeKey, false));
+    }
+}
@@ -4,15 +4,19 @@
 // 데이터베이스 선택 (실제 DB명으로 변경 필요)
 use dungeontalk;
 
-// 1. 게임방별 최근 메시지 조회 (AI 컨텍스트용)
-// findByAiGameRoomIdOrderByCreatedAtDesc
+// 1. 게임방별 최근 메시지 조회 (AI 컨텍스트 + 커서 히스토리)
+// findByAiGameRoomIdOrderByCreatedAtDesc, AiGameMessageService.getMessageHistoryByCursor
 db.ai_game_messages.createIndex(
-    { "aiGameRoomId": 1, "createdAt": -1 },
-    { name: "idx_room_created_desc", background: true }
+    { "aiGameRoomId": 1, "createdAt": -1, "_id": -1 },
+    { name: "idx_room_created_id_desc", background: true }
 );
+// 이전 버전 인덱스(위 인덱스의 접두사) 정리
+if (db.ai_game_messages.getIndexes().some(function(index) { return index.name === "idx_room_created_desc"; })) {
+    db.ai_game_messages.dropIndex("idx_room_created_desc");
+}
 
 // 2. 턴별 메시지 조회 (턴제 게임의 핵심)
-// findTurnMessages, findRecentTurnsMessages, findMaxMessageOrderByTurn
+// findTurnMessages, findRecentTurnsMessages, AiMessageOrderSequencer 초기값 복구
 db.ai_game_messages.createIndex(
     { "aiGameRoomId": 1, "turnNumber": 1, "messageOrder": 1 },
     { name: "idx_room_turn_order", background: true }
@@ -26,5 +30,5 @@ db.ai_game_messages.getIndexes().forEach(function(index) {
 });
 
 print("\n=== 성능 테스트 ===");
-print("✅ 게임방별 최근 메시지: aiGameRoomId + createdAt desc");
+print("✅ 게임방별 최근 메시지: aiGameRoomId + createdAt desc + _id desc");
 print("✅ 턴별 메시지: aiGameRoomId + turnNumber + messageOrder");
\ No newline at end of file
@@ -0,0 +1,22 @@
+// 채팅 메시지 MongoDB 인덱스 설정
+// 실행 방법: mongo < chat-message-indexes.js
+
+// 데이터베이스 선택 (실제 DB명으로 변경 필요)
+use dungeontalk;
+
+// 채팅방별 메시지 커서 조회 (최신순 keyset 페이징)
+// ChatMessageService.getMessagesByRoomCursor
+db.chat_messages.createIndex(
+    { "roomId": 1, "createdAt": -1, "_id": -1 },
+    { name: "idx_room_created_id_desc", background: true }
+);
+
+// 클라이언트 임시 ID 조회 (clientMessageId가 있는 문서만)
+db.chat_messages.createIndex(
+    { "roomId": 1, "senderId": 1, "clientMessageId": 1 },
+    { name: "idx_room_sender_client_id", partialFilterExpression: { clientMessageId: { $exists: true } }, background: true }
+);
+
+db.chat_messages.getIndexes().forEach(function(index) {
+    print("인덱스명: " + index.name + " | 키: " + JSON.stringify(index.key));
+});
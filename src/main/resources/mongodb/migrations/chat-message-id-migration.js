@@ -0,0 +1,30 @@
+// 채팅 메시지 _id 마이그레이션 (ChatMessage.messageId -> _id)
+// 실행 방법: mongo < chat-message-id-migration.js
+//
+// 이전 버전은 messageId를 일반 필드로 저장해 _id에는 ObjectId가 자동 생성되었다.
+// 현재 버전은 messageId(UUID v7 문자열)를 _id로 사용하므로 기존 문서를 _id = messageId로 옮긴다.
+// - 옮기지 않으면 커서 히스토리의 _id 정렬/범위 조건에 ObjectId와 문자열이 섞이고,
+//   write-behind 저널 재적재가 같은 메시지를 한 번 더 저장할 수 있다.
+// - _id는 수정할 수 없으므로 새 문서를 넣고 기존 문서를 지운다. 중간에 멈춰도 다시 실행하면 이어서 옮긴다.
+// - messageId가 없는 문서는 ObjectId 문자열을 _id로 사용한다.
+// - 배포 전(새 버전 기동 전)에 실행하고, 대량 데이터는 사용량이 적은 시간에 실행한다.
+
+// 데이터베이스 선택 (실제 DB명으로 변경 필요)
+use dungeontalk;
+
+var migrated = 0;
+db.chat_messages.find({ _id: { $type: "objectId" } }).forEach(function(doc) {
+    var newId = doc.messageId ? doc.messageId : doc._id.str;
+    var copy = Object.assign({}, doc);
+    delete copy._id;
+    delete copy.messageId;
+
+    // 이미 옮겨진 문서(재실행)는 덮어쓰지 않는다.
+    db.chat_messages.updateOne({ _id: newId }, { $setOnInsert: copy }, { upsert: true });
+    db.chat_messages.deleteOne({ _id: doc._id });
+    migrated++;
+});
+
+print("=== 채팅 메시지 _id 마이그레이션 완료 ===");
+print("옮긴 문서 수: " + migrated);
+print("남은 ObjectId 문서 수: " + db.chat_messages.countDocuments({ _id: { $type: "objectId" } }));
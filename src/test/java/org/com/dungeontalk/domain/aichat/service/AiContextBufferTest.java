@@ -0,0 +1,172 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.domain.aichat.common.AiMessageType;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.dto.AiGameMessageDto;
+import org.com.dungeontalk.domain.aichat.entity.AiGameMessage;
+import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.ContextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_CONTEXT_PREFIX;
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_CONTEXT_VERSION_PREFIX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiContextBufferTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String BUFFER_KEY = AI_GAME_CONTEXT_PREFIX + ROOM_ID;
+    private static final String VERSION_KEY = AI_GAME_CONTEXT_VERSION_PREFIX + ROOM_ID;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RedisTemplate<String, String> sessionRedis;
+    private ListOperations<String, String> listOperations;
+    private ValueOperations<String, String> valueOperations;
+    private AiGameMessageRepository aiGameMessageRepository;
+    private AiChatProperties aiChatProperties;
+    private AiContextBuffer buffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sessionRedis = mock(RedisTemplate.class);
+        listOperations = mock(ListOperations.class);
+        valueOperations = mock(ValueOperations.class);
+        when(sessionRedis.opsForList()).thenReturn(listOperations);
+        when(sessionRedis.opsForValue()).thenReturn(valueOperations);
+        aiGameMessageRepository = mock(AiGameMessageRepository.class);
+
+        aiChatProperties = new AiChatProperties();
+        aiChatProperties.getContext().setMessageCount(2);
+        aiChatProperties.getContext().setBufferMaxMessages(4);
+
+        buffer = new AiContextBuffer(sessionRedis, aiGameMessageRepository, aiChatProperties, objectMapper,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("버퍼가 있으면 최근 턴의 메시지만 버퍼에서 읽고 MongoDB를 조회하지 않는다")
+    void hitReadsRecentTurnsFromBuffer() throws Exception {
+        when(listOperations.range(BUFFER_KEY, 0, -1)).thenReturn(json(message(2, 1), message(3, 1), message(4, 1)));
+
+        List<ContextMessage> messages = buffer.getRecentTurns(ROOM_ID, 4);
+
+        assertThat(messages).extracting(ContextMessage::getTurnNumber).containsExactly(3, 4);
+        verify(aiGameMessageRepository, never()).findRecentTurnsMessages(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("버퍼가 없으면 MongoDB 조회 전에 읽은 버전으로 버퍼를 교체한다")
+    void missRebuildsWithObservedVersion() {
+        when(valueOperations.get(VERSION_KEY)).thenReturn("7");
+        when(aiGameMessageRepository.findRecentTurnsMessages(ROOM_ID, 2, 3)).thenReturn(List.of(entity(3, 1)));
+        when(sessionRedis.execute(eq(AiContextBuffer.REPLACE_SCRIPT), anyList(), any(Object[].class))).thenReturn(1L);
+
+        List<ContextMessage> messages = buffer.getRecentTurns(ROOM_ID, 4);
+
+        assertThat(messages).hasSize(1);
+        verify(sessionRedis).execute(eq(AiContextBuffer.REPLACE_SCRIPT), eq(List.of(BUFFER_KEY, VERSION_KEY)),
+                eq("7"), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("재생성 중 메시지가 추가되어 버전이 바뀌면 MongoDB를 다시 읽어 교체한다")
+    void versionChangeDuringRebuildRereadsMongo() {
+        when(valueOperations.get(VERSION_KEY)).thenReturn(null, "1");
+        when(aiGameMessageRepository.findRecentTurnsMessages(ROOM_ID, 2, 3))
+                .thenReturn(List.of(entity(3, 1)), List.of(entity(3, 1), entity(3, 2)));
+        when(sessionRedis.execute(eq(AiContextBuffer.REPLACE_SCRIPT), anyList(), any(Object[].class)))
+                .thenReturn(0L, 1L);
+
+        List<ContextMessage> messages = buffer.getRecentTurns(ROOM_ID, 4);
+
+        assertThat(messages).extracting(ContextMessage::getMessageOrder).containsExactly(1, 2);
+        verify(aiGameMessageRepository, times(2)).findRecentTurnsMessages(ROOM_ID, 2, 3);
+        verify(sessionRedis).execute(eq(AiContextBuffer.REPLACE_SCRIPT), anyList(),
+                eq("0"), anyString(), anyString());
+        verify(sessionRedis).execute(eq(AiContextBuffer.REPLACE_SCRIPT), anyList(),
+                eq("1"), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("가득 찬 버퍼가 조회 범위의 앞부분을 잘랐을 수 있으면 MongoDB에서 읽는다")
+    void cappedBufferFallsBackToMongo() throws Exception {
+        when(listOperations.range(BUFFER_KEY, 0, -1))
+                .thenReturn(json(message(3, 3), message(3, 4), message(4, 1), message(4, 2)));
+        List<AiGameMessage> persisted = List.of(entity(3, 1), entity(3, 2), entity(3, 3), entity(3, 4),
+                entity(4, 1), entity(4, 2));
+        when(aiGameMessageRepository.findRecentTurnsMessages(ROOM_ID, 2, 3)).thenReturn(persisted);
+
+        List<ContextMessage> messages = buffer.getRecentTurns(ROOM_ID, 4);
+
+        assertThat(messages).hasSize(6);
+        verify(sessionRedis, never()).execute(eq(AiContextBuffer.REPLACE_SCRIPT), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("가득 찬 버퍼라도 조회 범위 이전 턴까지 남아 있으면 버퍼를 그대로 쓴다")
+    void fullBufferCoveringWindowIsHit() throws Exception {
+        when(listOperations.range(BUFFER_KEY, 0, -1))
+                .thenReturn(json(message(2, 1), message(3, 1), message(4, 1), message(4, 2)));
+
+        List<ContextMessage> messages = buffer.getRecentTurns(ROOM_ID, 4);
+
+        assertThat(messages).hasSize(3);
+        verify(aiGameMessageRepository, never()).findRecentTurnsMessages(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("추가 시 버퍼와 버전 키를 함께 넘긴다")
+    void appendBumpsVersion() {
+        AiGameMessageDto saved = AiGameMessageDto.fromEntity(entity(4, 3));
+
+        buffer.append(saved);
+
+        verify(sessionRedis).execute(eq(AiContextBuffer.APPEND_SCRIPT), eq(List.of(BUFFER_KEY, VERSION_KEY)),
+                eq("4"), anyString(), anyString(), anyString());
+    }
+
+    private List<String> json(ContextMessage... messages) throws Exception {
+        List<String> values = new ArrayList<>();
+        for (ContextMessage message : messages) {
+            values.add(objectMapper.writeValueAsString(message));
+        }
+        return values;
+    }
+
+    private static ContextMessage message(int turnNumber, int messageOrder) {
+        return ContextMessage.from(AiGameMessageDto.fromEntity(entity(turnNumber, messageOrder)));
+    }
+
+    private static AiGameMessage entity(int turnNumber, int messageOrder) {
+        return AiGameMessage.builder()
+                .aiGameRoomId(ROOM_ID)
+                .senderNickname("player")
+                .content("turn " + turnNumber + " #" + messageOrder)
+                .messageType(AiMessageType.USER)
+                .turnNumber(turnNumber)
+                .messageOrder(messageOrder)
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.domain.aichat.common.AiMessageType;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.dto.response.AiGameMessageResponse;
+import org.com.dungeontalk.domain.aichat.entity.AiGameMessage;
+import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.redis.NodeIdentity;
+import org.com.dungeontalk.global.rsData.Empty;
+import org.com.dungeontalk.global.rsData.RsData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_GENERATION_PREFIX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiGenerationCoalescerTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final int TURN = 3;
+    private static final String RESULT_KEY = AI_GAME_GENERATION_PREFIX + ROOM_ID + ":" + TURN;
+
+    private RedisTemplate<String, String> sessionRedis;
+    private ValueOperations<String, String> valueOperations;
+    private StringRedisTemplate stringRedisTemplate;
+    private AiGameMessageRepository aiGameMessageRepository;
+    private AiChatProperties aiChatProperties;
+    private NodeIdentity nodeIdentity;
+    private AiGenerationCoalescer coalescer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sessionRedis = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(sessionRedis.opsForValue()).thenReturn(valueOperations);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        aiGameMessageRepository = mock(AiGameMessageRepository.class);
+        aiChatProperties = new AiChatProperties();
+        nodeIdentity = new NodeIdentity();
+
+        coalescer = new AiGenerationCoalescer(sessionRedis, stringRedisTemplate,
+                mock(RedisMessageListenerContainer.class), aiGameMessageRepository, aiChatProperties,
+                nodeIdentity, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("같은 노드의 동시 요청은 하나의 생성 결과를 함께 받는다")
+    void localFollowersShareLeaderResult() throws Exception {
+        leader();
+        CompletableFuture<RsData<AiGameMessageResponse>> generation = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+        Supplier<CompletableFuture<RsData<AiGameMessageResponse>>> supplier = () -> {
+            started.incrementAndGet();
+            return generation;
+        };
+
+        CompletableFuture<RsData<AiGameMessageResponse>> first = coalescer.execute(ROOM_ID, TURN, supplier);
+        CompletableFuture<RsData<AiGameMessageResponse>> second = coalescer.execute(ROOM_ID, TURN, supplier);
+        generation.complete(success("msg-1"));
+
+        assertThat(started).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(first.get(1, TimeUnit.SECONDS).getResultCode()).isEqualTo("200-1");
+        verify(valueOperations).set(eq(RESULT_KEY), eq("DONE|200-1|msg-1|생성 완료"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("생성이 실패하면 결과 키를 지우고 오류 코드와 메시지만 담아 응답한다")
+    void failedLeaderClearsResultKey() throws Exception {
+        leader();
+
+        RsData<AiGameMessageResponse> result = coalescer.execute(ROOM_ID, TURN,
+                () -> CompletableFuture.completedFuture(RsData.of("500-1", "AI 응답 생성 중 오류가 발생했습니다")))
+                .get(1, TimeUnit.SECONDS);
+
+        assertThat(result.getResultCode()).isEqualTo("500-1");
+        assertThat(dataOf(result)).isInstanceOf(Empty.class);
+        verify(sessionRedis).delete(RESULT_KEY);
+        verify(stringRedisTemplate).convertAndSend(eq("aichat.generation.done"), anyString());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 이미 생성한 결과가 남아 있으면 저장된 메시지로 응답한다")
+    void cachedResultIsReturnedWithoutGenerating() throws Exception {
+        follower("DONE|200-1|msg-1|생성 완료");
+        when(aiGameMessageRepository.findById("msg-1")).thenReturn(Optional.of(savedMessage("msg-1")));
+
+        RsData<AiGameMessageResponse> result = coalescer.execute(ROOM_ID, TURN, this::mustNotGenerate)
+                .get(1, TimeUnit.SECONDS);
+
+        assertThat(result.getResultCode()).isEqualTo("200-1");
+        assertThat(result.getData().getMessageId()).isEqualTo("msg-1");
+    }
+
+    @Test
+    @DisplayName("저장된 결과를 해석할 수 없으면 500 오류로 응답하고 대기 중인 요청을 남기지 않는다")
+    void malformedCachedResultCompletesWithError() throws Exception {
+        follower("DONE|bad-code|msg-1|생성 완료");
+
+        RsData<AiGameMessageResponse> result = coalescer.execute(ROOM_ID, TURN, this::mustNotGenerate)
+                .get(1, TimeUnit.SECONDS);
+
+        assertThat(result.getResultCode()).isEqualTo("500-1");
+        assertThat(result.getMsg()).isEqualTo(ErrorCode.AI_RESPONSE_PROCESSING_ERROR.getMessage());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 생성 중이면 완료 알림을 받아 같은 결과로 응답한다")
+    void remoteFollowerCompletesOnDoneNotification() throws Exception {
+        follower("PENDING");
+
+        CompletableFuture<RsData<AiGameMessageResponse>> waiting = coalescer.execute(ROOM_ID, TURN, this::mustNotGenerate);
+        assertThat(waiting).isNotDone();
+
+        coalescer.onMessage(new DefaultMessage("aichat.generation.done".getBytes(StandardCharsets.UTF_8),
+                ("other-node|" + ROOM_ID + "|" + TURN + "|503-1||AI 서비스 과부하").getBytes(StandardCharsets.UTF_8)), null);
+
+        RsData<AiGameMessageResponse> result = waiting.get(1, TimeUnit.SECONDS);
+        assertThat(result.getResultCode()).isEqualTo("503-1");
+        assertThat(dataOf(result)).isInstanceOf(Empty.class);
+    }
+
+    @Test
+    @DisplayName("다른 노드의 완료 알림이 오지 않으면 대기 시간 뒤 시간 초과로 응답한다")
+    void remoteFollowerTimesOut() throws Exception {
+        aiChatProperties.getGeneration().setFollowerTimeoutMs(50);
+        follower("PENDING");
+
+        RsData<AiGameMessageResponse> result = coalescer.execute(ROOM_ID, TURN, this::mustNotGenerate)
+                .get(1, TimeUnit.SECONDS);
+
+        assertThat(result.getResultCode()).isEqualTo("500-1");
+        assertThat(result.getMsg()).isEqualTo(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR.getMessage());
+    }
+
+    @Test
+    @DisplayName("Valkey 장애 시에는 노드 간 병합 없이 바로 생성한다")
+    void valkeyFailureGeneratesDirectly() throws Exception {
+        when(valueOperations.setIfAbsent(eq(RESULT_KEY), eq("PENDING"), any(Duration.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        RsData<AiGameMessageResponse> result = coalescer.execute(ROOM_ID, TURN,
+                () -> CompletableFuture.completedFuture(success("msg-2"))).get(1, TimeUnit.SECONDS);
+
+        assertThat(result.getData().getMessageId()).isEqualTo("msg-2");
+    }
+
+    private void leader() {
+        when(valueOperations.setIfAbsent(eq(RESULT_KEY), eq("PENDING"), any(Duration.class))).thenReturn(true);
+    }
+
+    private void follower(String state) {
+        when(valueOperations.setIfAbsent(eq(RESULT_KEY), eq("PENDING"), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(RESULT_KEY)).thenReturn(state);
+    }
+
+    // 오류 응답의 data는 Empty이므로 선언 타입으로 꺼내지 않는다.
+    private static Object dataOf(RsData<?> rsData) {
+        return rsData.getData();
+    }
+
+    private CompletableFuture<RsData<AiGameMessageResponse>> mustNotGenerate() {
+        throw new AssertionError("생성이 실행되면 안 됩니다");
+    }
+
+    private static RsData<AiGameMessageResponse> success(String messageId) {
+        return RsData.of("200-1", "생성 완료", AiGameMessageResponse.fromEntity(savedMessage(messageId)));
+    }
+
+    private static AiGameMessage savedMessage(String messageId) {
+        return AiGameMessage.builder()
+                .id(messageId)
+                .aiGameRoomId(ROOM_ID)
+                .content("던전 입구가 열립니다")
+                .messageType(AiMessageType.AI)
+                .turnNumber(TURN)
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.domain.aichat.common.AiGamePhase;
+import org.com.dungeontalk.domain.aichat.common.AiGameStatus;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.domain.aichat.dto.SessionDataDto;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AiGenerationSchedulerTest {
+
+    private static final String BLOCKER_ROOM = "blocker";
+
+    private AiChatProperties aiChatProperties;
+    private AiServiceCircuitBreaker circuitBreaker;
+    private ExecutorService executor;
+    private final Map<String, SessionDataDto> sessions = new HashMap<>();
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final List<CompletableFuture<String>> submitted = new ArrayList<>();
+    private AiGenerationScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AiServiceBulkhead bulkhead = mock(AiServiceBulkhead.class);
+        when(bulkhead.execute(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+
+        AiServiceConcurrencyLimiter limiter = mock(AiServiceConcurrencyLimiter.class);
+        when(limiter.getLimit()).thenReturn(1);
+
+        circuitBreaker = mock(AiServiceCircuitBreaker.class);
+        when(circuitBreaker.isCallPermitted()).thenReturn(true);
+        when(circuitBreaker.tryAcquirePermission()).thenReturn(OptionalLong.of(0));
+
+        AiGameStateService aiGameStateService = mock(AiGameStateService.class);
+        when(aiGameStateService.getSessionState(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(sessions.get(invocation.<String>getArgument(0))));
+
+        // 호출을 하나씩만 보내 선택 순서가 그대로 실행 순서가 되도록 한다.
+        AiServiceProperties aiServiceProperties = new AiServiceProperties();
+        aiServiceProperties.setMaxConcurrentCalls(1);
+        aiChatProperties = new AiChatProperties();
+        executor = Executors.newSingleThreadExecutor();
+
+        scheduler = new AiGenerationScheduler(bulkhead, limiter, circuitBreaker, aiGameStateService, executor,
+                aiServiceProperties, aiChatProperties, new SimpleMeterRegistry());
+        scheduler.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocker.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 lane에서는 먼저 많이 올린 게임방이 있어도 게임방끼리 번갈아 보낸다")
+    void fairQueueingInterleavesRooms() throws Exception {
+        session("room-a", "game-a", 3);
+        session("room-b", "game-b", 3);
+        occupySlot();
+
+        submit("room-a", "a1");
+        submit("room-a", "a2");
+        submit("room-a", "a3");
+        submit("room-b", "b1");
+        submit("room-b", "b2");
+        submit("room-b", "b3");
+
+        assertThat(runQueued()).containsExactly("a1", "b1", "a2", "b2", "a3", "b3");
+    }
+
+    @Test
+    @DisplayName("게임 가중치 비율로 호출을 나눈다")
+    void gameWeightsShareCalls() throws Exception {
+        aiChatProperties.getScheduler().getGameWeights().put("game-a", 2);
+        session("room-a", "game-a", 3);
+        session("room-b", "game-b", 3);
+        occupySlot();
+
+        submit("room-a", "a1");
+        submit("room-a", "a2");
+        submit("room-a", "a3");
+        submit("room-a", "a4");
+        submit("room-b", "b1");
+        submit("room-b", "b2");
+
+        assertThat(runQueued()).containsExactly("a1", "a2", "b1", "a3", "a4", "b2");
+    }
+
+    @Test
+    @DisplayName("시작 턴은 일반 턴보다 먼저 보내되 priority-burst번마다 일반 턴에 양보한다")
+    void openingLaneYieldsAfterPriorityBurst() throws Exception {
+        aiChatProperties.getScheduler().setPriorityBurst(2);
+        for (int i = 1; i <= 4; i++) {
+            session("turn-" + i, "game", 5);
+            session("opening-" + i, "game", 1);
+        }
+        occupySlot();
+
+        for (int i = 1; i <= 4; i++) {
+            submit("turn-" + i, "t" + i);
+        }
+        for (int i = 1; i <= 4; i++) {
+            submit("opening-" + i, "o" + i);
+        }
+
+        assertThat(runQueued()).containsExactly("o1", "o2", "t1", "o3", "o4", "t2", "t3", "t4");
+    }
+
+    @Test
+    @DisplayName("lane은 게임방 세션의 현재 턴으로 정하고, 세션이 없으면 일반 턴으로 보낸다")
+    void laneComesFromSessionTurn() throws Exception {
+        session("opening", "game", 1);
+        occupySlot();
+
+        submit("unknown", "no-session");
+        submit("opening", "opening");
+
+        assertThat(runQueued()).containsExactly("opening", "no-session");
+    }
+
+    @Test
+    @DisplayName("대기 중에 차단되면 긴 대기열도 호출 스택을 쌓지 않고 모두 AI_SERVICE_UNAVAILABLE로 끝낸다")
+    void drainsLongQueueWhenBreakerOpens() throws Exception {
+        aiChatProperties.getScheduler().setMaxQueuedPerRoom(20000);
+        aiChatProperties.getScheduler().setMaxQueuedPerLane(20000);
+        session("room-a", "game-a", 3);
+        occupySlot();
+        when(circuitBreaker.tryAcquirePermission()).thenReturn(OptionalLong.empty());
+
+        for (int i = 0; i < 20000; i++) {
+            submit("room-a", "a" + i);
+        }
+        blocker.countDown();
+
+        for (CompletableFuture<String> future : submitted) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOfSatisfying(AiChatException.class, error ->
+                            assertThat(error.getErrorCode()).isEqualTo(ErrorCode.AI_SERVICE_UNAVAILABLE));
+        }
+        assertThat(started).isEmpty();
+    }
+
+    private void session(String roomId, String gameId, int turn) {
+        sessions.put(roomId, new SessionDataDto(roomId, gameId, AiGameStatus.ACTIVE, AiGamePhase.AI_RESPONSE, turn));
+    }
+
+    /**
+     * 유일한 자리를 차지해, 이후 호출이 모두 대기열에 쌓이도록 한다.
+     */
+    private void occupySlot() {
+        session(BLOCKER_ROOM, "game", 5);
+        scheduler.submit(BLOCKER_ROOM, () -> {
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return BLOCKER_ROOM;
+        });
+    }
+
+    private void submit(String roomId, String name) {
+        submitted.add(scheduler.submit(roomId, () -> {
+            started.add(name);
+            return name;
+        }));
+    }
+
+    private List<String> runQueued() throws Exception {
+        blocker.countDown();
+        CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        return started;
+    }
+}
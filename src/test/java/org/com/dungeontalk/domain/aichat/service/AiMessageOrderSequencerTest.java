@@ -0,0 +1,96 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import org.com.dungeontalk.domain.aichat.entity.AiGameMessage;
+import org.com.dungeontalk.domain.aichat.repository.AiGameMessageRepository;
+import org.com.dungeontalk.domain.auth.service.ValkeyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Optional;
+
+import static org.com.dungeontalk.domain.aichat.common.AiChatConstants.AI_GAME_MESSAGE_SEQ_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiMessageOrderSequencerTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String SEQ_KEY = AI_GAME_MESSAGE_SEQ_PREFIX + ROOM_ID + ":3";
+
+    private ValkeyService valkeyService;
+    private AiGameMessageRepository aiGameMessageRepository;
+    private AiMessageOrderSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        valkeyService = mock(ValkeyService.class);
+        aiGameMessageRepository = mock(AiGameMessageRepository.class);
+        sequencer = new AiMessageOrderSequencer(valkeyService, aiGameMessageRepository);
+    }
+
+    @Test
+    @DisplayName("카운터가 있으면 INCR 값을 그대로 발급하고 MongoDB를 조회하지 않는다")
+    void existingCounterIsIncrementedWithoutMongoLookup() {
+        when(valkeyService.incrementIfExists(anyString())).thenReturn(7L);
+
+        assertThat(sequencer.next(ROOM_ID, 3)).isEqualTo(7);
+
+        verify(valkeyService, never()).incrementWithSeed(anyString(), anyLong(), anyInt());
+        verify(aiGameMessageRepository, never())
+                .findFirstByAiGameRoomIdAndTurnNumberAndMessageOrderLessThanOrderByMessageOrderDesc(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("카운터가 없으면 저장된 최대 순서로 초기화한 뒤 발급한다")
+    void missingCounterIsSeededWithPersistedMax() {
+        when(valkeyService.incrementIfExists(anyString())).thenReturn(0L);
+        persistedMax(4);
+        when(valkeyService.incrementWithSeed(anyString(), eq(4L), anyInt())).thenReturn(5L);
+
+        assertThat(sequencer.next(ROOM_ID, 3)).isEqualTo(5);
+
+        verify(valkeyService).incrementWithSeed(eq(SEQ_KEY), eq(4L), anyInt());
+    }
+
+    @Test
+    @DisplayName("저장된 메시지가 없으면 0으로 초기화한다")
+    void missingCounterWithoutMessagesIsSeededWithZero() {
+        when(valkeyService.incrementIfExists(anyString())).thenReturn(0L);
+        when(aiGameMessageRepository.findFirstByAiGameRoomIdAndTurnNumberAndMessageOrderLessThanOrderByMessageOrderDesc(
+                anyString(), anyInt(), anyInt())).thenReturn(Optional.empty());
+        when(valkeyService.incrementWithSeed(anyString(), eq(0L), anyInt())).thenReturn(1L);
+
+        assertThat(sequencer.next(ROOM_ID, 3)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Valkey 장애 시 로컬 카운터가 저장된 최대 순서 다음부터 이어서 발급한다")
+    void localFallbackContinuesFromPersistedMax() {
+        when(valkeyService.incrementIfExists(anyString())).thenThrow(new QueryTimeoutException("down"));
+        persistedMax(2);
+
+        assertThat(sequencer.next(ROOM_ID, 3)).isEqualTo(3);
+        assertThat(sequencer.next(ROOM_ID, 3)).isEqualTo(4);
+        assertThat(sequencer.next(ROOM_ID, 3)).isEqualTo(5);
+
+        // 초기값 조회는 카운터를 만들 때 한 번만
+        verify(aiGameMessageRepository, times(1))
+                .findFirstByAiGameRoomIdAndTurnNumberAndMessageOrderLessThanOrderByMessageOrderDesc(anyString(), anyInt(), anyInt());
+    }
+
+    private void persistedMax(int order) {
+        when(aiGameMessageRepository.findFirstByAiGameRoomIdAndTurnNumberAndMessageOrderLessThanOrderByMessageOrderDesc(
+                anyString(), anyInt(), anyInt()))
+                .thenReturn(Optional.of(AiGameMessage.builder().messageOrder(order).build()));
+    }
+}
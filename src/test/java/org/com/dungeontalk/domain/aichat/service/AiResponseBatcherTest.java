@@ -0,0 +1,147 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.com.dungeontalk.domain.aichat.service.AiResponseBatcher.BatchMemberFailure;
+import org.com.dungeontalk.domain.aichat.service.AiResponseBatcher.BatchRequest;
+import org.com.dungeontalk.domain.aichat.service.AiResponseBatcher.BatchResponse;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.AiResponseRequest;
+import org.com.dungeontalk.domain.aichat.service.AiResponseService.AiResponseResult;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiResponseBatcherTest {
+
+    private RestTemplate restTemplate;
+    private ExecutorService callers;
+    private AiResponseBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        AiServiceProperties aiServiceProperties = new AiServiceProperties();
+        aiServiceProperties.setBatching(true);
+        aiServiceProperties.setBatchMaxSize(3);
+        // 세 요청이 모두 모여 한 배치로 전송되도록 충분히 기다린다.
+        aiServiceProperties.setBatchWindowMs(5000);
+        callers = Executors.newFixedThreadPool(3);
+
+        batcher = new AiResponseBatcher(restTemplate, aiServiceProperties, new SimpleMeterRegistry());
+        batcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("배치 응답을 request_id로 각 요청에 나눠 주고, 오류나 빠진 결과는 해당 요청만 실패한다")
+    @SuppressWarnings("unchecked")
+    void demultiplexesResponsesByRequestId() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchResponse.class)))
+                .thenAnswer(invocation -> {
+                    List<AiResponseRequest> requests =
+                            ((HttpEntity<BatchRequest>) invocation.getArgument(2)).getBody().requests();
+                    // 순서를 뒤집어 응답하고, room-3은 오류, room-4는 결과를 빠뜨린다.
+                    List<BatchResponse.Item> items = new ArrayList<>();
+                    for (int i = requests.size() - 1; i >= 0; i--) {
+                        AiResponseRequest request = requests.get(i);
+                        if ("room-4".equals(request.getAiGameRoomId())) {
+                            continue;
+                        }
+                        BatchResponse.Item item = new BatchResponse.Item();
+                        item.setRequestId(request.getRequestId());
+                        if ("room-3".equals(request.getAiGameRoomId())) {
+                            item.setError("invalid context");
+                        } else {
+                            item.setContent("reply to " + request.getAiGameRoomId());
+                            item.setResponseTime(100L);
+                        }
+                        items.add(item);
+                    }
+                    BatchResponse response = new BatchResponse();
+                    response.setResponses(items);
+                    return ResponseEntity.ok(response);
+                });
+
+        CompletableFuture<AiResponseResult> first = call("room-1");
+        CompletableFuture<AiResponseResult> second = call("room-2");
+        CompletableFuture<AiResponseResult> failed = call("room-3");
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("reply to room-1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("reply to room-2");
+        assertThat(errorOf(failed).getErrorCode()).isEqualTo(ErrorCode.AI_RESPONSE_PROCESSING_ERROR);
+        verify(restTemplate, times(1))
+                .exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchResponse.class));
+
+        CompletableFuture<AiResponseResult> missing = call("room-4");
+        CompletableFuture<AiResponseResult> fifth = call("room-5");
+        CompletableFuture<AiResponseResult> sixth = call("room-6");
+        assertThat(errorOf(missing).getErrorCode()).isEqualTo(ErrorCode.AI_RESPONSE_PROCESSING_ERROR);
+        assertThat(fifth.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("reply to room-5");
+        assertThat(sixth.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("reply to room-6");
+    }
+
+    @Test
+    @DisplayName("배치 전체가 실패하면 한 요청만 원래 오류를 받고 나머지는 같은 오류 코드의 BatchMemberFailure를 받는다")
+    void batchFailureIsRecordedOnce() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchResponse.class)))
+                .thenThrow(new ResourceAccessException("read timed out"));
+
+        CompletableFuture<AiResponseResult> first = call("room-1");
+        CompletableFuture<AiResponseResult> second = call("room-2");
+        CompletableFuture<AiResponseResult> third = call("room-3");
+        List<AiChatException> errors = List.of(errorOf(first), errorOf(second), errorOf(third));
+
+        assertThat(errors).allSatisfy(error ->
+                assertThat(error.getErrorCode()).isEqualTo(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR));
+        assertThat(errors).filteredOn(error -> !(error instanceof BatchMemberFailure)).hasSize(1);
+    }
+
+    private CompletableFuture<AiResponseResult> call(String roomId) {
+        AiResponseRequest request = AiResponseRequest.builder()
+                .aiGameRoomId(roomId)
+                .currentMessage("hello")
+                .turnNumber(2)
+                .build();
+        return CompletableFuture.supplyAsync(() -> batcher.execute(request), callers);
+    }
+
+    private static AiChatException errorOf(CompletableFuture<AiResponseResult> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(AiChatException.class);
+            return (AiChatException) e.getCause();
+        }
+        throw new AssertionError("요청이 실패하지 않았습니다");
+    }
+}
@@ -0,0 +1,139 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.service.AiServiceCircuitBreaker.State;
+import org.com.dungeontalk.global.exception.ErrorCode;
+import org.com.dungeontalk.global.exception.customException.AiChatException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiServiceCircuitBreakerTest {
+
+    private AiChatProperties aiChatProperties;
+    private AiServiceCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        aiChatProperties = new AiChatProperties();
+        AiChatProperties.CircuitBreaker config = aiChatProperties.getCircuitBreaker();
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setHalfOpenPermittedCalls(2);
+
+        circuitBreaker = new AiServiceCircuitBreaker(aiChatProperties, new SimpleMeterRegistry());
+        circuitBreaker.init();
+    }
+
+    @Test
+    @DisplayName("최소 호출 수를 채우고 실패율이 기준 이상이면 차단하고 호출을 허가하지 않는다")
+    void opensWhenFailureRateReachesThreshold() {
+        succeed();
+        succeed();
+        fail();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        fail();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.tryAcquirePermission()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("차단 시간이 지나면 시험 호출만 허가하고, 모두 성공하면 복구한다")
+    void halfOpenClosesAfterPermittedProbesSucceed() {
+        open();
+
+        long first = circuitBreaker.tryAcquirePermission().orElseThrow();
+        long second = circuitBreaker.tryAcquirePermission().orElseThrow();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isEmpty();
+
+        circuitBreaker.onSuccess(first);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        circuitBreaker.onSuccess(second);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 하나라도 실패하면 다시 차단한다")
+    void halfOpenReopensOnProbeFailure() {
+        open();
+
+        long probe = circuitBreaker.tryAcquirePermission().orElseThrow();
+        circuitBreaker.onFailure(probe);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    @DisplayName("이전 상태에서 허가받은 호출의 결과는 시험 호출로 세지 않는다")
+    void staleOutcomesAreIgnored() {
+        aiChatProperties.getCircuitBreaker().setHalfOpenPermittedCalls(1);
+        long closedPermission = circuitBreaker.tryAcquirePermission().orElseThrow();
+        open();
+
+        long probe = circuitBreaker.tryAcquirePermission().orElseThrow();
+        circuitBreaker.onFailure(closedPermission);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        circuitBreaker.onSuccess(closedPermission);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isEmpty();
+
+        circuitBreaker.onSuccess(probe);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시간 초과/연결 오류/5xx만 AI 서비스 장애로 본다")
+    void classifiesServiceFailures() {
+        assertThat(AiServiceCircuitBreaker.isServiceFailure(new TimeoutException())).isTrue();
+        assertThat(AiServiceCircuitBreaker.isServiceFailure(
+                new AiChatException(ErrorCode.AI_RESPONSE_TIMEOUT_ERROR, new ResourceAccessException("refused")))).isTrue();
+        assertThat(AiServiceCircuitBreaker.isServiceFailure(new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR,
+                new HttpServerErrorException(HttpStatus.BAD_GATEWAY)))).isTrue();
+
+        assertThat(AiServiceCircuitBreaker.isServiceFailure(new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR,
+                new HttpClientErrorException(HttpStatus.UNPROCESSABLE_ENTITY)))).isFalse();
+        assertThat(AiServiceCircuitBreaker.isServiceFailure(new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR,
+                new JsonParseException(null, "unexpected token")))).isFalse();
+        assertThat(AiServiceCircuitBreaker.isServiceFailure(
+                new AiChatException(ErrorCode.AI_RESPONSE_PROCESSING_ERROR, "AI 서비스 스트리밍 오류"))).isFalse();
+    }
+
+    /**
+     * 차단 후 바로 시험 호출을 받을 수 있는 상태로 만든다.
+     */
+    private void open() {
+        aiChatProperties.getCircuitBreaker().setOpenDurationMs(0);
+        for (int i = 0; i < aiChatProperties.getCircuitBreaker().getMinimumCalls(); i++) {
+            fail();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void succeed() {
+        OptionalLong permission = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onSuccess(permission.orElseThrow());
+    }
+
+    private void fail() {
+        OptionalLong permission = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onFailure(permission.orElseThrow());
+    }
+}
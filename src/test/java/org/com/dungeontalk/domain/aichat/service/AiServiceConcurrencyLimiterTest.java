@@ -0,0 +1,98 @@
+package org.com.dungeontalk.domain.aichat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.domain.aichat.config.AiChatProperties;
+import org.com.dungeontalk.domain.aichat.config.AiServiceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiServiceConcurrencyLimiterTest {
+
+    private AiChatProperties aiChatProperties;
+    private AiServiceConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        aiChatProperties = new AiChatProperties();
+        AiChatProperties.Limiter config = aiChatProperties.getLimiter();
+        config.setInitialLimit(16);
+        config.setMinLimit(2);
+        config.setBackoffRatio(0.9);
+        config.setLatencyThresholdMs(10000);
+        AiServiceProperties aiServiceProperties = new AiServiceProperties();
+        aiServiceProperties.setMaxConcurrentCalls(64);
+
+        limiter = new AiServiceConcurrencyLimiter(aiChatProperties, aiServiceProperties, new SimpleMeterRegistry());
+        limiter.init();
+    }
+
+    @Test
+    @DisplayName("같은 시점에 보낸 호출이 한꺼번에 실패해도 한도는 한 번만 줄인다")
+    void cutsOncePerWindow() {
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < 16; i++) {
+            limiter.onSample(startedAt, 16, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("줄인 뒤에 시작한 호출이 실패하면 다시 줄인다")
+    void cutsAgainForCallsStartedAfterCut() {
+        limiter.onSample(System.nanoTime(), 16, true);
+        long startedAfterCut = System.nanoTime();
+
+        limiter.onSample(startedAfterCut, 14, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("성공했더라도 기준보다 느린 호출은 과부하로 보고 줄인다")
+    void slowSuccessCutsLimit() throws InterruptedException {
+        aiChatProperties.getLimiter().setLatencyThresholdMs(1);
+        long startedAt = System.nanoTime();
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        limiter.onSample(startedAt, 16, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("한도를 채워 쓰며 빠르게 성공하면 한도만큼 성공할 때마다 1씩 늘린다")
+    void increasesAdditivelyUnderLoad() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(System.nanoTime(), 16, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("한도의 절반만 쓰고 있을 때는 성공해도 늘리지 않는다")
+    void doesNotGrowAtHalfUtilisation() {
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(System.nanoTime(), 8, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("한도를 거의 쓰지 않을 때는 성공해도 늘리지 않는다")
+    void doesNotGrowWhenIdle() {
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(System.nanoTime(), 1, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(16);
+    }
+}
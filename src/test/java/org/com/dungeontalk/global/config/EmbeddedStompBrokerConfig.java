@@ -0,0 +1,36 @@
+package org.com.dungeontalk.global.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 내장 STOMP 브로커 (websocket.broker.mode=embedded)
+ *
+ * 외부 브로커 없이 relay 경로 전체(StompBrokerRelayMessageHandler ↔ TCP ↔ 브로커)를 검증하기 위한 용도이다.
+ * 영속화/보안 없이 루프백에만 열린다. 테스트/벤치마크(jmh) classpath에만 있고 운영 배포물에는 포함되지 않는다.
+ */
+@Slf4j
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(prefix = "websocket.broker", name = "mode", havingValue = "embedded")
+public class EmbeddedStompBrokerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(WebSocketBrokerProperties brokerProperties) throws Exception {
+        int port = brokerProperties.getEmbedded().getPort();
+
+        Configuration configuration = new ConfigurationImpl()
+            .setPersistenceEnabled(false)
+            .setSecurityEnabled(false)
+            .setJMXManagementEnabled(false)
+            .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + port + "?protocols=STOMP");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        log.info("내장 STOMP 브로커 구성: port={}", port);
+        return broker;
+    }
+}
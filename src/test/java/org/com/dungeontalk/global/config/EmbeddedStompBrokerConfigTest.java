@@ -0,0 +1,62 @@
+package org.com.dungeontalk.global.config;
+
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddedStompBrokerConfigTest {
+
+    private EmbeddedActiveMQ broker;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("embedded 모드 브로커가 기동되고 STOMP CONNECT에 CONNECTED로 응답한다")
+    void embeddedBrokerAcceptsStompConnections() throws Exception {
+        WebSocketBrokerProperties properties = new WebSocketBrokerProperties();
+        properties.getEmbedded().setPort(freePort());
+
+        broker = new EmbeddedStompBrokerConfig().embeddedStompBroker(properties);
+        broker.start();
+
+        try (Socket socket = new Socket("127.0.0.1", properties.getEmbedded().getPort())) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write("CONNECT\naccept-version:1.2\nhost:localhost\n\n\0".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            assertThat(readFrame(socket.getInputStream())).startsWith("CONNECTED");
+        }
+    }
+
+    private static String readFrame(InputStream in) throws IOException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) > 0) {
+            frame.write(b);
+        }
+        return frame.toString(StandardCharsets.UTF_8).stripLeading();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
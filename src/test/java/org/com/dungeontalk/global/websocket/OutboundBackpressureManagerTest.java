@@ -0,0 +1,174 @@
+package org.com.dungeontalk.global.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.dungeontalk.global.config.WebSocketBackpressureProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.com.dungeontalk.global.websocket.OutboundBackpressureManager.CONFLATION_KEY_HEADER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundBackpressureManagerTest {
+
+    private static final String SESSION_ID = "session-1";
+    private static final int SOFT_LIMIT = 1024;
+
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private WebSocketBackpressureProperties properties;
+    private MeterRegistry meterRegistry;
+    private MessageChannel clientOutboundChannel;
+    private OutboundBackpressureManager manager;
+    private WebSocketSession delegate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new WebSocketBackpressureProperties();
+        properties.setSoftBufferSizeLimit(SOFT_LIMIT);
+        meterRegistry = new SimpleMeterRegistry();
+        clientOutboundChannel = mock(MessageChannel.class);
+        manager = new OutboundBackpressureManager(properties, meterRegistry);
+        manager.setClientOutboundChannel(clientOutboundChannel);
+
+        // 클라이언트가 읽지 않는 세션: release 전까지 전송이 끝나지 않는다.
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn(SESSION_ID);
+        when(delegate.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sending.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(delegate).sendMessage(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("느린 세션의 송신 버퍼가 soft 한도를 넘으면 drop 정책으로 일반 프레임을 버린다")
+    void slowSessionDropsFramesOverSoftLimit() throws Exception {
+        properties.setPolicy(WebSocketBackpressureProperties.Policy.DROP);
+        WebSocketSession session = manager.register(delegate, 10_000, 1024 * 1024);
+
+        fill(session);
+
+        assertThat(manager.preSend(frame("/sub/chat/room/1", null), clientOutboundChannel)).isNull();
+        assertThat(meterRegistry.get("websocket.outbound.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("느린 세션은 disconnect 정책으로 종료되고 evicted 지표가 증가한다")
+    void slowSessionIsEvictedWithDisconnectPolicy() throws Exception {
+        properties.setPolicy(WebSocketBackpressureProperties.Policy.DISCONNECT);
+        WebSocketSession session = manager.register(delegate, 10_000, 1024 * 1024);
+
+        fill(session);
+
+        assertThat(manager.preSend(frame("/sub/chat/room/1", null), clientOutboundChannel)).isNull();
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(meterRegistry.get("websocket.outbound.evicted").tag("reason", "soft_limit").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("conflation 프레임은 방별 최신 1건만 보관했다가 버퍼가 비면 주기 flush로 전송된다")
+    void conflatedFramesAreKeptPerRoomAndFlushedOnTimer() throws Exception {
+        WebSocketSession session = manager.register(delegate, 10_000, 1024 * 1024);
+        fill(session);
+
+        assertThat(manager.preSend(frame("/sub/chat/room/1", "connected-count"), clientOutboundChannel)).isNull();
+        assertThat(manager.preSend(frame("/sub/chat/room/1", "connected-count"), clientOutboundChannel)).isNull();
+        assertThat(manager.preSend(frame("/sub/chat/room/2", "connected-count"), clientOutboundChannel)).isNull();
+
+        manager.flushConflated();
+        verify(clientOutboundChannel, never()).send(any());
+
+        release.countDown();
+        awaitBuffered(0);
+        manager.flushConflated();
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(clientOutboundChannel, times(2)).send(sent.capture());
+        assertThat(sent.getAllValues())
+            .extracting(message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+            .containsExactlyInAnyOrder("/sub/chat/room/1", "/sub/chat/room/2");
+
+        manager.flushConflated();
+        verify(clientOutboundChannel, times(2)).send(any());
+    }
+
+    @Test
+    @DisplayName("conflation 키 헤더는 클라이언트로 전송되기 전에 제거된다")
+    void conflationHeaderIsRemovedBeforeSending() {
+        manager.register(delegate, 10_000, 1024 * 1024);
+
+        Message<?> outgoing = manager.preSend(frame("/sub/chat/room/1", "connected-count"), clientOutboundChannel);
+
+        assertThat(outgoing).isNotNull();
+        assertThat(SimpMessageHeaderAccessor.getFirstNativeHeader(CONFLATION_KEY_HEADER, outgoing.getHeaders())).isNull();
+        assertThat(SimpMessageHeaderAccessor.getDestination(outgoing.getHeaders())).isEqualTo("/sub/chat/room/1");
+    }
+
+    // 첫 프레임 전송이 막힌 동안 이후 프레임은 호출 스레드를 막지 않고 데코레이터 버퍼에 쌓인다.
+    private void fill(WebSocketSession session) throws Exception {
+        Thread sender = new Thread(() -> {
+            try {
+                session.sendMessage(new TextMessage("first"));
+            } catch (Exception ignored) {
+            }
+        });
+        sender.setDaemon(true);
+        sender.start();
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        session.sendMessage(new TextMessage("x".repeat(SOFT_LIMIT)));
+        session.sendMessage(new TextMessage("y".repeat(SOFT_LIMIT)));
+        assertThat(buffered()).isEqualTo(2 * SOFT_LIMIT);
+    }
+
+    private void awaitBuffered(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffered() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(buffered()).isEqualTo(expected);
+    }
+
+    private double buffered() {
+        return meterRegistry.get("websocket.outbound.buffered").gauge().value();
+    }
+
+    private static Message<byte[]> frame(String destination, String conflationKey) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        if (conflationKey != null) {
+            accessor.setNativeHeader(CONFLATION_KEY_HEADER, conflationKey);
+        }
+        return MessageBuilder.createMessage(new byte[]{'1'}, accessor.getMessageHeaders());
+    }
+}